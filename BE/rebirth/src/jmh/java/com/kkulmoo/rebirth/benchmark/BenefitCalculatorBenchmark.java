@@ -0,0 +1,165 @@
+package com.kkulmoo.rebirth.benchmark;
+
+import com.kkulmoo.rebirth.analysis.domain.enums.BenefitType;
+import com.kkulmoo.rebirth.card.domain.DiscountType;
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.payment.application.BenefitInfo;
+import com.kkulmoo.rebirth.payment.application.BenefitSelector;
+import com.kkulmoo.rebirth.payment.application.LegacyBenefitCalculator;
+import com.kkulmoo.rebirth.payment.presentation.response.CalculatedBenefitDto;
+import com.kkulmoo.rebirth.user.domain.UserBenefitSnapshot;
+import com.kkulmoo.rebirth.user.domain.UserCardBenefit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 1건의 혜택 선택 비용 비교
+ * - legacy : 후보마다 UserCardBenefit / CalculatedBenefitDto 생성 + PriorityQueue (기존 BenefitService 방식)
+ * - compiled : BenefitSelector (CompiledBenefitRule + BenefitCalculator, 단일 패스로 최대 혜택만 유지)
+ * 실행: ./gradlew jmh  (-prof gc 옵션으로 할당량 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BenefitCalculatorBenchmark {
+
+    @Param({"3", "8"})
+    private int cardCount;
+
+    @Param({"6"})
+    private int benefitsPerCard;
+
+    private List<MyCard> cards;
+    private List<List<BenefitInfo>> benefitsByCard;
+    private UserBenefitSnapshot snapshot;
+    private Map<Integer, UserCardBenefit> monthlyBenefits;
+    private Map<Integer, Short> lastMonthTiers;
+    private int amount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        cards = new ArrayList<>();
+        benefitsByCard = new ArrayList<>();
+        monthlyBenefits = new HashMap<>();
+        lastMonthTiers = new HashMap<>();
+        amount = 35_000;
+
+        int benefitId = 1;
+        for (int c = 0; c < cardCount; c++) {
+            int cardId = 100 + c;
+            cards.add(MyCard.builder()
+                    .cardId(cardId)
+                    .cardTemplateId(10 + c)
+                    .permanentToken("token-" + cardId)
+                    .build());
+            lastMonthTiers.put(cardId, (short) (1 + random.nextInt(3)));
+
+            List<BenefitInfo> benefits = new ArrayList<>();
+            for (int b = 0; b < benefitsPerCard; b++, benefitId++) {
+                BenefitInfo benefitInfo = randomBenefit(random, benefitId, 10 + c);
+                benefits.add(benefitInfo);
+                // 절반 정도는 이번 달 사용 이력이 있는 상태
+                if (random.nextBoolean()) {
+                    monthlyBenefits.put(benefitId, UserCardBenefit.builder()
+                            .benefitTemplateId(benefitId)
+                            .spendingTier((short) (1 + random.nextInt(3)))
+                            .benefitCount((short) random.nextInt(5))
+                            .benefitAmount(random.nextInt(5_000))
+                            .year(now.getYear())
+                            .month(now.getMonthValue())
+                            .build());
+                }
+                // 컴파일 비용은 혜택 규칙 인덱스 생성 시 한 번만 발생하므로 측정에서 제외
+                benefitInfo.getCompiledRule();
+            }
+            benefitsByCard.add(benefits);
+        }
+        snapshot = new UserBenefitSnapshot(1, now, cards, monthlyBenefits, lastMonthTiers);
+    }
+
+    @Benchmark
+    public CalculatedBenefitDto legacySelectBest() {
+        Queue<CalculatedBenefitDto> benefitQueue = new PriorityQueue<>(Comparator.comparingInt(CalculatedBenefitDto::getBenefitAmount).reversed());
+        for (int c = 0; c < cards.size(); c++) {
+            MyCard myCard = cards.get(c);
+            for (BenefitInfo benefitInfo : benefitsByCard.get(c)) {
+                if ("쿠폰".equals(benefitInfo.getBenefitType().toString())) {
+                    continue;
+                }
+                UserCardBenefit userCardBenefit = legacyUserCardBenefit(benefitInfo.getBenefitId(), myCard.getCardId());
+                int discountAmount = LegacyBenefitCalculator.calculateBenefitAmount(benefitInfo, amount, userCardBenefit);
+                benefitQueue.add(CalculatedBenefitDto.builder()
+                        .myCardId(myCard.getCardId())
+                        .permanentToken(myCard.getPermanentToken())
+                        .benefitId(benefitInfo.getBenefitId())
+                        .benefitAmount(discountAmount)
+                        .benefitType(benefitInfo.getBenefitType())
+                        .build());
+            }
+        }
+        return benefitQueue.poll();
+    }
+
+    // BenefitService 가 쓰는 BenefitSelector 그대로 (혜택 조회만 미리 만든 목록으로 대체)
+    @Benchmark
+    public CalculatedBenefitDto compiledSelectBest() {
+        BenefitSelector selector = new BenefitSelector(snapshot, amount);
+        for (int c = 0; c < cards.size(); c++) {
+            selector.offer(cards.get(c), benefitsByCard.get(c));
+        }
+        return selector.toDto();
+    }
+
+    // 기존 getUserCardBenefit 에서 DB 조회만 Map 조회로 바꾼 것 (없으면 새 객체 생성)
+    private UserCardBenefit legacyUserCardBenefit(Integer benefitId, Integer cardId) {
+        UserCardBenefit userCardBenefit = monthlyBenefits.get(benefitId);
+        if (userCardBenefit != null) {
+            return userCardBenefit;
+        }
+        return UserCardBenefit.builder()
+                .benefitTemplateId(benefitId)
+                .spendingTier(lastMonthTiers.getOrDefault(cardId, (short) 0))
+                .benefitCount((short) 0)
+                .benefitAmount(0)
+                .updateDate(LocalDateTime.now())
+                .build();
+    }
+
+    private static BenefitInfo randomBenefit(Random random, int benefitId, int cardTemplateId) {
+        short conditionType = (short) (1 + random.nextInt(4));
+        List<Double> sections = List.of(1.0 + random.nextInt(5), 3.0 + random.nextInt(5), 5.0 + random.nextInt(5));
+        return BenefitInfo.builder()
+                .benefitId(benefitId)
+                .cardTemplateId(cardTemplateId)
+                .benefitType(random.nextInt(10) == 0 ? BenefitType.COUPON : BenefitType.DISCOUNT)
+                .merchantFilterType((short) 1)
+                .benefitConditionType(conditionType)
+                .performanceRange(List.of(300_000, 500_000, 1_000_000))
+                .benefitsBySection(sections)
+                .paymentRange(List.of(50_000, 30_000, 10_000))
+                .benefitUsageLimit(List.of((short) 5, (short) 10, (short) 15))
+                .benefitUsageAmount(List.of((short) 5_000, (short) 10_000, (short) 20_000))
+                .discountType(random.nextBoolean() ? DiscountType.PERCENT : DiscountType.AMOUNT)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.kkulmoo.rebirth.benchmark;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// 벤치마크 비교용: 엔진 도입 전 EncryptionUtils + PaymentOfflineEncryption 그대로
+final class LegacyTokenCodec {
+
+    private final String aesKey;
+    private final String secretKey;
+
+    LegacyTokenCodec(String aesKey, String secretKey) {
+        this.aesKey = aesKey;
+        this.secretKey = secretKey;
+    }
+
+    String generate(String plainText, long expiration) throws Exception {
+        String iv = generateIV();
+        String encryptedData = encryptAES(plainText, aesKey, iv);
+        String data = encryptedData + "|" + iv + "|" + expiration;
+        String signature = generateHMAC(data, secretKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((data + "|" + signature).getBytes(StandardCharsets.UTF_8));
+    }
+
+    String validate(String token) throws Exception {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = decoded.split("\\|");
+        if (parts.length != 4) return null;
+        String encryptedData = parts[0];
+        String iv = parts[1];
+        long expiration = Long.parseLong(parts[2]);
+        String signature = parts[3];
+        if (System.currentTimeMillis() > expiration) return null;
+        String data = encryptedData + "|" + iv + "|" + expiration;
+        String expectedSignature = generateHMAC(data, secretKey);
+        if (!expectedSignature.equals(signature)) return null;
+        return decryptAES(encryptedData, aesKey, iv);
+    }
+
+    private static String encryptAES(String data, String key, String iv) throws Exception {
+        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
+        IvParameterSpec ivSpec = new IvParameterSpec(Base64.getDecoder().decode(iv));
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivSpec);
+        return Base64.getEncoder().encodeToString(cipher.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String decryptAES(String encryptedData, String key, String iv) throws Exception {
+        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
+        IvParameterSpec ivSpec = new IvParameterSpec(Base64.getDecoder().decode(iv));
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivSpec);
+        return new String(cipher.doFinal(Base64.getDecoder().decode(encryptedData)), StandardCharsets.UTF_8);
+    }
+
+    private static String generateHMAC(String data, String key) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String generateIV() {
+        byte[] iv = new byte[16];
+        new SecureRandom().nextBytes(iv);
+        return Base64.getEncoder().encodeToString(iv);
+    }
+}
@@ -0,0 +1,97 @@
+package com.kkulmoo.rebirth.benchmark;
+
+import com.kkulmoo.rebirth.payment.application.service.EncryptionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오프라인 일회용 토큰 생성 / 검증 처리량 비교
+ * - legacy : 호출마다 Cipher / Mac / SecretKeySpec / SecureRandom 생성, 문자열 split (v1)
+ * - engine : EncryptionUtils (키 재사용, Cipher / Mac 풀, 바이트 배열 조립) v1
+ * - v2 : EncryptionUtils AES-GCM 바이너리 토큰
+ * 실행: ./gradlew jmh -PjmhIncludes=PaymentTokenBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class PaymentTokenBenchmark {
+
+    private static final String AES_KEY = "0123456789abcdef0123456789abcdef";
+    private static final String SECRET_KEY = "benchmark-hmac-secret-key";
+    private static final String PLAIN_TEXT = "3f9c2a7e-1b4d-4e8a-9c0f-6d2e8b1a5c77|12345";
+    // v2 : 버전(1) + nonce(12) + 만료시각(4) | 암호문 | tag(16)
+    private static final int V2_HEADER_LENGTH = 17;
+    private static final int V2_TAG_LENGTH = 16;
+
+    private LegacyTokenCodec legacy;
+    private EncryptionUtils engine;
+    private EncryptionUtils v2Engine;
+    private String legacyToken;
+    private String engineToken;
+    private String v2Token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        legacy = new LegacyTokenCodec(AES_KEY, SECRET_KEY);
+        engine = new EncryptionUtils(AES_KEY, SECRET_KEY, 1);
+        v2Engine = new EncryptionUtils(AES_KEY, SECRET_KEY, 2);
+        long expiration = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+        legacyToken = legacy.generate(PLAIN_TEXT, expiration);
+        engineToken = engine.seal(PLAIN_TEXT, expiration);
+        v2Token = v2Engine.seal(PLAIN_TEXT, expiration);
+
+        // 형식 호환 확인: 서로 만든 토큰을 검증할 수 있어야 한다.
+        if (!PLAIN_TEXT.equals(engine.open(legacyToken)) || !PLAIN_TEXT.equals(legacy.validate(engineToken))) {
+            throw new IllegalStateException("v1 토큰 형식 불일치");
+        }
+        // v2 발급 설정에서도 v1 토큰 검증 가능, 변조된 v2 토큰은 거부
+        // 마지막 문자는 패딩 비트만 바뀌어 같은 바이트로 디코딩될 수 있으므로 암호문 중간 바이트를 바꾼다.
+        byte[] tampered = Base64.getUrlDecoder().decode(v2Token);
+        tampered[V2_HEADER_LENGTH + (tampered.length - V2_HEADER_LENGTH - V2_TAG_LENGTH) / 2] ^= 0x01;
+        if (!PLAIN_TEXT.equals(v2Engine.open(v2Token)) || !PLAIN_TEXT.equals(v2Engine.open(legacyToken))
+                || v2Engine.open(Base64.getUrlEncoder().withoutPadding().encodeToString(tampered)) != null) {
+            throw new IllegalStateException("v2 토큰 검증 실패");
+        }
+    }
+
+    @Benchmark
+    public String legacyGenerate() throws Exception {
+        return legacy.generate(PLAIN_TEXT, System.currentTimeMillis() + 300_000);
+    }
+
+    @Benchmark
+    public String engineGenerate() throws Exception {
+        return engine.seal(PLAIN_TEXT, System.currentTimeMillis() + 300_000);
+    }
+
+    @Benchmark
+    public String v2Generate() throws Exception {
+        return v2Engine.seal(PLAIN_TEXT, System.currentTimeMillis() + 300_000);
+    }
+
+    @Benchmark
+    public String legacyValidate() throws Exception {
+        return legacy.validate(legacyToken);
+    }
+
+    @Benchmark
+    public String engineValidate() throws Exception {
+        return engine.open(engineToken);
+    }
+
+    @Benchmark
+    public String v2Validate() throws Exception {
+        return v2Engine.open(v2Token);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kkulmoo.rebirth.benchmark;
+
+import com.kkulmoo.rebirth.common.util.PasswordUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PIN 해시 1회 비용 (= 검증 1회 지연 / 공격자의 추측 1회 비용)
+ * - sha256 : 기존 PasswordUtils (salt 없음)
+ * - argon2 : PinVerifier 와 같은 Argon2id 설정, memoryKib / iterations 별
+ * 6자리 PIN 전체(10^6)를 한 코어로 대입하는 시간 = 결과(ms) * 10^6
+ * 실행: ./gradlew jmh -PjmhIncludes=PinHashBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PinHashBenchmark {
+
+    private static final String PIN = "123456";
+
+    @Param({"19456", "47104"})
+    private int memoryKib;
+
+    @Param({"2"})
+    private int iterations;
+
+    private Argon2PasswordEncoder encoder;
+    private String argon2Hash;
+    private String sha256Hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new Argon2PasswordEncoder(16, 32, 1, memoryKib, iterations);
+        argon2Hash = encoder.encode(PIN);
+        sha256Hash = PasswordUtils.encodePassword(PIN);
+        if (!encoder.matches(PIN, argon2Hash) || encoder.matches("654321", argon2Hash)) {
+            throw new IllegalStateException("Argon2id 검증 실패");
+        }
+    }
+
+    @Benchmark
+    public boolean sha256Verify() {
+        return PasswordUtils.matchPassword(PIN, sha256Hash);
+    }
+
+    @Benchmark
+    public boolean argon2Verify() {
+        return encoder.matches(PIN, argon2Hash);
+    }
+}
@@ -1,24 +1,28 @@
 package com.kkulmoo.rebirth.analysis.application.scheduler;
 
+import com.kkulmoo.rebirth.analysis.application.service.ReportDescriptionService;
 import com.kkulmoo.rebirth.analysis.domain.dto.response.ReportCategoryDTO;
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyConsumptionReportEntity;
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyTransactionSummaryEntity;
-import com.kkulmoo.rebirth.analysis.infrastructure.entity.ReportCardsEntity;
 import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyConsumptionReportJpaRepository;
 import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyTransactionSummaryJpaRepository;
 import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardCategoriesJpaRepository;
 import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardsJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportDeltaEventJpaRepository;
+import com.kkulmoo.rebirth.common.batch.PartitionedBatchRunner;
 import com.kkulmoo.rebirth.payment.infrastructure.repository.CardsJpaRepository;
-import com.kkulmoo.rebirth.shared.entity.CardEntity;
 import com.kkulmoo.rebirth.user.infrastrucutre.entity.UserEntity;
 import com.kkulmoo.rebirth.user.infrastrucutre.repository.UserJpaRepository;
-import dev.langchain4j.model.openai.OpenAiChatModel;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,103 +37,82 @@ public class MonthlyTransactionScheduler {
     private final CardsJpaRepository cardsJpaRepository;
     private final MonthlyConsumptionReportJpaRepository monthlyConsumptionReportJpaRepository;
     private final MonthlyTransactionSummaryJpaRepository monthlyTransactionSummaryJpaRepository;
+    private final PartitionedBatchRunner partitionedBatchRunner;
+    private final ReportDescriptionService reportDescriptionService;
+    private final ReportDeltaEventJpaRepository reportDeltaEventJpaRepository;
+    private final TransactionTemplate transactionTemplate;
 
+    @Value("${report.delta-events.retention-days}")
+    private long deltaEventRetentionDays;
 
-    @Scheduled(cron = "0 0 0 1 * ?")
-    public void createMonthlyTransaction() {
-        List<UserEntity> users = userJpaRepository.findAllAndDeletedAtIsNull(); // 나중에 deleted_at 있는건 안가져오게 수정할 것
-        for(UserEntity user : users) {
+    private static final String JOB_CREATE_MONTHLY = "monthly-report-create";
+    private static final String JOB_END_MONTHLY = "monthly-report-end";
 
-            createMonthlyTransactionSummary(user.getUserId());
 
-        }
+    // 월 시작: 새 달 리포트 틀 생성 / 월 종료: 지난 달 소비 리포트 생성
+    // 유저 ID 구간별로 나눠 여러 워커(여러 인스턴스 포함)가 처리하고, 구간별 체크포인트에서 이어서 실행한다.
+    @Scheduled(cron = "0 0 0 1 * ?")
+    public void createMonthlyTransaction() {
+        YearMonth month = YearMonth.now();
+        partitionedBatchRunner.run(JOB_CREATE_MONTHLY, month.toString(),
+                userId -> createMonthlyTransactionSummary(userId, month));
     }
 
     @Scheduled(cron = "0 0 0 1 * ?")
     public void endMonthlyTransaction() {
-        List<UserEntity> users = userJpaRepository.findAllAndDeletedAtIsNull(); // 나중에 deleted_at 있는건 안가져오게 수정할 것
-        for(UserEntity user : users) {
-            makeMonthlyConsumptionReport(user.getUserId());
-        }
-
+        YearMonth month = YearMonth.now().minusMonths(1);
+        partitionedBatchRunner.run(JOB_END_MONTHLY, month.toString(),
+                userId -> makeMonthlyConsumptionReport(userId, month));
     }
 
-    @Transactional
-    public void createMonthlyTransactionSummary(Integer userId) {
-        UserEntity user = userJpaRepository.getReferenceById(userId);
-        // 월 시작될 때 리포트 틀 만들어주기. 년, 월 정도 넣어주고 혜택이나 금액은 0
-        LocalDate now = LocalDate.now();
-        int month = now.getMonthValue();
-        int year = now.getYear();
-        MonthlyTransactionSummaryEntity monthlyTransactionSummary = MonthlyTransactionSummaryEntity
-                .builder()
-                .userId(user.getUserId())
-                .year(year)
-                .month(month)
-                .totalSpending(0)
-                .receivedBenefitAmount(0)
-                .build();
-
-        int reportId = monthlyTransactionSummaryJpaRepository.save(monthlyTransactionSummary).getReportId();
-        MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getReferenceById(reportId);
-        List<CardEntity> cards = cardsJpaRepository.getByUserId(user.getUserId());
-        for(CardEntity card : cards) {
-
-            createReportCards(card, report);
-
-        }
-
+    // 중단된 실행(인스턴스 종료, 구간 실패) 이어서 처리
+    @Scheduled(fixedDelayString = "${batch.partition.resume-millis}", initialDelayString = "${batch.partition.resume-millis}")
+    public void resumeMonthlyJobs() {
+        YearMonth month = YearMonth.now();
+        YearMonth lastMonth = month.minusMonths(1);
+        partitionedBatchRunner.resume(JOB_CREATE_MONTHLY, month.toString(),
+                userId -> createMonthlyTransactionSummary(userId, month));
+        partitionedBatchRunner.resume(JOB_END_MONTHLY, lastMonth.toString(),
+                userId -> makeMonthlyConsumptionReport(userId, lastMonth));
     }
 
-    @Transactional
-    public void createReportCards(CardEntity card, MonthlyTransactionSummaryEntity report) {
-        // 카드별 혜택, 사용금액 0,
-        ReportCardsEntity reportCardsEntity = ReportCardsEntity
-                .builder()
-                .cardId(card.getCardId())
-                .reportId(report.getReportId())
-                .monthSpendingAmount(0)
-                .monthBenefitAmount(0)
-                .createdAt(report.getCreatedAt())
-                .spendingTier((short) 0)
-                .build();
-        int reportCardId = reportCardsJpaRepository.save(reportCardsEntity).getReportCardId();
-        ReportCardsEntity reportCard = reportCardsJpaRepository.getReferenceById(reportCardId);
+    // 리포트 증분 반영 이벤트 기록 정리 (Outbox 재전달이 끝난 오래된 기록)
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgeReportDeltaEvents() {
+        reportDeltaEventJpaRepository.deleteAppliedBefore(LocalDateTime.now().minusDays(deltaEventRetentionDays));
+    }
 
+    // 월 시작될 때 리포트 틀 만들어주기. 년, 월 정도 넣어주고 혜택이나 금액은 0 (이미 있으면 그대로)
+    public void createMonthlyTransactionSummary(Integer userId, YearMonth month) {
+        monthlyTransactionSummaryJpaRepository.createEmptyIfAbsent(userId, month.getYear(), month.getMonthValue());
+        // 카드별 혜택, 사용금액 0
+        reportCardsJpaRepository.createEmptyForCardsIfAbsent(userId, month.getYear(), month.getMonthValue());
     }
 
-    @Transactional
     public void makeMonthlyConsumptionReport(Integer userId) {
-        UserEntity user = userJpaRepository.getReferenceById(userId);
-        LocalDate yesterday = LocalDate.now().minusDays(1);
-        int year = yesterday.getYear();
-        int month = yesterday.getMonthValue();
-        MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(),year, month);
-
-        // 소비패턴 계산
-        int[] pattern = calculateSpendingPattern(userId, year, month);
-
-        // AI 요약
-        OpenAiChatModel model = OpenAiChatModel.builder()
-                .baseUrl("http://langchain4j.dev/demo/openai/v1")
-                .apiKey("demo")
-                .modelName("gpt-4o-mini")
-                .build();
+        makeMonthlyConsumptionReport(userId, YearMonth.from(LocalDate.now().minusDays(1)));
+    }
 
-        String question = "다음은 " + user.getUserName() + "님의 한달간 소비 내역이야. 요약해줘.\n";
+    // 배치 람다에서 this 로 호출되어 @Transactional 프록시를 거치지 않으므로, 유저 단위 트랜잭션을 직접 연다.
+    // (리포트 저장과 요약 생성 적재가 같이 커밋된다. 적재는 커밋 후)
+    public void makeMonthlyConsumptionReport(Integer userId, YearMonth target) {
+        transactionTemplate.executeWithoutResult(status -> createMonthlyConsumptionReport(userId, target));
+    }
 
-        List<ReportCategoryDTO> spendingByCategory = getTotalSpendingByCategory(user, year, month);
-        for(ReportCategoryDTO row : spendingByCategory) {
-            String category = row.getCategory();
-            question = question.concat(category+"카테고리 지출 : "+row.getAmount()+"원\n");
+    private void createMonthlyConsumptionReport(Integer userId, YearMonth target) {
+        UserEntity user = userJpaRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("유저를 찾을 수 없습니다: " + userId));
+        int year = target.getYear();
+        int month = target.getMonthValue();
+        MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(),year, month);
+        if (report == null || monthlyConsumptionReportJpaRepository.existsById(report.getReportId())) {
+            // 리포트가 없는 유저 / 이미 생성된 리포트 (배치 재실행)
+            return;
         }
-        question = question.concat("과소비성향 : "+pattern[0]+"\n");
-        question = question.concat("소비변동성 : "+pattern[1]+"\n");
-        question = question.concat("소비외향성 : "+pattern[2]+"\n");
-        question = question.concat("hint: 과소비 성향은 수입 대비 소비정도를, 소비 변동성은 직전달 대비 소비의 변동성, 소비 외향성은 소비카테고리 기준 외향적 소비 비율을 의미해.");
 
+        // 소비패턴 계산
+        int[] pattern = calculateSpendingPattern(userId, target);
 
-        String answer = model.chat(question);
         String consumptionPatternId = "";
         if(pattern[2]>50) consumptionPatternId = consumptionPatternId.concat("E"); // 외향형
         else consumptionPatternId = consumptionPatternId.concat("I"); // 내향헝
@@ -140,34 +123,41 @@ public class MonthlyTransactionScheduler {
         MonthlyConsumptionReportEntity monthlyConsumptionReport = MonthlyConsumptionReportEntity
                 .builder()
                 .reportId(report.getReportId())
+                .report(report)
                 .consumptionPatternId(consumptionPatternId)
                 .overConsumption(pattern[0])
                 .variation(pattern[1])
                 .extrovert(pattern[2])
-                .reportDescription(answer)
+                .reportDescription("")
                 .build();
 
         monthlyConsumptionReportJpaRepository.save(monthlyConsumptionReport);
+        // AI 요약은 리포트 저장 후 큐에서 생성해 붙인다.
+        reportDescriptionService.request(report.getReportId());
     }
 
-    @Transactional
-    public int[] calculateSpendingPattern(Integer userId, int year, int month) {
+    // 대상 월(target)과 그 직전 월 기준 소비패턴. 재실행 / 지연 실행되어도 실행 시점과 무관하다.
+    public int[] calculateSpendingPattern(Integer userId, YearMonth target) {
         // 필요한 정보 - 월평균 수입, 월 총 지출, 카테고리별 지출, 전 월 지출
-        UserEntity user = userJpaRepository.getReferenceById(userId);
+        UserEntity user = userJpaRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("유저를 찾을 수 없습니다: " + userId));
         int monthlyIncome = user.getAverageMonthlyIncome();
+        int year = target.getYear();
+        int month = target.getMonthValue();
         MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(),year, month);
 
         // 전 월 총지출 가져오기
-        LocalDate lastMonth = LocalDate.now().minusMonths(1);
-        int preYear = lastMonth.getYear();
-        int preMonth = lastMonth.getMonthValue();
-        MonthlyTransactionSummaryEntity preReport = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(), preYear, preMonth);
+        YearMonth lastMonth = target.minusMonths(1);
+        MonthlyTransactionSummaryEntity preReport = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(), lastMonth.getYear(), lastMonth.getMonthValue());
 
         // 과소비 계산
         int overConsumption = (int) Math.min(100,50*report.getTotalSpending()/(float)monthlyIncome);
-        // 변동성 계산
-        int variation = (int) Math.abs((preReport.getTotalSpending() - report.getTotalSpending())/(float)(report.getTotalSpending()));
-        variation = Math.min(100,100*variation);
+        // 변동성 계산 (전 월 리포트가 없거나 이번 달 지출이 없으면 기준값 50)
+        int variation = 50;
+        if (preReport != null && report.getTotalSpending() != 0) {
+            variation = (int) Math.abs(100 * (preReport.getTotalSpending() - report.getTotalSpending()) / (float) report.getTotalSpending());
+        }
+        variation = Math.min(100, variation);
 
         // 외향성 계산
         Map<String,Integer> extrovertCategories = new HashMap<>();
@@ -190,7 +180,10 @@ public class MonthlyTransactionScheduler {
         for(ReportCategoryDTO spending : spendingByCategory) {
             if(extrovertCategories.containsKey(spending.getCategory())) extrovertSpendAmount += spending.getAmount();
         }
-        int extrovert = (int)(100* ((float)extrovertSpendAmount) / report.getTotalSpending());
+        int extrovert = 0;
+        if (report.getTotalSpending() != 0) {
+            extrovert = (int)(100* ((float)extrovertSpendAmount) / report.getTotalSpending());
+        }
 
         int[] result = new int[3];
 
@@ -0,0 +1,189 @@
+package com.kkulmoo.rebirth.analysis.application.service;
+
+import com.kkulmoo.rebirth.analysis.domain.ReportProfile;
+import com.kkulmoo.rebirth.analysis.domain.dto.response.ReportCategoryDTO;
+import com.kkulmoo.rebirth.analysis.domain.repository.ReportSummaryCacheRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyConsumptionReportEntity;
+import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyTransactionSummaryEntity;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyConsumptionReportJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardCategoriesJpaRepository;
+import com.kkulmoo.rebirth.common.outbox.OutboxTopic;
+import com.kkulmoo.rebirth.common.outbox.RedisStreamOutbox;
+import com.kkulmoo.rebirth.common.ratelimit.TokenBucket;
+import com.kkulmoo.rebirth.user.infrastrucutre.entity.UserEntity;
+import com.kkulmoo.rebirth.user.infrastrucutre.repository.UserJpaRepository;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 소비 리포트 AI 요약 생성
+ * - 리포트(소비 패턴 수치)는 먼저 저장하고, 요약 생성은 Outbox 큐에 적재한다. 워커가 생성해 reportDescription 에 붙인다.
+ * - 모델 호출 중에는 트랜잭션 / DB 커넥션을 잡지 않는다. (조회, 저장만 각각 짧은 트랜잭션)
+ * - 동시 호출 수는 샤드 수로, 호출 속도는 토큰 버킷으로 제한하고, 실패하면 Outbox 가 backoff 재시도 후 DLQ 로 옮긴다.
+ * - 프롬프트는 구간화한 소비 프로필(ReportProfile)만으로 만들고, 프로필 해시로 요약을 캐시한다.
+ *   캐시 적중이면 모델 / 토큰 버킷을 거치지 않는다. 이름은 {USER} 자리표시자로 받아 저장 직전에 채운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportDescriptionService {
+
+    private final RedisStreamOutbox redisStreamOutbox;
+    private final ChatLanguageModel reportChatModel;
+    private final MonthlyConsumptionReportJpaRepository monthlyConsumptionReportJpaRepository;
+    private final ReportCardCategoriesJpaRepository reportCardCategoriesJpaRepository;
+    private final ReportSummaryCacheRepository reportSummaryCacheRepository;
+    private final UserJpaRepository userJpaRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${report.llm.outbox.shards}")
+    private int shards;
+
+    @Value("${report.llm.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${report.llm.rate.permits-per-second}")
+    private double permitsPerSecond;
+
+    @Value("${report.llm.rate.burst}")
+    private int burst;
+
+    @Value("${report.summary-cache.pattern-bucket}")
+    private int patternBucket;
+
+    @Value("${report.summary-cache.share-bucket-percent}")
+    private int shareBucketPercent;
+
+    @Value("${report.summary-cache.top-categories}")
+    private int topCategories;
+
+    @Value("${report.summary-cache.spending-band-won}")
+    private int spendingBandWon;
+
+    @Value("${report.summary-cache.ttl-days}")
+    private long ttlDays;
+
+    private static final String USER_PLACEHOLDER = "{USER}";
+
+    private OutboxTopic topic;
+    private ReportProfile.Granularity granularity;
+    private TokenBucket rateLimiter;
+
+    @PostConstruct
+    public void init() {
+        topic = new OutboxTopic("report-description", shards, maxAttempts);
+        rateLimiter = new TokenBucket(burst, permitsPerSecond);
+        granularity = new ReportProfile.Granularity(patternBucket, shareBucketPercent, topCategories, spendingBandWon);
+        redisStreamOutbox.subscribe(topic, payload -> generate(Integer.parseInt(payload)));
+    }
+
+    // 요약 생성 요청. 트랜잭션 안이면 커밋 후 적재 (워커가 아직 커밋되지 않은 리포트를 읽지 않도록)
+    public void request(int reportId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(reportId);
+                }
+            });
+        } else {
+            append(reportId);
+        }
+    }
+
+    private void append(int reportId) {
+        redisStreamOutbox.append(topic, reportId, String.valueOf(reportId));
+        log.info("리포트 요약 생성 적재 - reportId: {}", reportId);
+    }
+
+    // Outbox 워커: 예외가 나면 Outbox 가 재시도한다.
+    private void generate(int reportId) throws InterruptedException {
+        MonthlyConsumptionReportEntity mcr = monthlyConsumptionReportJpaRepository.findById(reportId)
+                .orElseThrow(() -> new EntityNotFoundException("소비 리포트를 찾을 수 없습니다: " + reportId));
+        MonthlyTransactionSummaryEntity report = mcr.getReport();
+        UserEntity user = userJpaRepository.findById(report.getUserId())
+                .orElseThrow(() -> new EntityNotFoundException("유저를 찾을 수 없습니다: " + report.getUserId()));
+        List<ReportCategoryDTO> spendingByCategory = reportCardCategoriesJpaRepository
+                .getTotalSpendingByCategoryNameAndUser(user.getUserId(), report.getYear(), report.getMonth());
+
+        ReportProfile profile = ReportProfile.of(mcr.getConsumptionPatternId(),
+                new int[]{mcr.getOverConsumption(), mcr.getVariation(), mcr.getExtrovert()},
+                spendingByCategory, granularity);
+        String profileHash = profile.hash();
+
+        Optional<String> cached = reportSummaryCacheRepository.find(profileHash);
+        countCache(cached.isPresent() ? "hit" : "miss");
+        String summary;
+        if (cached.isPresent()) {
+            summary = cached.get();
+        } else {
+            summary = ask(buildQuestion(profile));
+            reportSummaryCacheRepository.save(profileHash, summary, Duration.ofDays(ttlDays));
+        }
+
+        monthlyConsumptionReportJpaRepository.updateReportDescription(reportId,
+                summary.replace(USER_PLACEHOLDER, user.getUserName()));
+        log.info("리포트 요약 생성 완료 - reportId: {}, 캐시 적중: {}", reportId, cached.isPresent());
+    }
+
+    private String ask(String question) throws InterruptedException {
+        rateLimiter.acquire();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String answer = reportChatModel.chat(question);
+            outcome = "success";
+            return answer;
+        } finally {
+            sample.stop(Timer.builder("report.description.generate")
+                    .description("소비 리포트 AI 요약 생성 시간")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    // 적중률 = hit / (hit + miss)
+    private void countCache(String result) {
+        Counter.builder("report.description.cache")
+                .description("소비 리포트 AI 요약 캐시 조회 수")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 같은 프로필이면 같은 질문이 되도록 구간 값만 사용 (실제 금액 / 이름 제외)
+    private String buildQuestion(ReportProfile profile) {
+        String question = "다음은 " + USER_PLACEHOLDER + "님의 한달간 소비 내역이야. 요약해줘. 감성적인 말투로 부탁해.\n";
+        question = question.concat("이름은 반드시 " + USER_PLACEHOLDER + " 그대로 쓰고, 구체적인 금액은 언급하지 마.\n");
+        question = question.concat("월 지출 : " + profile.getSpendingBand() + "원 ~ "
+                + (profile.getSpendingBand() + profile.getGranularity().spendingBandWon()) + "원\n");
+        for (Map.Entry<String, Integer> share : profile.getCategoryShares().entrySet()) {
+            question = question.concat(share.getKey() + "카테고리 지출 비중 : " + share.getValue() + "% ~ "
+                    + (share.getValue() + profile.getGranularity().shareBucketPercent()) + "%\n");
+        }
+        question = question.concat("과소비성향 : " + range(profile.getOverConsumption()) + "\n");
+        question = question.concat("소비변동성 : " + range(profile.getVariation()) + "\n");
+        question = question.concat("소비외향성 : " + range(profile.getExtrovert()) + "\n");
+        question = question.concat("hint: 과소비 성향은 수입 대비 소비정도를, 소비 변동성은 직전달 대비 소비의 변동성, 소비 외향성은 소비카테고리 기준 외향적 소비 비율을 의미해. 모든 값은 50을 기준으로 생각하고 평가해줘");
+        return question;
+    }
+
+    private String range(int lowerBound) {
+        return lowerBound + " ~ " + (lowerBound + patternBucket - 1);
+    }
+}
@@ -1,6 +1,7 @@
 package com.kkulmoo.rebirth.analysis.application.service;
 
 import com.kkulmoo.rebirth.analysis.application.scheduler.MonthlyTransactionScheduler;
+import com.kkulmoo.rebirth.analysis.domain.dto.ReportDeltaDTO;
 import com.kkulmoo.rebirth.analysis.domain.dto.response.*;
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.*;
 import com.kkulmoo.rebirth.analysis.infrastructure.repository.*;
@@ -12,13 +13,13 @@ import com.kkulmoo.rebirth.transactions.infrastructure.entity.CategoryEntity;
 import com.kkulmoo.rebirth.transactions.infrastructure.repository.TransactionsJpaRepository;
 import com.kkulmoo.rebirth.user.infrastrucutre.entity.UserEntity;
 import com.kkulmoo.rebirth.user.infrastrucutre.repository.UserJpaRepository;
-import dev.langchain4j.model.openai.OpenAiChatModel;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 @Service
@@ -36,7 +37,29 @@ public class ReportService {
     private final ConsumptionPatternJpaRepository consumptionPatternJpaRepository;
     private final UserJpaRepository userJpaRepository;
     private final CardTemplateJpaRepository cardTemplateJpaRepository;
+    private final ReportDescriptionService reportDescriptionService;
+    private final ReportDeltaEventJpaRepository reportDeltaEventJpaRepository;
 
+    // 결제 1건을 월별 요약 / 카드별 / 카드-카테고리별 리포트에 더한다.
+    // 보유 카드, 카테고리 수와 관계없이 UPSERT 3번 (없으면 생성, 있으면 누적)
+    // 이벤트 ID 기록과 UPSERT 가 같은 트랜잭션이므로, 커밋 후 재전달된 이벤트는 더하지 않는다. (반영했으면 true)
+    @Transactional
+    public boolean applyTransactionDelta(ReportDeltaDTO delta) {
+        if (reportDeltaEventJpaRepository.markApplied(delta.getEventId(), delta.getUserId()) == 0) {
+            return false;
+        }
+        int year = delta.getCreatedAt().getYear();
+        int month = delta.getCreatedAt().getMonthValue();
+        int amount = delta.getAmount();
+        int benefitAmount = delta.getBenefitAmount() != null ? delta.getBenefitAmount() : 0;
+
+        int reportId = monthlyTransactionSummaryJpaRepository.upsertDelta(delta.getUserId(), year, month, amount, benefitAmount);
+        int reportCardId = reportCardsJpaRepository.upsertDelta(reportId, delta.getCardId(), amount, benefitAmount);
+        reportCardCategoriesJpaRepository.upsertDelta(reportCardId, delta.getCategoryId(), amount, benefitAmount);
+        return true;
+    }
+
+    // 거래내역 전체로 해당 월 리포트 재계산 (대량 적재 / 수동 갱신용)
     @Transactional
     public void updateMonthlyTransactionSummary(Integer userId, LocalDateTime now) {
         UserEntity user = userJpaRepository.getReferenceById(userId);
@@ -132,171 +155,27 @@ public class ReportService {
         monthlyTransactionSummaryJpaRepository.save(report);
     }
 
+    // 거래내역 기준으로 기간 [from, to] (월 단위, 양끝 포함) 리포트 재계산
+    // 월별 요약 -> 리포트 카드 -> 카드-카테고리 순으로 집계 쿼리 몇 번에 채운다. (행 단위 조회 / 저장 없음)
     @Transactional
-    public void startWithMyData(Integer userId) {
-        UserEntity user = userJpaRepository.getReferenceById(userId);
-        for (int i = 5; i >= 0; i--) {
-            LocalDateTime now = LocalDateTime.now().minusMonths(i);
-            int year = now.getYear();
-            int month = now.getMonthValue();
-            MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(), year, month);
-
-            if (report == null) {
-                MonthlyTransactionSummaryEntity monthlyTransactionSummary = MonthlyTransactionSummaryEntity
-                        .builder()
-                        .userId(user.getUserId())
-                        .year(year)
-                        .month(month)
-                        .totalSpending(0)
-                        .receivedBenefitAmount(0)
-                        .build();
-
-                int reportId = monthlyTransactionSummaryJpaRepository.save(monthlyTransactionSummary).getReportId();
-                report = monthlyTransactionSummaryJpaRepository.getReferenceById(reportId);
-
-            } else {
-                report.setTotalSpending(0);
-                report.setReceivedBenefitAmount(0);
-
-                report = monthlyTransactionSummaryJpaRepository.save(report);
-            }
-            List<CardEntity> cards = cardsJpaRepository.findByUserId(user.getUserId());
-            for (CardEntity card : cards) {
-                ReportCardsEntity reportCard = reportCardsJpaRepository.getByReportIdAndCardId(report.getReportId(), card.getCardId());
-                ReportCardsEntity reportCardsEntity = ReportCardsEntity
-                        .builder()
-                        .cardId(card.getCardId())
-                        .reportId(report.getReportId())
-                        .monthSpendingAmount(0)
-                        .monthBenefitAmount(0)
-                        .createdAt(report.getCreatedAt())
-                        .spendingTier((short) 0)
-                        .build();
-                if (reportCard == null) {
-                    int reportCardId = reportCardsJpaRepository.save(reportCardsEntity).getReportCardId();
-                    reportCard = reportCardsJpaRepository.getReferenceById(reportCardId);
-
-                } else {
-                    reportCard.setMonthSpendingAmount(0);
-                    reportCard.setMonthBenefitAmount(0);
-                    reportCard.setSpendingTier((short) 0);
-
-                    reportCard = reportCardsJpaRepository.save(reportCard);
-
-                }
-
-            }
-
-            List<MonthlySpendingByCategoryAndCardDTO> monthlyTransactions = transactionsJpaRepository.getMonthlySpendingByCategoryAndCard(userId, year, month);
-
-            Map<Integer, int[]> countByCard = new HashMap<>();
-            for (MonthlySpendingByCategoryAndCardDTO monthlyTransaction : monthlyTransactions) {
-                ReportCardsEntity reportCard = reportCardsJpaRepository.getByReportIdAndCardId(report.getReportId(), monthlyTransaction.getCardId());
-                if (reportCard == null) {
-                    ReportCardsEntity newReportCard = ReportCardsEntity
-                            .builder()
-                            .reportId(report.getReportId())
-                            .cardId(monthlyTransaction.getCardId())
-                            .monthBenefitAmount(0)
-                            .monthSpendingAmount(0)
-                            .spendingTier((short) 0)
-                            .createdAt(now)
-                            .build();
-                    int reportCardId = reportCardsJpaRepository.save(newReportCard).getReportCardId();
-                    reportCard = reportCardsJpaRepository.getReferenceById(reportCardId);
-
-                } else {
-                    reportCard.setMonthSpendingAmount(0);
-                    reportCard.setMonthBenefitAmount(0);
-                    reportCard.setSpendingTier((short) 0);
-
-                    reportCard = reportCardsJpaRepository.save(reportCard);
-                }
-
-                // 그냥 결제 단건 혜택만 고려
-                ReportCardCategoriesEntity reportCardCategory = reportCardCategoriesJpaRepository.getByReportCardAndCategoryId(reportCard, monthlyTransaction.getCategoryId());
-
-                if (reportCardCategory == null) {
-                    ReportCardCategoriesEntity newReportCardCategory = ReportCardCategoriesEntity
-                            .builder()
-                            .reportCard(reportCard)
-                            .categoryId(monthlyTransaction.getCategoryId())
-                            .amount(0)
-                            .receivedBenefitAmount(0)
-                            .count(0)
-                            .createdAt(now)
-                            .build();
-
-                    int reportCardCategoryId = reportCardCategoriesJpaRepository.save(newReportCardCategory).getReportCategoryId();
-
-//                    reportCardCategory = reportCardCategoriesJpaRepository.getReferenceById(reportCardCategoryId);
-                    reportCardCategory = reportCardCategoriesJpaRepository.findById(reportCardCategoryId)
-                            .orElseThrow(() -> new EntityNotFoundException("Entity not found after saving: " + newReportCardCategory.getReportCard().getReportCardId()));
-                } else {
-                    reportCardCategory.setAmount(0);
-                    reportCardCategory.setReceivedBenefitAmount(0);
-                    reportCardCategory.setCount(0);
-
-                    reportCardCategory = reportCardCategoriesJpaRepository.save(reportCardCategory);
-                }
-
-                reportCardCategory.setAmount(monthlyTransaction.getTotalSpending()); // 결제 금액
-                reportCardCategory.setReceivedBenefitAmount(monthlyTransaction.getTotalBenefit()); // 혜택 금액
-                reportCardCategory.setCount(monthlyTransaction.getTransactionCount()); // 결제 횟수
-
-                if (!countByCard.containsKey(monthlyTransaction.getCardId())) {
-                    countByCard.put(monthlyTransaction.getCardId(), new int[]{monthlyTransaction.getTotalSpending(), monthlyTransaction.getTotalBenefit(), monthlyTransaction.getTransactionCount()});
-                } else {
-                    int[] chk = countByCard.get(monthlyTransaction.getCardId());
-                    chk[0] += monthlyTransaction.getTotalSpending();
-                    chk[1] += monthlyTransaction.getTotalBenefit();
-                    chk[2] += monthlyTransaction.getTransactionCount();
-
-                    countByCard.put(monthlyTransaction.getCardId(), chk);
-                }
-                reportCardCategoriesJpaRepository.save(reportCardCategory);
-            }
-
-            int[] total = new int[2];
-            for (Map.Entry<Integer, int[]> entry : countByCard.entrySet()) {
-                int cardId = entry.getKey();
-                int[] count = entry.getValue();
-                CardEntity card = cardsJpaRepository.getReferenceById(cardId);
-                CardTemplateEntity cardTemplate = cardTemplateJpaRepository.getReferenceById(card.getCardTemplateId());
-                short myTierForCard = 0;
-                if (cardTemplate.getPerformanceRange() != null) {
-                    for (int point : cardTemplate.getPerformanceRange()) {
-                        System.out.println(card.getCardName() + " " + count[0] + " 이거 넘나? " + point);
-                        if (Math.abs(count[0]) < point) {
-                            break;
-                        }
-                        myTierForCard++;
-                    }
-                }
-                ReportCardsEntity reportCard = reportCardsJpaRepository.getByReportIdAndCardId(report.getReportId(), cardId);
-                reportCard.setMonthSpendingAmount(count[0]);
-                reportCard.setMonthBenefitAmount(count[1]);
-                reportCard.setSpendingTier(myTierForCard);
-                reportCardsJpaRepository.save(reportCard);
-
-
-                total[0] += count[0];
-                total[1] += count[1];
-            }
-
-            if(i==1) {
-                for(CardEntity card: cards) {
-                    ReportCardsEntity reportCard = reportCardsJpaRepository.getByReportIdAndCardId(report.getReportId(), card.getCardId());
-                    CardEntity newCard = card.toBuilder().spendingTier(reportCard.getSpendingTier()).build();
-                    cardsJpaRepository.save(newCard);
+    public void rebuildReports(Integer userId, YearMonth from, YearMonth to) {
+        LocalDateTime fromMonth = from.atDay(1).atStartOfDay();
+        LocalDateTime toMonth = to.plusMonths(1).atDay(1).atStartOfDay();
+
+        monthlyTransactionSummaryJpaRepository.rebuildRange(userId, fromMonth, toMonth);
+        reportCardsJpaRepository.rebuildRange(userId, fromMonth, toMonth);
+        reportCardCategoriesJpaRepository.deleteRange(userId, fromMonth, toMonth);
+        reportCardCategoriesJpaRepository.rebuildRange(userId, fromMonth, toMonth);
+    }
 
-                }
-            }
+    @Transactional
+    public void startWithMyData(Integer userId) {
+        YearMonth thisMonth = YearMonth.now();
+        rebuildReports(userId, thisMonth.minusMonths(5), thisMonth);
 
-            report.setTotalSpending(total[0]);
-            report.setReceivedBenefitAmount(total[1]);
-            monthlyTransactionSummaryJpaRepository.save(report);
-        }
+        // 지난 달 실적 구간을 보유 카드에 반영
+        YearMonth lastMonth = thisMonth.minusMonths(1);
+        reportCardsJpaRepository.applySpendingTierToCards(userId, lastMonth.getYear(), lastMonth.getMonthValue());
 
         // 월별 요약(최근 두 달만)
         for (int i = 2; i >= 1; i--) {
@@ -308,9 +187,9 @@ public class ReportService {
         int year = now.getYear();
         int month = now.getMonthValue();
 
-        MonthlyTransactionSummaryEntity mts = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(), year, month);
+        MonthlyTransactionSummaryEntity mts = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(userId, year, month);
         MonthlyConsumptionReportEntity mcr = monthlyConsumptionReportJpaRepository.getByReport(mts);
-        UserEntity nowUser = userJpaRepository.getReferenceById(user.getUserId());
+        UserEntity nowUser = userJpaRepository.getReferenceById(userId);
         nowUser.setConsumptionPatternId(mcr.getConsumptionPatternId());
         nowUser = userJpaRepository.save(nowUser);
     }
@@ -370,165 +249,17 @@ public class ReportService {
         }
     }
 
+    // AI 요약은 큐에서 비동기로 생성해 리포트에 붙인다. (LLM 호출 동안 트랜잭션 / 커넥션을 잡지 않음)
     @Transactional
     public void updateReport(Integer userId, LocalDateTime now) {
-        // GPT 답변 생성
-        UserEntity user = userJpaRepository.getReferenceById(userId);
-        int year = now.getYear();
-        int month = now.getMonthValue();
-        MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(user.getUserId(), year, month);
-        MonthlyConsumptionReportEntity mcr = monthlyConsumptionReportJpaRepository.getByReport(report);
-        int[] pattern = new int[]{mcr.getOverConsumption(), mcr.getVariation(), mcr.getExtrovert()};
-
-        // AI 요약
-        OpenAiChatModel model = OpenAiChatModel.builder()
-                .baseUrl("http://langchain4j.dev/demo/openai/v1")
-                // .apiKey("demo")
-                .modelName("gpt-4o-mini")
-                .build();
-
-        String question = "다음은 " + user.getUserName() + "님의 한달간 소비 내역이야. 요약해줘. 감성적인 말투로 부탁해.\n";
-
-        List<ReportCategoryDTO> spendingByCategory = getTotalSpendingByCategory(user, year, month);
-        for (ReportCategoryDTO row : spendingByCategory) {
-            String category = row.getCategory();
-            question = question.concat(category + "카테고리 지출 : " + row.getAmount() + "원\n");
-        }
-        question = question.concat("과소비성향 : " + pattern[0] + "\n");
-        question = question.concat("소비변동성 : " + pattern[1] + "\n");
-        question = question.concat("소비외향성 : " + pattern[2] + "\n");
-        question = question.concat("hint: 과소비 성향은 수입 대비 소비정도를, 소비 변동성은 직전달 대비 소비의 변동성, 소비 외향성은 소비카테고리 기준 외향적 소비 비율을 의미해. 모든 값은 50을 기준으로 생각하고 평가해줘");
-
-
-        String answer = model.chat(question);
-        System.out.println(mcr);
-        mcr.setReportDescription(answer);
-
-        mcr = monthlyConsumptionReportJpaRepository.save(mcr);
-
+        MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(userId, now.getYear(), now.getMonthValue());
+        reportDescriptionService.request(report.getReportId());
     }
 
     @Transactional
     public void updateWithMyData(Integer userId) {
-        UserEntity user = userJpaRepository.getReferenceById(userId);
-//        List<MonthlyTransactionSummaryEntity> mtsList = monthlyTransactionSummaryJpaRepository.findByUserId(userId);
-//        mtsList.sort(Comparator
-//                .comparing(MonthlyTransactionSummaryEntity::getYear)
-//                .thenComparing(MonthlyTransactionSummaryEntity::getMonth));
-//        for (MonthlyTransactionSummaryEntity report : mtsList) {
-        for (int i = 3; i >= 0; i--) {
-            LocalDateTime now = LocalDateTime.now().minusMonths(i);
-            int year = now.getYear();
-            int month = now.getMonthValue();
-//            int year = report.getYear();
-//            int month = report.getMonth();
-            MonthlyTransactionSummaryEntity report = monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(userId, year, month);
-            report.setTotalSpending(0);
-            report.setReceivedBenefitAmount(0);
-
-            report = monthlyTransactionSummaryJpaRepository.save(report);
-
-            List<MonthlySpendingByCategoryAndCardDTO> monthlyTransactions = transactionsJpaRepository.getMonthlySpendingByCategoryAndCard(user.getUserId(), year, month);
-
-            Map<Integer, int[]> countByCard = new HashMap<>();
-            for (MonthlySpendingByCategoryAndCardDTO monthlyTransaction : monthlyTransactions) {
-                ReportCardsEntity reportCard = reportCardsJpaRepository.getByReportIdAndCardId(report.getReportId(), monthlyTransaction.getCardId());
-                if (reportCard == null) {
-                    ReportCardsEntity newReportCard = ReportCardsEntity
-                            .builder()
-                            .reportId(report.getReportId())
-                            .cardId(monthlyTransaction.getCardId())
-                            .monthBenefitAmount(0)
-                            .monthSpendingAmount(0)
-                            .spendingTier((short) 0)
-                            .createdAt(LocalDateTime.now())
-                            .build();
-                    int reportCardId = reportCardsJpaRepository.save(newReportCard).getReportCardId();
-                    reportCard = reportCardsJpaRepository.getReferenceById(reportCardId);
-
-                } else {
-                    reportCard.setMonthSpendingAmount(0);
-                    reportCard.setMonthBenefitAmount(0);
-                    reportCard.setSpendingTier((short) 0);
-
-                    reportCard = reportCardsJpaRepository.save(reportCard);
-                }
-
-                // 그냥 결제 단건 혜택만 고려
-                ReportCardCategoriesEntity reportCardCategory = reportCardCategoriesJpaRepository.getByReportCardAndCategoryId(reportCard, monthlyTransaction.getCategoryId());
-
-                if (reportCardCategory == null) {
-                    ReportCardCategoriesEntity newReportCardCategory = ReportCardCategoriesEntity
-                            .builder()
-                            .reportCard(reportCard)
-                            .categoryId(monthlyTransaction.getCategoryId())
-                            .amount(0)
-                            .receivedBenefitAmount(0)
-                            .count(0)
-                            .createdAt(LocalDateTime.now())
-                            .build();
-
-                    int reportCardCategoryId = reportCardCategoriesJpaRepository.save(newReportCardCategory).getReportCategoryId();
-
-//                    reportCardCategory = reportCardCategoriesJpaRepository.getReferenceById(reportCardCategoryId);
-                    reportCardCategory = reportCardCategoriesJpaRepository.findById(reportCardCategoryId)
-                            .orElseThrow(() -> new EntityNotFoundException("Entity not found after saving: " + newReportCardCategory.getReportCard().getReportCardId()));
-                } else {
-                    reportCardCategory.setAmount(0);
-                    reportCardCategory.setReceivedBenefitAmount(0);
-                    reportCardCategory.setCount(0);
-
-                    reportCardCategory = reportCardCategoriesJpaRepository.save(reportCardCategory);
-                }
-
-                reportCardCategory.setAmount(monthlyTransaction.getTotalSpending()); // 결제 금액
-                reportCardCategory.setReceivedBenefitAmount(monthlyTransaction.getTotalBenefit()); // 혜택 금액
-                reportCardCategory.setCount(monthlyTransaction.getTransactionCount()); // 결제 횟수
-
-                if (!countByCard.containsKey(monthlyTransaction.getCardId())) {
-                    countByCard.put(monthlyTransaction.getCardId(), new int[]{monthlyTransaction.getTotalSpending(), monthlyTransaction.getTotalBenefit(), monthlyTransaction.getTransactionCount()});
-                } else {
-                    int[] chk = countByCard.get(monthlyTransaction.getCardId());
-                    chk[0] += monthlyTransaction.getTotalSpending();
-                    chk[1] += monthlyTransaction.getTotalBenefit();
-                    chk[2] += monthlyTransaction.getTransactionCount();
-
-                    countByCard.put(monthlyTransaction.getCardId(), chk);
-                }
-                reportCardCategoriesJpaRepository.save(reportCardCategory);
-            }
-
-            int[] total = new int[2];
-            for (Map.Entry<Integer, int[]> entry : countByCard.entrySet()) {
-                int cardId = entry.getKey();
-                int[] count = entry.getValue();
-                CardEntity card = cardsJpaRepository.getReferenceById(cardId);
-                CardTemplateEntity cardTemplate = cardTemplateJpaRepository.getReferenceById(card.getCardTemplateId());
-                short myTierForCard = 0;
-                if (cardTemplate.getPerformanceRange() != null) {
-                    for (int point : cardTemplate.getPerformanceRange()) {
-                        System.out.println(card.getCardName() + " " + count[0] + " 이거 넘나? " + point);
-                        if (Math.abs(count[0]) < point) {
-                            break;
-                        }
-                        myTierForCard++;
-                    }
-                }
-                ReportCardsEntity reportCard = reportCardsJpaRepository.getByReportIdAndCardId(report.getReportId(), cardId);
-                reportCard.setMonthSpendingAmount(count[0]);
-                reportCard.setMonthBenefitAmount(count[1]);
-                reportCard.setSpendingTier(myTierForCard);
-
-                reportCardsJpaRepository.save(reportCard);
-                total[0] += count[0];
-                total[1] += count[1];
-            }
-
-            report.setTotalSpending(total[0]);
-            report.setReceivedBenefitAmount(total[1]);
-            monthlyTransactionSummaryJpaRepository.save(report);
-        }
-
+        YearMonth thisMonth = YearMonth.now();
+        rebuildReports(userId, thisMonth.minusMonths(3), thisMonth);
     }
 
     @Transactional
@@ -0,0 +1,114 @@
+package com.kkulmoo.rebirth.analysis.domain;
+
+import com.kkulmoo.rebirth.analysis.domain.dto.response.ReportCategoryDTO;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 요약 캐시 키가 되는 소비 프로필
+ * - 소비 패턴 ID, 구간화한 패턴 수치(과소비 / 변동성 / 외향성), 월 지출 구간, 상위 카테고리의 지출 비중 구간
+ * - 유저 이름, 실제 금액은 넣지 않는다. 같은 프로필이면 같은 요약을 써도 되도록 프롬프트도 이 값만으로 만든다.
+ * - 구간 크기(granularity)가 크면 더 많은 유저가 같은 프로필로 묶인다. (구간 크기도 해시에 포함)
+ */
+@Getter
+public class ReportProfile {
+
+    // 프로필 / 프롬프트 구성이 바뀌면 올려서 이전 캐시와 섞이지 않게 한다.
+    private static final String VERSION = "v1";
+
+    private final String consumptionPatternId;
+    // 각 값은 구간 하한
+    private final int overConsumption;
+    private final int variation;
+    private final int extrovert;
+    private final int spendingBand;
+    // 카테고리 -> 지출 비중 구간 하한(%), 비중 내림차순
+    private final Map<String, Integer> categoryShares;
+    private final Granularity granularity;
+
+    private ReportProfile(String consumptionPatternId, int overConsumption, int variation, int extrovert,
+                          int spendingBand, Map<String, Integer> categoryShares, Granularity granularity) {
+        this.consumptionPatternId = consumptionPatternId;
+        this.overConsumption = overConsumption;
+        this.variation = variation;
+        this.extrovert = extrovert;
+        this.spendingBand = spendingBand;
+        this.categoryShares = categoryShares;
+        this.granularity = granularity;
+    }
+
+    public static ReportProfile of(String consumptionPatternId, int[] pattern,
+                                   List<ReportCategoryDTO> spendingByCategory, Granularity granularity) {
+        long totalSpending = 0;
+        for (ReportCategoryDTO row : spendingByCategory) {
+            totalSpending += Math.abs(row.getAmount());
+        }
+
+        Map<String, Integer> categoryShares = new LinkedHashMap<>();
+        if (totalSpending > 0) {
+            long total = totalSpending;
+            spendingByCategory.stream()
+                    .sorted(Comparator.comparingInt((ReportCategoryDTO row) -> Math.abs(row.getAmount())).reversed()
+                            .thenComparing(ReportCategoryDTO::getCategory))
+                    .limit(granularity.topCategories())
+                    .forEach(row -> {
+                        int share = bucket((int) (100 * Math.abs((long) row.getAmount()) / total), granularity.shareBucketPercent());
+                        // 구간 하한이 0 인 작은 비중은 프로필에서 제외
+                        if (share > 0) {
+                            categoryShares.put(row.getCategory(), share);
+                        }
+                    });
+        }
+
+        return new ReportProfile(
+                consumptionPatternId,
+                bucket(pattern[0], granularity.patternBucket()),
+                bucket(pattern[1], granularity.patternBucket()),
+                bucket(pattern[2], granularity.patternBucket()),
+                (int) Math.min(Integer.MAX_VALUE, totalSpending / granularity.spendingBandWon() * granularity.spendingBandWon()),
+                categoryShares,
+                granularity);
+    }
+
+    // 정렬 / 구분자가 고정된 문자열 표현 (해시 입력)
+    public String canonical() {
+        StringBuilder canonical = new StringBuilder(VERSION)
+                .append('|').append(granularity.patternBucket())
+                .append(',').append(granularity.shareBucketPercent())
+                .append(',').append(granularity.topCategories())
+                .append(',').append(granularity.spendingBandWon())
+                .append('|').append(consumptionPatternId)
+                .append("|o=").append(overConsumption)
+                .append("|v=").append(variation)
+                .append("|e=").append(extrovert)
+                .append("|band=").append(spendingBand)
+                .append('|');
+        categoryShares.forEach((category, share) -> canonical.append(category).append(':').append(share).append(';'));
+        return canonical.toString();
+    }
+
+    public String hash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static int bucket(int value, int size) {
+        return Math.floorDiv(value, size) * size;
+    }
+
+    // 프로필 구간 크기
+    public record Granularity(int patternBucket, int shareBucketPercent, int topCategories, int spendingBandWon) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.kkulmoo.rebirth.analysis.domain.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 결제 1건이 월별 리포트(요약 / 카드별 / 카드-카테고리별)에 더하는 값
+@Getter
+@Builder
+public class ReportDeltaDTO {
+    // 결제 후속 작업 이벤트 ID (중복 반영 방지)
+    private String eventId;
+    private Integer userId;
+    private Integer cardId;
+    private Integer categoryId;
+    private LocalDateTime createdAt;
+    // 카드사 승인 금액 (거래내역 amount 와 같은 값)
+    private Integer amount;
+    private Integer benefitAmount;
+}
@@ -0,0 +1,10 @@
+package com.kkulmoo.rebirth.analysis.domain.repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// 소비 프로필 해시 -> AI 요약 문구 (같은 프로필의 유저는 모델을 다시 호출하지 않고 재사용)
+public interface ReportSummaryCacheRepository {
+    Optional<String> find(String profileHash);
+    void save(String profileHash, String summary, Duration ttl);
+}
@@ -0,0 +1,40 @@
+package com.kkulmoo.rebirth.analysis.infrastructure.adapter;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// 소비 리포트 요약 모델 (요청마다 만들지 않고 하나를 공유)
+@Configuration
+@ConditionalOnProperty(name = "report.llm.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiReportModelConfig {
+
+    @Value("${report.llm.base-url}")
+    private String baseUrl;
+
+    @Value("${report.llm.api-key}")
+    private String apiKey;
+
+    @Value("${report.llm.model-name}")
+    private String modelName;
+
+    @Value("${report.llm.timeout-seconds}")
+    private long timeoutSeconds;
+
+    @Bean
+    public ChatLanguageModel reportChatModel() {
+        return OpenAiChatModel.builder()
+                .baseUrl(baseUrl)
+                .apiKey(apiKey)
+                .modelName(modelName)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                // 재시도는 리포트 큐(Outbox)에서 backoff 와 함께 처리
+                .maxRetries(0)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.kkulmoo.rebirth.analysis.infrastructure.adapter;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 로컬 / 부하 테스트용 모델. 외부 호출 없이 지연과 실패율만 흉내내고, 같은 질문에는 항상 같은 답을 준다.
+@Component
+@ConditionalOnProperty(name = "report.llm.provider", havingValue = "stub")
+@Slf4j
+public class StubReportModel implements ChatLanguageModel {
+
+    private static final List<String> TONES = List.of(
+            "이번 달은 차분하고 계획적인 소비가 돋보였어요.",
+            "이번 달은 조금 바쁘게 지갑이 열렸네요.",
+            "이번 달은 나를 위한 소비가 많았던 한 달이었어요.",
+            "이번 달은 생활에 꼭 필요한 곳 위주로 쓰셨어요.");
+
+    @Value("${report.llm.stub.latency-millis}")
+    private long latencyMillis;
+
+    @Value("${report.llm.stub.failure-rate}")
+    private double failureRate;
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("가짜 리포트 모델 호출 중단", e);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("가짜 리포트 모델 호출 실패");
+        }
+
+        String question = lastUserText(chatRequest.messages());
+        String answer = TONES.get(Math.floorMod(question.hashCode(), TONES.size()))
+                + " (요약 대상 " + question.lines().count() + "줄)";
+        log.debug("가짜 리포트 모델 응답 - {}", answer);
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(answer))
+                .build();
+    }
+
+    private String lastUserText(List<ChatMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) instanceof UserMessage userMessage && userMessage.hasSingleText()) {
+                return userMessage.singleText();
+            }
+        }
+        return "";
+    }
+}
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "monthly_transaction_summary")
+@Table(name = "monthly_transaction_summary", uniqueConstraints = {
+        // 결제 증분 반영(ON CONFLICT) 기준
+        @UniqueConstraint(name = "uk_monthly_transaction_summary_user_month", columnNames = {"user_id", "year", "month"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "report_card_categories")
+@Table(name = "report_card_categories", uniqueConstraints = {
+        // 결제 증분 반영(ON CONFLICT) 기준
+        @UniqueConstraint(name = "uk_report_card_categories_card_category", columnNames = {"report_card_id", "category_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
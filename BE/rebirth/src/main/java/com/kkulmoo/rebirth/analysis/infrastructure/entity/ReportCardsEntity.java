@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "report_cards")
+@Table(name = "report_cards", uniqueConstraints = {
+        // 결제 증분 반영(ON CONFLICT) 기준
+        @UniqueConstraint(name = "uk_report_cards_report_card", columnNames = {"report_id", "card_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,30 @@
+package com.kkulmoo.rebirth.analysis.infrastructure.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 리포트에 증분 반영한 결제 이벤트 (같은 이벤트가 다시 전달돼도 한 번만 더하기 위한 기록)
+// 증분 UPSERT 와 같은 트랜잭션에서 기록한다.
+@Entity
+@Table(name = "report_delta_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDeltaEventEntity {
+
+    @Id
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -3,10 +3,23 @@ package com.kkulmoo.rebirth.analysis.infrastructure.repository;
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyConsumptionReportEntity;
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyTransactionSummaryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface MonthlyConsumptionReportJpaRepository extends JpaRepository<MonthlyConsumptionReportEntity, Integer> {
 
     MonthlyConsumptionReportEntity getByReport(MonthlyTransactionSummaryEntity report);
+
+    // AI 요약 문구만 갱신 (리포트는 먼저 저장되고 요약은 생성되는 대로 붙는다)
+    @Modifying
+    @Transactional
+    @Query("UPDATE MonthlyConsumptionReportEntity mcr " +
+            "SET mcr.reportDescription = :reportDescription " +
+            "WHERE mcr.reportId = :reportId")
+    int updateReportDescription(@Param("reportId") int reportId,
+                                @Param("reportDescription") String reportDescription);
 }
@@ -2,10 +2,13 @@ package com.kkulmoo.rebirth.analysis.infrastructure.repository;
 
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyTransactionSummaryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -31,4 +34,57 @@ public interface MonthlyTransactionSummaryJpaRepository extends JpaRepository<Mo
                                   @Param("maxSpending") int maxSpending);
 
     List<MonthlyTransactionSummaryEntity> findByUserId(Integer userId);
+
+    // 결제 1건 증분 반영 (uk_monthly_transaction_summary_user_month), 리포트 ID 반환
+    @Query(value = """
+    INSERT INTO monthly_transaction_summary (user_id, year, month, total_spending, received_benefit_amount, created_at)
+    VALUES (:userId, :year, :month, :amount, :benefitAmount, now())
+    ON CONFLICT (user_id, year, month) DO UPDATE
+    SET total_spending = monthly_transaction_summary.total_spending + EXCLUDED.total_spending,
+        received_benefit_amount = monthly_transaction_summary.received_benefit_amount + EXCLUDED.received_benefit_amount
+    RETURNING report_id
+    """, nativeQuery = true)
+    Integer upsertDelta(@Param("userId") int userId,
+                        @Param("year") int year,
+                        @Param("month") int month,
+                        @Param("amount") int amount,
+                        @Param("benefitAmount") int benefitAmount);
+
+    // 기간 [fromMonth, toMonth) 의 월별 요약을 거래내역 집계로 다시 채운다. (거래가 없는 달은 0)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH spending AS (" + ReportSql.MONTHLY_SPENDING + "), " + """
+    months AS (
+        SELECT generate_series(CAST(:fromMonth AS timestamp),
+                               CAST(:toMonth AS timestamp) - INTERVAL '1 month',
+                               INTERVAL '1 month') AS month_start
+    )
+    INSERT INTO monthly_transaction_summary (user_id, year, month, total_spending, received_benefit_amount, created_at)
+    SELECT :userId,
+           EXTRACT(YEAR FROM mo.month_start),
+           EXTRACT(MONTH FROM mo.month_start),
+           COALESCE(SUM(s.amount), 0),
+           COALESCE(SUM(s.benefit_amount), 0),
+           now()
+    FROM months mo
+    LEFT JOIN spending s ON s.month_start = mo.month_start
+    GROUP BY mo.month_start
+    ON CONFLICT (user_id, year, month) DO UPDATE
+    SET total_spending = EXCLUDED.total_spending,
+        received_benefit_amount = EXCLUDED.received_benefit_amount
+    """, nativeQuery = true)
+    int rebuildRange(@Param("userId") int userId,
+                     @Param("fromMonth") LocalDateTime fromMonth,
+                     @Param("toMonth") LocalDateTime toMonth);
+
+    // 월 시작 시 빈 월별 요약 생성 (이미 있으면 그대로, 배치 재실행 시 중복 생성 방지)
+    @Modifying
+    @Transactional
+    @Query(value = """
+    INSERT INTO monthly_transaction_summary (user_id, year, month, total_spending, received_benefit_amount, created_at)
+    VALUES (:userId, :year, :month, 0, 0, now())
+    ON CONFLICT (user_id, year, month) DO NOTHING
+    """, nativeQuery = true)
+    int createEmptyIfAbsent(@Param("userId") int userId,
+                            @Param("year") int year,
+                            @Param("month") int month);
 }
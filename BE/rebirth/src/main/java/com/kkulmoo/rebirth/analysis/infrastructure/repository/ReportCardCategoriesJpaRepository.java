@@ -5,10 +5,12 @@ import com.kkulmoo.rebirth.analysis.infrastructure.entity.ReportCardCategoriesEn
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.ReportCardsEntity;
 import com.kkulmoo.rebirth.recommend.domain.dto.response.AvgAmountByCategoryDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -58,4 +60,51 @@ public interface ReportCardCategoriesJpaRepository extends JpaRepository<ReportC
     LIMIT 5
     """, nativeQuery = true)
     List<AvgAmountByCategoryDTO> getCategorySpendingLast3Months(Integer userId);
+
+    // 결제 1건 증분 반영 (uk_report_card_categories_card_category)
+    @Modifying
+    @Query(value = """
+    INSERT INTO report_card_categories (report_card_id, category_id, amount, received_benefit_amount, count, created_at)
+    VALUES (:reportCardId, :categoryId, :amount, :benefitAmount, 1, now())
+    ON CONFLICT (report_card_id, category_id) DO UPDATE
+    SET amount = report_card_categories.amount + EXCLUDED.amount,
+        received_benefit_amount = report_card_categories.received_benefit_amount + EXCLUDED.received_benefit_amount,
+        count = report_card_categories.count + 1
+    """, nativeQuery = true)
+    int upsertDelta(@Param("reportCardId") int reportCardId,
+                    @Param("categoryId") int categoryId,
+                    @Param("amount") int amount,
+                    @Param("benefitAmount") int benefitAmount);
+
+    // 기간 [fromMonth, toMonth) 리포트 카드의 카테고리 행 삭제 (rebuildRange 전에 호출해 사라진 카테고리를 정리)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    DELETE FROM report_card_categories rcc
+    USING report_cards rc, monthly_transaction_summary mts
+    WHERE rcc.report_card_id = rc.report_card_id
+      AND rc.report_id = mts.report_id
+      AND mts.user_id = :userId
+      AND\s""" + ReportSql.REPORT_IN_RANGE, nativeQuery = true)
+    int deleteRange(@Param("userId") int userId,
+                    @Param("fromMonth") LocalDateTime fromMonth,
+                    @Param("toMonth") LocalDateTime toMonth);
+
+    // 기간 [fromMonth, toMonth) 의 카드-카테고리별 리포트를 거래내역 집계로 채운다.
+    // 리포트 카드(ReportCardsJpaRepository.rebuildRange)를 먼저 채운 뒤 호출
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH spending AS (" + ReportSql.MONTHLY_SPENDING + ") " + """
+    INSERT INTO report_card_categories (report_card_id, category_id, amount, received_benefit_amount, count, created_at)
+    SELECT rc.report_card_id, s.category_id, s.amount, s.benefit_amount, s.transaction_count, now()
+    FROM spending s
+    JOIN monthly_transaction_summary mts
+      ON mts.user_id = :userId AND make_date(mts.year, mts.month, 1) = s.month_start
+    JOIN report_cards rc ON rc.report_id = mts.report_id AND rc.card_id = s.card_id
+    ON CONFLICT (report_card_id, category_id) DO UPDATE
+    SET amount = EXCLUDED.amount,
+        received_benefit_amount = EXCLUDED.received_benefit_amount,
+        count = EXCLUDED.count
+    """, nativeQuery = true)
+    int rebuildRange(@Param("userId") int userId,
+                     @Param("fromMonth") LocalDateTime fromMonth,
+                     @Param("toMonth") LocalDateTime toMonth);
 }
@@ -3,9 +3,13 @@ package com.kkulmoo.rebirth.analysis.infrastructure.repository;
 import com.kkulmoo.rebirth.analysis.domain.dto.response.MainCardSummaryDTO;
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.ReportCardsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +43,104 @@ public interface ReportCardsJpaRepository extends JpaRepository<ReportCardsEntit
             "AND rc.cardId = :cardId")
     Optional<ReportCardsEntity> getByUserIdAndCardIdAndYearAndMonth(Integer userId, Integer cardId, Integer year, Integer month);
 
+    @Query("SELECT rc " +
+            "FROM ReportCardsEntity rc " +
+            "JOIN MonthlyTransactionSummaryEntity mts ON mts.reportId = rc.reportId " +
+            "WHERE mts.userId = :userId " +
+            "AND mts.year = :year " +
+            "AND mts.month = :month")
+    List<ReportCardsEntity> getReportCardsByUserIdAndYearAndMonth(Integer userId, Integer year, Integer month);
+
+    // 결제 1건 증분 반영 (uk_report_cards_report_card), 리포트 카드 ID 반환
+    // 실적 구간 = 누적 사용액(절댓값) 이상인 performance_range 구간 수 (오름차순 구간 기준, 전체 재계산과 같은 값)
+    @Query(value = """
+    INSERT INTO report_cards (report_id, card_id, month_spending_amount, month_benefit_amount, spending_tier, created_at)
+    VALUES (:reportId, :cardId, :amount, :benefitAmount,
+            (SELECT CAST(COUNT(*) AS SMALLINT)
+             FROM cards c
+             JOIN card_templates ct ON ct.card_template_id = c.card_template_id
+             CROSS JOIN unnest(ct.performance_range) AS point
+             WHERE c.card_id = :cardId AND point <= ABS(:amount)),
+            now())
+    ON CONFLICT (report_id, card_id) DO UPDATE
+    SET month_spending_amount = report_cards.month_spending_amount + EXCLUDED.month_spending_amount,
+        month_benefit_amount = report_cards.month_benefit_amount + EXCLUDED.month_benefit_amount,
+        spending_tier = (SELECT CAST(COUNT(*) AS SMALLINT)
+                         FROM cards c
+                         JOIN card_templates ct ON ct.card_template_id = c.card_template_id
+                         CROSS JOIN unnest(ct.performance_range) AS point
+                         WHERE c.card_id = EXCLUDED.card_id
+                           AND point <= ABS(report_cards.month_spending_amount + EXCLUDED.month_spending_amount))
+    RETURNING report_card_id
+    """, nativeQuery = true)
+    Integer upsertDelta(@Param("reportId") int reportId,
+                        @Param("cardId") int cardId,
+                        @Param("amount") int amount,
+                        @Param("benefitAmount") int benefitAmount);
+
+    // 기간 [fromMonth, toMonth) 의 월별 요약마다 유저 보유 카드 전체의 리포트 카드를 다시 채운다. (사용 없는 카드는 0)
+    // 월별 요약(rebuildRange)을 먼저 채운 뒤 호출
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH spending AS (" + ReportSql.MONTHLY_SPENDING + "), " + """
+    card_spending AS (
+        SELECT month_start, card_id, SUM(amount) AS amount, SUM(benefit_amount) AS benefit_amount
+        FROM spending
+        GROUP BY month_start, card_id
+    )
+    INSERT INTO report_cards (report_id, card_id, month_spending_amount, month_benefit_amount, spending_tier, created_at)
+    SELECT mts.report_id,
+           cd.card_id,
+           COALESCE(cs.amount, 0),
+           COALESCE(cs.benefit_amount, 0),
+           (SELECT CAST(COUNT(*) AS SMALLINT)
+            FROM unnest(ct.performance_range) AS point
+            WHERE point <= ABS(COALESCE(cs.amount, 0))),
+           now()
+    FROM monthly_transaction_summary mts
+    JOIN cards cd ON cd.user_id = mts.user_id
+    JOIN card_templates ct ON ct.card_template_id = cd.card_template_id
+    LEFT JOIN card_spending cs ON cs.card_id = cd.card_id AND cs.month_start = make_date(mts.year, mts.month, 1)
+    WHERE mts.user_id = :userId
+      AND\s""" + ReportSql.REPORT_IN_RANGE + """
+    ON CONFLICT (report_id, card_id) DO UPDATE
+    SET month_spending_amount = EXCLUDED.month_spending_amount,
+        month_benefit_amount = EXCLUDED.month_benefit_amount,
+        spending_tier = EXCLUDED.spending_tier
+    """, nativeQuery = true)
+    int rebuildRange(@Param("userId") int userId,
+                     @Param("fromMonth") LocalDateTime fromMonth,
+                     @Param("toMonth") LocalDateTime toMonth);
+
+    // 해당 월 리포트 카드의 실적 구간을 보유 카드에 반영
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    UPDATE cards cd
+    SET spending_tier = rc.spending_tier
+    FROM report_cards rc
+    JOIN monthly_transaction_summary mts ON mts.report_id = rc.report_id
+    WHERE rc.card_id = cd.card_id
+      AND mts.user_id = :userId
+      AND mts.year = :year
+      AND mts.month = :month
+    """, nativeQuery = true)
+    int applySpendingTierToCards(@Param("userId") int userId,
+                                 @Param("year") int year,
+                                 @Param("month") int month);
+
+    // 월 시작 시 보유 카드별 빈 리포트 카드 생성 (이미 있는 카드는 그대로)
+    @Modifying
+    @Transactional
+    @Query(value = """
+    INSERT INTO report_cards (report_id, card_id, month_spending_amount, month_benefit_amount, spending_tier, created_at)
+    SELECT mts.report_id, cd.card_id, 0, 0, 0, now()
+    FROM monthly_transaction_summary mts
+    JOIN cards cd ON cd.user_id = mts.user_id
+    WHERE mts.user_id = :userId
+      AND mts.year = :year
+      AND mts.month = :month
+    ON CONFLICT (report_id, card_id) DO NOTHING
+    """, nativeQuery = true)
+    int createEmptyForCardsIfAbsent(@Param("userId") int userId,
+                                    @Param("year") int year,
+                                    @Param("month") int month);
 }
@@ -0,0 +1,35 @@
+package com.kkulmoo.rebirth.analysis.infrastructure.repository;
+
+// 리포트 일괄 재계산 쿼리에서 같이 쓰는 SQL 조각
+final class ReportSql {
+
+    // 기간 [:fromMonth, :toMonth) 의 승인 거래를 (월, 카드, 카테고리) 단위로 집계
+    // TransactionsJpaRepository.getMonthlySpendingByCategoryAndCard 와 같은 기준
+    static final String MONTHLY_SPENDING = """
+            SELECT date_trunc('month', t.created_at) AS month_start,
+                   cd.card_id,
+                   sc.category_id,
+                   SUM(t.amount) AS amount,
+                   COALESCE(SUM(ct.benefit_amount), 0) AS benefit_amount,
+                   COUNT(t.transaction_id) AS transaction_count
+            FROM transactions t
+            JOIN card_transactions ct ON ct.transaction_id = t.transaction_id
+            JOIN cards cd ON cd.card_unique_number = ct.card_unique_number AND cd.user_id = :userId
+            JOIN merchants m ON m.merchant_id = ct.merchant_id
+            JOIN subcategory sc ON sc.subcategory_id = m.subcategory_id
+            WHERE t.user_id = :userId
+              AND t.created_at >= :fromMonth
+              AND t.created_at < :toMonth
+              AND ct.status = 'APPROVED'
+            GROUP BY date_trunc('month', t.created_at), cd.card_id, sc.category_id
+            """;
+
+    // 리포트 월(year, month)이 기간 [:fromMonth, :toMonth) 안에 있는지
+    static final String REPORT_IN_RANGE = """
+            make_date(mts.year, mts.month, 1) >= CAST(:fromMonth AS date)
+            AND make_date(mts.year, mts.month, 1) < CAST(:toMonth AS date)
+            """;
+
+    private ReportSql() {
+    }
+}
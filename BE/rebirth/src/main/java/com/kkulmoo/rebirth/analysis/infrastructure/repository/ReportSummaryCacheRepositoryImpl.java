@@ -0,0 +1,28 @@
+package com.kkulmoo.rebirth.analysis.infrastructure.repository;
+
+import com.kkulmoo.rebirth.analysis.domain.repository.ReportSummaryCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class ReportSummaryCacheRepositoryImpl implements ReportSummaryCacheRepository {
+
+    private static final String SUMMARY_PREFIX = "REPORT:SUMMARY:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public Optional<String> find(String profileHash) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(SUMMARY_PREFIX + profileHash));
+    }
+
+    @Override
+    public void save(String profileHash, String summary, Duration ttl) {
+        redisTemplate.opsForValue().set(SUMMARY_PREFIX + profileHash, summary, ttl);
+    }
+}
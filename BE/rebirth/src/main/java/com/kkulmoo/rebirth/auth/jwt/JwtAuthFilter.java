@@ -1,5 +1,6 @@
 package com.kkulmoo.rebirth.auth.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,10 +28,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = extractTokenFromRequest(request);
 
-        if(token != null && jwtProvider.validateToken(token)){
-            Integer userId = jwtProvider.getUserIdFromToken(token);
+        // 요청당 한 번만 검증하고, claims는 인증 정보(details)에 담아 이후 단계에서 재사용
+        Claims claims = token != null ? jwtProvider.parseVerifiedClaims(token) : null;
+        if(claims != null){
+            Integer userId = jwtProvider.getUserId(claims);
             if(userId != null){
-                Authentication authentication = createAuthentication(userId);
+                Authentication authentication = createAuthentication(userId, claims);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
@@ -45,18 +48,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private Authentication createAuthentication(Integer userId){
+    private Authentication createAuthentication(Integer userId, Claims claims){
         UserDetails userDetails = new User(
                 userId.toString(),
                 "",
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
 
-        return new UsernamePasswordAuthenticationToken(
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                 userDetails,
                 null,
                 userDetails.getAuthorities()
         );
+        authentication.setDetails(claims);
+        return authentication;
 
     }
 }
\ No newline at end of file
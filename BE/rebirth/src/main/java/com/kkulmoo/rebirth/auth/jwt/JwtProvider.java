@@ -1,7 +1,11 @@
 package com.kkulmoo.rebirth.auth.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.kkulmoo.rebirth.user.domain.UserId;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -11,7 +15,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -24,26 +33,66 @@ public class JwtProvider {
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.cache.max-size}")
+    private long cacheMaxSize;
+
+    @Value("${jwt.cache.max-ttl-millis}")
+    private long cacheMaxTtlMillis;
+
     private SecretKey key;
 
+    // JwtParser는 불변이라 스레드 간 공유 가능 -> 한 번만 만든다
+    private JwtParser parser;
+
+    // 토큰 해시 -> 검증된 claims. 같은 앱 세션의 반복 요청은 서명 검증 없이 통과
+    private Cache<String, Claims> verifiedTokens;
+
     @PostConstruct
     public void init() {
         key = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ClaimsExpiry())
+                .build();
+    }
+
+    /**
+     * 서명 / 만료 검증 후 claims 반환 (유효하지 않으면 null)
+     */
+    public Claims parseVerifiedClaims(String token) {
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(cacheKey, claims);
+            return claims;
+        } catch (Exception e) {
+            log.warn("Invalid JWT: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
      * token에서 userId 추출
      */
     public Integer getUserIdFromToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+        return getUserId(parseVerifiedClaims(token));
+    }
 
+    public Integer getUserId(Claims claims) {
+        if (claims == null) {
+            return null;
+        }
+        try {
             return Integer.parseInt(claims.getId());
-        } catch (Exception e) {
+        } catch (NumberFormatException e) {
             log.error("Token parsing error: {}", e.getMessage());
             return null;
         }
@@ -53,16 +102,7 @@ public class JwtProvider {
      * 토큰 검증
      */
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            log.warn("Invalid JWT: {}", e.getMessage());
-            return false;
-        }
+        return parseVerifiedClaims(token) != null;
     }
 
     /**
@@ -79,4 +119,38 @@ public class JwtProvider {
                 .signWith(key)
                 .compact();
     }
-}
\ No newline at end of file
+
+    // 원문 토큰 대신 SHA-256 해시를 키로 보관
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // 캐시 TTL = min(토큰 만료까지 남은 시간, max-ttl)
+    private class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long ttlMillis = cacheMaxTtlMillis;
+            Date expiration = claims.getExpiration();
+            if (expiration != null) {
+                ttlMillis = Math.min(ttlMillis, expiration.getTime() - System.currentTimeMillis());
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.kkulmoo.rebirth.auth.jwt;
 
 import com.kkulmoo.rebirth.common.annotation.JwtUserId;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -28,6 +31,12 @@ public class JwtUserIdArgumentResolver implements HandlerMethodArgumentResolver
                                    ModelAndViewContainer mavContainer,
                                    NativeWebRequest webRequest,
                                    WebDataBinderFactory binderFactory) throws Exception {
+        // JwtAuthFilter에서 이미 검증한 claims 재사용
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof Claims claims) {
+            return jwtProvider.getUserId(claims);
+        }
+
         String token = ((HttpServletRequest) webRequest.getNativeRequest()).getHeader("Authorization");
         if (token != null && token.startsWith("Bearer ")) {
             String jwt = token.substring(7);
@@ -24,4 +24,8 @@ public interface BenefitJpaRepository extends JpaRepository<BenefitTemplateEntit
 
 
     List<BenefitTemplateEntity> findByCardTemplate_CardTemplateId(Integer cardTemplateId);
+
+    // 혜택 규칙 인덱스 생성용 전체 조회
+    @Query("SELECT b FROM BenefitTemplateEntity b JOIN FETCH b.cardTemplate ORDER BY b.benefitTemplateId")
+    List<BenefitTemplateEntity> findAllWithCardTemplate();
 }
@@ -5,7 +5,10 @@ import com.kkulmoo.rebirth.card.domain.BenefitTemplate;
 import com.kkulmoo.rebirth.card.infrastructure.entity.BenefitTemplateEntity;
 import com.kkulmoo.rebirth.card.infrastructure.mapper.BenefitTemplateEntityMapper;
 import com.kkulmoo.rebirth.payment.application.BenefitInfo;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,11 +16,41 @@ import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class BenefitRepositoryImpl implements BenefitRepository {
 
     private final BenefitJpaRepository benefitJpaRepository;
     private final BenefitTemplateEntityMapper benefitTemplateMapper;
 
+    // 결제마다 실행되던 혜택 조건 쿼리를 대신하는 메모리 인덱스 (갱신 시 통째로 교체)
+    private volatile BenefitRuleIndex benefitRuleIndex;
+
+    @PostConstruct
+    public void init() {
+        try {
+            refreshBenefitRuleIndex();
+        } catch (RuntimeException e) {
+            // 인덱스가 없으면 DB 쿼리로 조회하므로 기동은 계속 진행
+            log.error("혜택 규칙 인덱스 생성 실패", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${benefit.rule-index.refresh-millis}", initialDelayString = "${benefit.rule-index.refresh-millis}")
+    public void refreshBenefitRuleIndex() {
+        long startTime = System.currentTimeMillis();
+
+        List<BenefitInfo> benefitInfos = benefitJpaRepository.findAllWithCardTemplate().stream()
+                .map(entity -> toBenefitInfo(entity, entity.getCardTemplate().getCardTemplateId()))
+                .collect(Collectors.toList());
+        BenefitRuleIndex newIndex = BenefitRuleIndex.build(benefitInfos);
+
+        benefitRuleIndex = newIndex;
+
+        long endTime = System.currentTimeMillis();
+        log.info("혜택 규칙 인덱스 갱신 완료. 소요시간: {}ms, 카드 템플릿 수: {}, 혜택 수: {}",
+                (endTime - startTime), newIndex.getCardTemplateCount(), newIndex.getRuleCount());
+    }
+
     @Override
     public List<BenefitTemplate> findByTemplateId(Integer cardTemplateId) {
         List<BenefitTemplateEntity> entities = benefitJpaRepository.findByCardTemplate_CardTemplateId(cardTemplateId);
@@ -26,24 +59,32 @@ public class BenefitRepositoryImpl implements BenefitRepository {
 
     @Override
     public List<BenefitInfo> findBenefitsByMerchantFilter(int cardTemplateId, int categoryId, int subcategoryId, int merchantId) {
+        BenefitRuleIndex index = benefitRuleIndex;
+        if (index != null) {
+            return index.findApplicableBenefits(cardTemplateId, categoryId, subcategoryId, merchantId);
+        }
         return benefitJpaRepository.findBenefitsByTypeCondition(cardTemplateId, categoryId, subcategoryId, merchantId).stream()
-                .map(entity -> BenefitInfo.builder()
-                        .benefitId(entity.getBenefitTemplateId())
-                        .cardTemplateId(cardTemplateId)
-                        .benefitType(entity.getBenefitType())
-                        .benefitConditionType(entity.getBenefitConditionType())
-                        .merchantInfo(entity.getMerchantInfo())
-                        .merchantFilterType(entity.getMerchantFilterType())
-                        .merchantList(entity.getMerchantList())
-                        .performanceRange(entity.getPerformanceRange())
-                        .paymentRange(entity.getPaymentRange())
-                        .benefitsBySection(entity.getBenefitsBySection())
-                        .benefitUsageAmount(entity.getBenefitUsageAmount())
-                        .benefitUsageLimit(entity.getBenefitUsageLimit())
-                        .categoryId(entity.getCategoryIds())
-                        .subcategoryId(entity.getSubcategoryIds())
-                        .discountType(entity.getDiscountType())
-                        .build())
+                .map(entity -> toBenefitInfo(entity, cardTemplateId))
                 .collect(Collectors.toList());
     }
+
+    private BenefitInfo toBenefitInfo(BenefitTemplateEntity entity, int cardTemplateId) {
+        return BenefitInfo.builder()
+                .benefitId(entity.getBenefitTemplateId())
+                .cardTemplateId(cardTemplateId)
+                .benefitType(entity.getBenefitType())
+                .benefitConditionType(entity.getBenefitConditionType())
+                .merchantInfo(entity.getMerchantInfo())
+                .merchantFilterType(entity.getMerchantFilterType())
+                .merchantList(entity.getMerchantList())
+                .performanceRange(entity.getPerformanceRange())
+                .paymentRange(entity.getPaymentRange())
+                .benefitsBySection(entity.getBenefitsBySection())
+                .benefitUsageAmount(entity.getBenefitUsageAmount())
+                .benefitUsageLimit(entity.getBenefitUsageLimit())
+                .categoryId(entity.getCategoryIds())
+                .subcategoryId(entity.getSubcategoryIds())
+                .discountType(entity.getDiscountType())
+                .build();
+    }
 }
@@ -0,0 +1,125 @@
+package com.kkulmoo.rebirth.card.infrastructure.repository;
+
+import com.kkulmoo.rebirth.payment.application.BenefitInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * benefit_templates 전체를 카드 템플릿 단위로 미리 컴파일해 둔 인덱스
+ * findBenefitsByTypeCondition 네이티브 쿼리와 같은 조건을 DB 조회 없이 판단한다.
+ * - merchant_filter_type 1 : 조건 없음
+ * - merchant_filter_type 2 : 카테고리 / 서브카테고리 BitSet
+ * - merchant_filter_type 3 : 정렬된 가맹점 ID 배열 (이진 탐색)
+ * 생성 후에는 변경되지 않으므로 통째로 교체하는 방식으로 갱신한다.
+ */
+public final class BenefitRuleIndex {
+
+    private static final short FILTER_ALL = 1;
+    private static final short FILTER_CATEGORY = 2;
+    private static final short FILTER_MERCHANT = 3;
+
+    private final Map<Integer, Rule[]> rulesByCardTemplate;
+    private final int ruleCount;
+
+    private BenefitRuleIndex(Map<Integer, Rule[]> rulesByCardTemplate, int ruleCount) {
+        this.rulesByCardTemplate = rulesByCardTemplate;
+        this.ruleCount = ruleCount;
+    }
+
+    public static BenefitRuleIndex build(List<BenefitInfo> benefitInfos) {
+        Map<Integer, List<Rule>> grouped = new HashMap<>();
+        for (BenefitInfo benefitInfo : benefitInfos) {
+            grouped.computeIfAbsent(benefitInfo.getCardTemplateId(), id -> new ArrayList<>())
+                    .add(new Rule(benefitInfo));
+        }
+
+        Map<Integer, Rule[]> rulesByCardTemplate = new HashMap<>(grouped.size() * 2);
+        for (Map.Entry<Integer, List<Rule>> entry : grouped.entrySet()) {
+            rulesByCardTemplate.put(entry.getKey(), entry.getValue().toArray(new Rule[0]));
+        }
+        return new BenefitRuleIndex(rulesByCardTemplate, benefitInfos.size());
+    }
+
+    public List<BenefitInfo> findApplicableBenefits(int cardTemplateId, int categoryId, int subcategoryId, int merchantId) {
+        Rule[] rules = rulesByCardTemplate.get(cardTemplateId);
+        if (rules == null) {
+            return Collections.emptyList();
+        }
+
+        List<BenefitInfo> result = new ArrayList<>(rules.length);
+        for (Rule rule : rules) {
+            if (rule.matches(categoryId, subcategoryId, merchantId)) {
+                result.add(rule.benefitInfo);
+            }
+        }
+        return result;
+    }
+
+    public int getCardTemplateCount() {
+        return rulesByCardTemplate.size();
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static final class Rule {
+        private final BenefitInfo benefitInfo;
+        private final short filterType;
+        private final BitSet categories;
+        private final BitSet subcategories;
+        private final int[] merchants;
+
+        private Rule(BenefitInfo benefitInfo) {
+            this.benefitInfo = benefitInfo;
+            this.filterType = benefitInfo.getMerchantFilterType() != null ? benefitInfo.getMerchantFilterType() : 0;
+            this.categories = toBitSet(benefitInfo.getCategoryId());
+            this.subcategories = toBitSet(benefitInfo.getSubcategoryId());
+            this.merchants = toSortedArray(benefitInfo.getMerchantList());
+        }
+
+        private boolean matches(int categoryId, int subcategoryId, int merchantId) {
+            switch (filterType) {
+                case FILTER_ALL:
+                    return true;
+                case FILTER_CATEGORY:
+                    return (subcategoryId >= 0 && subcategories.get(subcategoryId))
+                            || (categoryId >= 0 && categories.get(categoryId));
+                case FILTER_MERCHANT:
+                    return Arrays.binarySearch(merchants, merchantId) >= 0;
+                default:
+                    return false;
+            }
+        }
+
+        private static BitSet toBitSet(List<Integer> ids) {
+            BitSet bitSet = new BitSet();
+            if (ids != null) {
+                for (Integer id : ids) {
+                    if (id != null && id >= 0) {
+                        bitSet.set(id);
+                    }
+                }
+            }
+            return bitSet;
+        }
+
+        private static int[] toSortedArray(List<Integer> ids) {
+            if (ids == null) {
+                return new int[0];
+            }
+            int[] array = ids.stream()
+                    .filter(id -> id != null)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            Arrays.sort(array);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.kkulmoo.rebirth.common.batch;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 배치 작업 1회 실행(job_name + run_key)의 유저 ID 구간 하나 [from_user_id, to_user_id)
+// last_user_id 까지 처리가 끝났다는 체크포인트와, 구간을 맡은 인스턴스의 lease 를 같이 보관한다.
+@Entity
+@Table(name = "batch_job_partitions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_batch_job_partitions_job_run_partition", columnNames = {"job_name", "run_key", "partition_no"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobPartitionEntity {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    @Column(name = "job_name", nullable = false, length = 50)
+    private String jobName;
+
+    // 같은 작업의 실행 구분값 (월 작업은 대상 월, 예: 2025-03)
+    @Column(name = "run_key", nullable = false, length = 20)
+    private String runKey;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    @Column(name = "from_user_id", nullable = false)
+    private Integer fromUserId;
+
+    @Column(name = "to_user_id", nullable = false)
+    private Integer toUserId;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    // 체크포인트: 이 ID 까지 처리 완료
+    @Column(name = "last_user_id", nullable = false)
+    private Integer lastUserId;
+
+    @Column(name = "processed_count", nullable = false)
+    private Integer processedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
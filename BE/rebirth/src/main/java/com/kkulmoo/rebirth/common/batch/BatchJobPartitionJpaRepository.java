@@ -0,0 +1,132 @@
+package com.kkulmoo.rebirth.common.batch;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface BatchJobPartitionJpaRepository extends JpaRepository<BatchJobPartitionEntity, Integer> {
+
+    // 구간 등록 (여러 인스턴스가 동시에 등록해도 하나만 생긴다)
+    @Modifying
+    @Transactional
+    @Query(value = """
+    INSERT INTO batch_job_partitions (job_name, run_key, partition_no, from_user_id, to_user_id, status,
+                                      last_user_id, processed_count, failed_count, attempts, updated_at)
+    VALUES (:jobName, :runKey, :partitionNo, :fromUserId, :toUserId, 'PENDING', :fromUserId - 1, 0, 0, 0, now())
+    ON CONFLICT (job_name, run_key, partition_no) DO NOTHING
+    """, nativeQuery = true)
+    int createIfAbsent(@Param("jobName") String jobName,
+                       @Param("runKey") String runKey,
+                       @Param("partitionNo") int partitionNo,
+                       @Param("fromUserId") int fromUserId,
+                       @Param("toUserId") int toUserId);
+
+    // 끝나지 않았고 lease 가 없거나 만료된 구간 하나를 가져온다. (SKIP LOCKED: 다른 인스턴스가 잡는 중인 행은 건너뜀)
+    @Transactional
+    @Query(value = """
+    UPDATE batch_job_partitions
+    SET status = 'RUNNING',
+        lease_owner = :owner,
+        lease_until = now() + make_interval(secs => :leaseSeconds),
+        attempts = attempts + 1,
+        updated_at = now()
+    WHERE partition_id = (
+        SELECT partition_id
+        FROM batch_job_partitions
+        WHERE job_name = :jobName
+          AND run_key = :runKey
+          AND status IN ('PENDING', 'RUNNING')
+          AND (lease_until IS NULL OR lease_until < now())
+          AND attempts < :maxAttempts
+        ORDER BY partition_no
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED
+    )
+    RETURNING partition_id
+    """, nativeQuery = true)
+    Optional<Integer> claim(@Param("jobName") String jobName,
+                            @Param("runKey") String runKey,
+                            @Param("owner") String owner,
+                            @Param("leaseSeconds") long leaseSeconds,
+                            @Param("maxAttempts") int maxAttempts);
+
+    // 체크포인트 저장 + lease 연장. 0 이면 lease 를 잃은 것 (만료 후 다른 인스턴스가 가져감)
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE batch_job_partitions
+    SET last_user_id = :lastUserId,
+        processed_count = processed_count + :processed,
+        failed_count = failed_count + :failed,
+        lease_until = now() + make_interval(secs => :leaseSeconds),
+        updated_at = now()
+    WHERE partition_id = :partitionId
+      AND lease_owner = :owner
+      AND status = 'RUNNING'
+    """, nativeQuery = true)
+    int checkpoint(@Param("partitionId") int partitionId,
+                   @Param("owner") String owner,
+                   @Param("lastUserId") int lastUserId,
+                   @Param("processed") int processed,
+                   @Param("failed") int failed,
+                   @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE batch_job_partitions
+    SET status = 'DONE', lease_owner = NULL, lease_until = NULL, updated_at = now()
+    WHERE partition_id = :partitionId
+      AND lease_owner = :owner
+    """, nativeQuery = true)
+    int complete(@Param("partitionId") int partitionId, @Param("owner") String owner);
+
+    // 구간 처리 중 오류: lease 를 풀어 다음 실행(다른 인스턴스 포함)이 체크포인트부터 이어가게 한다.
+    // 재시도 횟수를 다 쓴 구간은 FAILED 로 남긴다.
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE batch_job_partitions
+    SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+        lease_owner = NULL,
+        lease_until = NULL,
+        updated_at = now()
+    WHERE partition_id = :partitionId
+      AND lease_owner = :owner
+    """, nativeQuery = true)
+    int release(@Param("partitionId") int partitionId,
+                @Param("owner") String owner,
+                @Param("maxAttempts") int maxAttempts);
+
+    // 마지막 시도 중 lease 가 만료된 구간 (claim 은 attempts < maxAttempts 만 가져가므로 RUNNING 으로 남는다)
+    @Modifying
+    @Transactional
+    @Query(value = """
+    UPDATE batch_job_partitions
+    SET status = 'FAILED',
+        lease_owner = NULL,
+        lease_until = NULL,
+        updated_at = now()
+    WHERE job_name = :jobName
+      AND run_key = :runKey
+      AND status = 'RUNNING'
+      AND lease_until < now()
+      AND attempts >= :maxAttempts
+    """, nativeQuery = true)
+    int failExhausted(@Param("jobName") String jobName,
+                      @Param("runKey") String runKey,
+                      @Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT COUNT(p) " +
+            "FROM BatchJobPartitionEntity p " +
+            "WHERE p.jobName = :jobName " +
+            "AND p.runKey = :runKey " +
+            "AND p.status IN ('PENDING', 'RUNNING')")
+    long countUnfinished(@Param("jobName") String jobName, @Param("runKey") String runKey);
+}
@@ -0,0 +1,239 @@
+package com.kkulmoo.rebirth.common.batch;
+
+import com.kkulmoo.rebirth.common.cluster.ServerInstance;
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
+import com.kkulmoo.rebirth.user.infrastrucutre.repository.UserJpaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * 유저 단위 배치 작업 실행기
+ * - 유저를 ID 구간(partition-size)으로 나눠 batch_job_partitions 에 등록하고, 워커 풀(workers)이 구간을 하나씩 가져가 처리한다.
+ * - 구간을 가져갈 때 lease 를 잡고(SKIP LOCKED), 체크포인트마다 연장한다. lease 가 살아 있는 구간은 다른 인스턴스가 가져가지 않는다.
+ * - 체크포인트(last_user_id) 이후부터 이어서 처리하므로, 중단된 실행은 다시 run / resume 하면 남은 유저만 처리한다.
+ *   체크포인트 사이의 유저는 다시 처리될 수 있으므로 작업은 유저 단위로 멱등이어야 한다.
+ * - run / resume 은 실행을 배치 전용 스레드에 넘기고 바로 반환한다. (@Scheduled 스레드를 배치 시간 동안 잡지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionedBatchRunner {
+
+    private final BatchJobPartitionJpaRepository batchJobPartitionJpaRepository;
+    private final UserJpaRepository userJpaRepository;
+    private final WorkerThreadFactory workerThreadFactory;
+    private final ServerInstance serverInstance;
+
+    @Value("${batch.partition.size}")
+    private int partitionSize;
+
+    @Value("${batch.partition.workers}")
+    private int workers;
+
+    @Value("${batch.partition.page-size}")
+    private int pageSize;
+
+    @Value("${batch.partition.checkpoint-interval}")
+    private int checkpointInterval;
+
+    @Value("${batch.partition.lease-seconds}")
+    private long leaseSeconds;
+
+    @Value("${batch.partition.max-attempts}")
+    private int maxAttempts;
+
+    // 이 인스턴스에서 실행 중인 작업 (같은 작업을 스케줄 / resume 이 겹쳐 실행하지 않도록)
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    // 작업 하나당 스레드 하나 (워커 풀을 만들고 끝날 때까지 기다리는 역할)
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    public void init() {
+        jobExecutor = Executors.newCachedThreadPool(workerThreadFactory.create("batch-job-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    // 구간 등록 후 처리. 이미 등록된 실행이면 남은 구간만 처리한다.
+    public void run(String jobName, String runKey, IntConsumer task) {
+        planPartitions(jobName, runKey);
+        submit(jobName, runKey, task);
+    }
+
+    // 끝나지 않은 구간이 있는 실행만 이어서 처리 (등록된 실행이 없으면 아무것도 하지 않음)
+    public void resume(String jobName, String runKey, IntConsumer task) {
+        failExhausted(jobName, runKey);
+        if (batchJobPartitionJpaRepository.countUnfinished(jobName, runKey) > 0) {
+            log.info("배치 이어서 실행 - job: {}, run: {}", jobName, runKey);
+            submit(jobName, runKey, task);
+        }
+    }
+
+    private void planPartitions(String jobName, String runKey) {
+        Integer maxUserId = userJpaRepository.findMaxActiveUserId();
+        if (maxUserId == null) {
+            return;
+        }
+        int partitions = maxUserId / partitionSize + 1;
+        for (int partitionNo = 0; partitionNo < partitions; partitionNo++) {
+            batchJobPartitionJpaRepository.createIfAbsent(jobName, runKey, partitionNo,
+                    partitionNo * partitionSize, (partitionNo + 1) * partitionSize);
+        }
+        log.info("배치 구간 등록 - job: {}, run: {}, 구간 수: {}", jobName, runKey, partitions);
+    }
+
+    private void submit(String jobName, String runKey, IntConsumer task) {
+        String jobKey = jobName + ":" + runKey;
+        if (!runningJobs.add(jobKey)) {
+            log.info("이미 실행 중인 배치 - job: {}, run: {}", jobName, runKey);
+            return;
+        }
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    execute(jobName, runKey, task);
+                } catch (RuntimeException e) {
+                    log.error("배치 실행 실패 - job: {}, run: {}", jobName, runKey, e);
+                } finally {
+                    runningJobs.remove(jobKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            runningJobs.remove(jobKey);
+        }
+    }
+
+    // 마지막 시도의 lease 가 만료된 구간(인스턴스 종료 등)은 더 가져갈 수 없으므로 FAILED 로 정리한다.
+    private void failExhausted(String jobName, String runKey) {
+        int failed = batchJobPartitionJpaRepository.failExhausted(jobName, runKey, maxAttempts);
+        if (failed > 0) {
+            log.warn("재시도 횟수를 다 쓴 배치 구간 실패 처리 - job: {}, run: {}, 구간 수: {}", jobName, runKey, failed);
+        }
+    }
+
+    private void execute(String jobName, String runKey, IntConsumer task) {
+        failExhausted(jobName, runKey);
+        long startedAt = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+                workerThreadFactory.create("batch-" + jobName + "-"));
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                results.add(executor.submit(() -> work(jobName, runKey, task)));
+            }
+            int partitions = 0;
+            for (Future<Integer> result : results) {
+                partitions += awaitWorker(result);
+            }
+            log.info("배치 종료 - job: {}, run: {}, 처리 구간 수: {}, 소요시간: {}ms, 남은 구간 수: {}",
+                    jobName, runKey, partitions, System.currentTimeMillis() - startedAt,
+                    batchJobPartitionJpaRepository.countUnfinished(jobName, runKey));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int awaitWorker(Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            log.error("배치 워커 오류", e.getCause());
+            return 0;
+        }
+    }
+
+    // 워커: 가져갈 구간이 없을 때까지 반복
+    private int work(String jobName, String runKey, IntConsumer task) {
+        String owner = serverInstance.getInstanceId();
+        int partitions = 0;
+        Optional<Integer> claimed;
+        while (!Thread.currentThread().isInterrupted()
+                && (claimed = batchJobPartitionJpaRepository.claim(jobName, runKey, owner, leaseSeconds, maxAttempts)).isPresent()) {
+            int partitionId = claimed.get();
+            try {
+                processPartition(partitionId, owner, task);
+                partitions++;
+            } catch (RuntimeException e) {
+                log.error("배치 구간 처리 실패 - job: {}, run: {}, partitionId: {}", jobName, runKey, partitionId, e);
+                batchJobPartitionJpaRepository.release(partitionId, owner, maxAttempts);
+            }
+        }
+        return partitions;
+    }
+
+    private void processPartition(int partitionId, String owner, IntConsumer task) {
+        BatchJobPartitionEntity partition = batchJobPartitionJpaRepository.findById(partitionId)
+                .orElseThrow(() -> new IllegalStateException("배치 구간이 없습니다: " + partitionId));
+
+        int lastUserId = partition.getLastUserId();
+        int processed = 0;
+        int failed = 0;
+        long lastCheckpointAt = System.nanoTime();
+        // 느린 작업(외부 호출)에서도 lease 가 만료되기 전에 연장되도록 시간 기준 체크포인트도 둔다.
+        long checkpointNanos = TimeUnit.SECONDS.toNanos(leaseSeconds) / 3;
+
+        List<Integer> userIds;
+        while (!(userIds = userJpaRepository.findActiveUserIdsInRange(lastUserId, partition.getToUserId(), Limit.of(pageSize))).isEmpty()) {
+            for (int userId : userIds) {
+                try {
+                    task.accept(userId);
+                    processed++;
+                } catch (RuntimeException e) {
+                    // 한 유저의 실패로 구간 전체를 멈추지 않는다.
+                    log.warn("배치 유저 처리 실패 - partitionId: {}, userId: {}", partitionId, userId, e);
+                    failed++;
+                }
+                lastUserId = userId;
+
+                if (processed + failed >= checkpointInterval || System.nanoTime() - lastCheckpointAt > checkpointNanos) {
+                    checkpoint(partitionId, owner, lastUserId, processed, failed);
+                    processed = 0;
+                    failed = 0;
+                    lastCheckpointAt = System.nanoTime();
+                }
+            }
+        }
+
+        checkpoint(partitionId, owner, lastUserId, processed, failed);
+        batchJobPartitionJpaRepository.complete(partitionId, owner);
+    }
+
+    private void checkpoint(int partitionId, String owner, int lastUserId, int processed, int failed) {
+        if (batchJobPartitionJpaRepository.checkpoint(partitionId, owner, lastUserId, processed, failed, leaseSeconds) == 0) {
+            throw new LeaseLostException(partitionId);
+        }
+    }
+
+    // lease 가 만료되어 다른 인스턴스가 구간을 가져간 경우 (release 해도 owner 가 달라 영향 없음)
+    private static class LeaseLostException extends RuntimeException {
+        LeaseLostException(int partitionId) {
+            super("배치 구간 lease 를 잃었습니다: " + partitionId);
+        }
+    }
+}
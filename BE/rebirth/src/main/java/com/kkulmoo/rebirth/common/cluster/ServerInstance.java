@@ -0,0 +1,30 @@
+package com.kkulmoo.rebirth.common.cluster;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// 여러 서버 인스턴스가 Redis 자원(락, 채널 등)을 나눠 쓸 때 사용하는 인스턴스 식별자
+@Component
+@Slf4j
+@Getter
+public class ServerInstance {
+
+    private final String instanceId;
+
+    public ServerInstance() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        // 같은 호스트에서 재시작해도 이전 인스턴스와 구분되도록 랜덤 suffix 추가
+        this.instanceId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("서버 인스턴스 ID: {}", instanceId);
+    }
+}
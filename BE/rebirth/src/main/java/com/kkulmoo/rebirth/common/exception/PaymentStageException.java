@@ -0,0 +1,24 @@
+package com.kkulmoo.rebirth.common.exception;
+
+
+public class PaymentStageException extends RuntimeException {
+
+	// 메시지만 받는 생성자
+	public PaymentStageException(String message) {
+		super(message);
+	}
+
+	// 메시지와 원인 예외를 받는 생성자
+	public PaymentStageException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	// 단계가 취소(시간 초과, 다른 단계 실패)되어 interrupt 되었으면 더 진행하지 않는다.
+	public static void throwIfInterrupted(String stageName) {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new PaymentStageException("결제 단계 취소 - stage: " + stageName);
+		}
+	}
+
+
+}
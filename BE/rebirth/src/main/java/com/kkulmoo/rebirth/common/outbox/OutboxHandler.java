@@ -0,0 +1,8 @@
+package com.kkulmoo.rebirth.common.outbox;
+
+@FunctionalInterface
+public interface OutboxHandler {
+    // 예외가 발생하면 재시도되며, 최대 횟수를 넘기면 DLQ로 이동한다.
+    // InterruptedException 은 종료 신호로 보고 시도로 세지 않는다. (메시지는 PEL에 남음)
+    void handle(String payload) throws Exception;
+}
@@ -0,0 +1,32 @@
+package com.kkulmoo.rebirth.common.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Outbox 토픽 정의
+// 같은 partitionKey(ex. userId)의 이벤트는 항상 같은 샤드(스트림)에 들어가므로 순서가 보장된다.
+@Getter
+@RequiredArgsConstructor
+public class OutboxTopic {
+    private static final String KEY_PREFIX = "OUTBOX:";
+
+    private final String name;
+    private final int shards;
+    private final int maxAttempts;
+
+    public int shardOf(Object partitionKey) {
+        return Math.floorMod(partitionKey.hashCode(), shards);
+    }
+
+    public String streamKey(int shard) {
+        return KEY_PREFIX + name + ":" + shard;
+    }
+
+    public String leaseKey(int shard) {
+        return KEY_PREFIX + name + ":" + shard + ":LEASE";
+    }
+
+    public String deadLetterKey() {
+        return KEY_PREFIX + name + ":DLQ";
+    }
+}
@@ -0,0 +1,247 @@
+package com.kkulmoo.rebirth.common.outbox;
+
+import com.kkulmoo.rebirth.common.cluster.ServerInstance;
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Streams 기반 Outbox
+ * - 토픽은 N개의 샤드 스트림으로 나뉘고, 같은 partitionKey는 항상 같은 샤드로 들어간다.
+ * - 샤드마다 Redis lease를 잡은 인스턴스 하나만 소비하므로 샤드 내 순서가 보장된다.
+ * - 처리에 실패하면 같은 자리에서 backoff 재시도하고, 최대 횟수를 넘기면 DLQ 스트림으로 옮긴다.
+ * - ack 전에 인스턴스가 죽으면 메시지가 PEL에 남고, 다음 lease 소유자가 PEL부터 다시 처리한다(at-least-once).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RedisStreamOutbox {
+
+    private static final String GROUP = "rebirth";
+    private static final String FIELD_PAYLOAD = "payload";
+    private static final int BATCH_SIZE = 20;
+    private static final Duration READ_BLOCK = Duration.ofSeconds(2);
+    private static final Duration LEASE_TTL = Duration.ofSeconds(30);
+    private static final long LEASE_RETRY_MILLIS = 3000;
+    private static final long BASE_BACKOFF_MILLIS = 200;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
+    // lease 소유자일 때만 만료시간 연장
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+    // lease 소유자일 때만 삭제
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ServerInstance serverInstance;
+    private final WorkerThreadFactory workerThreadFactory;
+
+    private final List<ExecutorService> workers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    public RecordId append(OutboxTopic topic, Object partitionKey, String payload) {
+        String streamKey = topic.streamKey(topic.shardOf(partitionKey));
+        return redisTemplate.opsForStream().add(
+                StreamRecords.newRecord()
+                        .in(streamKey)
+                        .ofMap(Map.of(FIELD_PAYLOAD, payload)));
+    }
+
+    // 샤드마다 워커 스레드 하나를 띄워 토픽을 소비한다.
+    public void subscribe(OutboxTopic topic, OutboxHandler handler) {
+        ExecutorService executor = Executors.newFixedThreadPool(topic.getShards(),
+                workerThreadFactory.create("outbox-" + topic.getName() + "-"));
+        for (int shard = 0; shard < topic.getShards(); shard++) {
+            int target = shard;
+            executor.submit(() -> runShard(topic, handler, target));
+        }
+        workers.add(executor);
+        log.info("Outbox 구독 시작 - topic: {}, shards: {}", topic.getName(), topic.getShards());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (ExecutorService executor : workers) {
+            executor.shutdownNow();
+        }
+        for (ExecutorService executor : workers) {
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runShard(OutboxTopic topic, OutboxHandler handler, int shard) {
+        String streamKey = topic.streamKey(shard);
+        String leaseKey = topic.leaseKey(shard);
+        // lease를 가진 인스턴스만 읽으므로 consumer 이름은 샤드 기준으로 고정 (PEL 인계를 위해)
+        Consumer consumer = Consumer.from(GROUP, "shard-" + shard);
+
+        while (running) {
+            try {
+                if (!acquireLease(leaseKey)) {
+                    if (!sleep(LEASE_RETRY_MILLIS)) {
+                        return;
+                    }
+                    continue;
+                }
+                ensureGroup(streamKey);
+                log.info("Outbox lease 획득 - stream: {}, instance: {}", streamKey, serverInstance.getInstanceId());
+
+                // 이전 소유자가 ack하지 못한 메시지(PEL)부터 처리한 뒤 새 메시지를 읽는다.
+                boolean recovering = true;
+                while (running && renewLease(leaseKey)) {
+                    StreamReadOptions options = recovering
+                            ? StreamReadOptions.empty().count(BATCH_SIZE)
+                            : StreamReadOptions.empty().count(BATCH_SIZE).block(READ_BLOCK);
+                    ReadOffset offset = recovering ? ReadOffset.from("0") : ReadOffset.lastConsumed();
+
+                    // read(...) 가 StreamOffset 제네릭 가변인자를 받아 생기는 경고. 오프셋 1개만 넘기므로 힙 오염이 없다.
+                    @SuppressWarnings("unchecked")
+                    StreamOffset<String>[] offsets = new StreamOffset[]{StreamOffset.create(streamKey, offset)};
+                    List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                            .read(consumer, options, offsets);
+                    if (records == null || records.isEmpty()) {
+                        recovering = false;
+                        continue;
+                    }
+                    for (MapRecord<String, Object, Object> record : records) {
+                        if (!running || !renewLease(leaseKey) || !deliver(topic, handler, record)) {
+                            break;
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("Outbox 소비 오류 - stream: {}", streamKey, e);
+                if (!sleep(LEASE_RETRY_MILLIS)) {
+                    break;
+                }
+            }
+        }
+        releaseLease(leaseKey);
+    }
+
+    // 처리 완료(또는 DLQ 이동) 시 true, 종료 신호로 중단되면 false (메시지는 PEL에 남는다)
+    private boolean deliver(OutboxTopic topic, OutboxHandler handler, MapRecord<String, Object, Object> record) {
+        String streamKey = record.getStream();
+        String payload = (String) record.getValue().get(FIELD_PAYLOAD);
+        if (payload == null) {
+            // PEL에는 남아있지만 본문이 삭제된 메시지
+            redisTemplate.opsForStream().acknowledge(streamKey, GROUP, record.getId());
+            return true;
+        }
+
+        Exception lastError = null;
+        for (int attempt = 1; attempt <= topic.getMaxAttempts(); attempt++) {
+            try {
+                handler.handle(payload);
+                lastError = null;
+                break;
+            } catch (InterruptedException e) {
+                // 종료 중 중단: 시도로 세지 않고 ack 없이 PEL에 남겨 다음 소유자가 처리한다.
+                Thread.currentThread().interrupt();
+                log.info("Outbox 처리 중단 - stream: {}, id: {}", streamKey, record.getId());
+                return false;
+            } catch (Exception e) {
+                lastError = e;
+                log.warn("Outbox 처리 실패 - stream: {}, id: {}, attempt: {}/{}",
+                        streamKey, record.getId(), attempt, topic.getMaxAttempts(), e);
+                if (attempt < topic.getMaxAttempts() && !sleep(backoffMillis(attempt))) {
+                    return false;
+                }
+            }
+        }
+
+        if (lastError != null) {
+            log.error("Outbox DLQ 이동 - stream: {}, id: {}", streamKey, record.getId());
+            redisTemplate.opsForStream().add(
+                    StreamRecords.newRecord()
+                            .in(topic.deadLetterKey())
+                            .ofMap(Map.of(
+                                    "stream", streamKey,
+                                    "recordId", record.getId().getValue(),
+                                    FIELD_PAYLOAD, payload,
+                                    "error", String.valueOf(lastError.getMessage()))));
+        }
+
+        // 처리된 메시지는 스트림에 남겨둘 필요가 없으므로 ack 후 삭제
+        redisTemplate.opsForStream().acknowledge(streamKey, GROUP, record.getId());
+        redisTemplate.opsForStream().delete(streamKey, record.getId());
+        return true;
+    }
+
+    private void ensureGroup(String streamKey) {
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), GROUP);
+        } catch (DataAccessException e) {
+            // 이미 그룹이 있으면 BUSYGROUP 오류가 발생하므로 무시
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private boolean acquireLease(String leaseKey) {
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(leaseKey, serverInstance.getInstanceId(), LEASE_TTL);
+        return Boolean.TRUE.equals(acquired) || renewLease(leaseKey);
+    }
+
+    private boolean renewLease(String leaseKey) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(leaseKey),
+                serverInstance.getInstanceId(), String.valueOf(LEASE_TTL.toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    private void releaseLease(String leaseKey) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(leaseKey), serverInstance.getInstanceId());
+        } catch (Exception e) {
+            log.warn("Outbox lease 반납 실패 - key: {}", leaseKey, e);
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        return Math.min(BASE_BACKOFF_MILLIS << (attempt - 1), MAX_BACKOFF_MILLIS);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
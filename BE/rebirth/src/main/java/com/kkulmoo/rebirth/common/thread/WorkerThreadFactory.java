@@ -0,0 +1,29 @@
+package com.kkulmoo.rebirth.common.thread;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 서비스 내부 작업용 스레드 생성
+// spring.threads.virtual.enabled=true 이면 가상 스레드, 아니면 이름 붙은 데몬 플랫폼 스레드를 만든다.
+// (풀 크기로 동시 실행 수를 제한하는 것은 두 모드 모두 동일)
+@Component
+public class WorkerThreadFactory {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    public ThreadFactory create(String namePrefix) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(namePrefix, 0).factory();
+        }
+        AtomicInteger threadSeq = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadSeq.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
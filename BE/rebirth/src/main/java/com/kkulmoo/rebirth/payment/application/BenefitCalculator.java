@@ -0,0 +1,65 @@
+package com.kkulmoo.rebirth.payment.application;
+
+/**
+ * CompiledBenefitRule 기반 혜택 금액 계산
+ * BenefitService의 기존 계산(실적 구간, 결제 구간, 사용 횟수 / 금액 한도)과 결과가 같고,
+ * 계산 중에 객체를 만들지 않는다.
+ */
+public final class BenefitCalculator {
+
+    private BenefitCalculator() {
+    }
+
+    public static int calculate(CompiledBenefitRule rule, int amount, int spendingTier, int benefitCount, int usedBenefitAmount) {
+        if (spendingTier == 0) {
+            return 0;
+        }
+
+        double benefit = 0.0;
+        short conditionType = rule.getConditionType();
+        double[] sections = rule.getBenefitsBySection();
+        if (conditionType == 4 || conditionType == 1) {
+            if (sections.length >= spendingTier) {
+                benefit = sections[spendingTier - 1];
+            }
+        }
+        if (conditionType == 2 || (conditionType == 3 && spendingTier >= 1)) {
+            benefit = sectionBenefitByPaymentRange(rule, amount);
+        }
+        if (benefit == 0) {
+            return 0;
+        }
+
+        int[] usageLimit = rule.getUsageLimit();
+        if (usageLimit.length >= spendingTier && benefitCount >= usageLimit[spendingTier - 1]) {
+            return 0;
+        }
+
+        int totalAbleBenefitAmount = Integer.MAX_VALUE;
+        int[] usageAmount = rule.getUsageAmount();
+        if (usageAmount.length >= spendingTier) {
+            totalAbleBenefitAmount = usageAmount[spendingTier - 1];
+        }
+        if (usedBenefitAmount >= totalAbleBenefitAmount) {
+            return 0;
+        }
+
+        int remain = totalAbleBenefitAmount - usedBenefitAmount;
+        if (rule.isAmountDiscount()) {
+            return Math.min((int) benefit, remain);
+        }
+        return Math.min((int) (amount * benefit / 100), remain);
+    }
+
+    // 결제 금액이 처음으로 결제 구간 값을 넘는 구간의 혜택
+    private static double sectionBenefitByPaymentRange(CompiledBenefitRule rule, int amount) {
+        int[] paymentRange = rule.getPaymentRange();
+        double[] sections = rule.getBenefitsBySection();
+        for (int idx = 0; idx < paymentRange.length; idx++) {
+            if (paymentRange[idx] < amount) {
+                return sections.length > idx ? sections[idx] : 0.0;
+            }
+        }
+        return 0.0;
+    }
+}
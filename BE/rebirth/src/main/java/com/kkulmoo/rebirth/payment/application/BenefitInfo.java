@@ -41,4 +41,8 @@ public class BenefitInfo {
     private List<Short> benefitUsageAmount;
 
     private DiscountType discountType;
+
+    // 결제 시 혜택 계산용 primitive 표현 (처음 사용할 때 한 번만 생성)
+    @Getter(lazy = true)
+    private final CompiledBenefitRule compiledRule = CompiledBenefitRule.from(this);
 }
@@ -0,0 +1,68 @@
+package com.kkulmoo.rebirth.payment.application;
+
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.payment.presentation.response.CalculatedBenefitDto;
+import com.kkulmoo.rebirth.user.domain.UserBenefitSnapshot;
+
+import java.util.List;
+
+/**
+ * 결제 1건의 최대 혜택 선택
+ * 후보 혜택을 계산하면서 최대 혜택만 갱신한다. (후보마다 DTO / 큐 엔트리를 만들지 않음)
+ * 혜택 금액이 같으면 먼저 계산된 후보를 유지한다.
+ */
+public final class BenefitSelector {
+
+    private final UserBenefitSnapshot snapshot;
+    private final int amount;
+
+    private MyCard card;
+    private CompiledBenefitRule rule;
+    private int benefitAmount;
+
+    public BenefitSelector(UserBenefitSnapshot snapshot, int amount) {
+        this.snapshot = snapshot;
+        this.amount = amount;
+    }
+
+    // 카드에 적용 가능한 혜택 후보 계산
+    public void offer(MyCard myCard, List<BenefitInfo> benefitInfos) {
+        for (int i = 0; i < benefitInfos.size(); i++) {
+            CompiledBenefitRule candidate = benefitInfos.get(i).getCompiledRule();
+            if (candidate.isCoupon()) {
+                continue;
+            }
+            Integer benefitId = candidate.getBenefitId();
+            int discountAmount = BenefitCalculator.calculate(
+                    candidate,
+                    amount,
+                    snapshot.spendingTierOf(benefitId, myCard.getCardId()),
+                    snapshot.benefitCountOf(benefitId),
+                    snapshot.usedBenefitAmountOf(benefitId));
+
+            if (card == null || discountAmount > benefitAmount) {
+                card = myCard;
+                rule = candidate;
+                benefitAmount = discountAmount;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return card == null;
+    }
+
+    // 선택된 혜택이 없으면 null
+    public CalculatedBenefitDto toDto() {
+        if (card == null) {
+            return null;
+        }
+        return CalculatedBenefitDto.builder()
+                .myCardId(card.getCardId())
+                .permanentToken(card.getPermanentToken())
+                .benefitId(rule.getBenefitId())
+                .benefitAmount(benefitAmount)
+                .benefitType(rule.getBenefitType())
+                .build();
+    }
+}
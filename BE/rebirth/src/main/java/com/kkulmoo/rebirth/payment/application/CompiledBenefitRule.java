@@ -0,0 +1,67 @@
+package com.kkulmoo.rebirth.payment.application;
+
+import com.kkulmoo.rebirth.analysis.domain.enums.BenefitType;
+import com.kkulmoo.rebirth.card.domain.DiscountType;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 혜택 계산에 필요한 값만 primitive 배열로 옮겨 둔 BenefitInfo
+ * 결제 경로에서 박싱된 List를 매번 풀지 않도록 BenefitInfo마다 한 번만 만든다.
+ * null 리스트는 빈 배열로 바꾸므로 기존 "size() >= 구간" 조건과 동일하게 동작한다.
+ */
+@Getter
+public final class CompiledBenefitRule {
+    private final int benefitId;
+    private final BenefitType benefitType;
+    private final boolean coupon;
+    private final short conditionType;
+    private final boolean amountDiscount;
+    private final double[] benefitsBySection;
+    private final int[] paymentRange;
+    private final int[] usageLimit;
+    private final int[] usageAmount;
+
+    private CompiledBenefitRule(BenefitInfo benefitInfo) {
+        this.benefitId = benefitInfo.getBenefitId() != null ? benefitInfo.getBenefitId() : 0;
+        this.benefitType = benefitInfo.getBenefitType();
+        this.coupon = benefitInfo.getBenefitType() == BenefitType.COUPON;
+        this.conditionType = benefitInfo.getBenefitConditionType() != null ? benefitInfo.getBenefitConditionType() : 0;
+        this.amountDiscount = benefitInfo.getDiscountType() == DiscountType.AMOUNT;
+        this.benefitsBySection = toDoubleArray(benefitInfo.getBenefitsBySection());
+        // 결제 구간 값이 비어있으면 해당 구간은 선택되지 않도록 처리
+        this.paymentRange = toIntArray(benefitInfo.getPaymentRange(), Integer.MAX_VALUE);
+        // 사용 제한 값이 비어있으면 제한 없음으로 처리
+        this.usageLimit = toIntArray(benefitInfo.getBenefitUsageLimit(), Integer.MAX_VALUE);
+        this.usageAmount = toIntArray(benefitInfo.getBenefitUsageAmount(), Integer.MAX_VALUE);
+    }
+
+    public static CompiledBenefitRule from(BenefitInfo benefitInfo) {
+        return new CompiledBenefitRule(benefitInfo);
+    }
+
+    private static double[] toDoubleArray(List<Double> values) {
+        if (values == null) {
+            return new double[0];
+        }
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            Double value = values.get(i);
+            array[i] = value != null ? value : 0.0;
+        }
+        return array;
+    }
+
+    private static int[] toIntArray(List<? extends Number> values, int nullValue) {
+        if (values == null) {
+            return new int[0];
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            Number value = values.get(i);
+            array[i] = value != null ? value.intValue() : nullValue;
+        }
+        return array;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kkulmoo.rebirth.payment.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 과거 결제 대량 적재 1건 (NDJSON 한 줄 또는 CSV 한 행)
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentImportRow {
+    // 입력 파일의 행 번호 (오류 보고용)
+    private long lineNumber;
+    private Integer userId;
+    // 영구토큰 또는 추천 결제("rebirth")
+    private String token;
+    private String merchantName;
+    private int amount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,67 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.kkulmoo.rebirth.analysis.domain.enums.BenefitType;
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.payment.domain.PaymentCompletedEvent;
+import com.kkulmoo.rebirth.payment.presentation.response.CalculatedBenefitDto;
+import com.kkulmoo.rebirth.payment.presentation.response.CardTransactionDTO;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 카드사 승인까지 끝난 결제 1건의 단계별 결과
+@Getter
+@Builder
+public class AuthorizedPayment {
+    private final int userId;
+    private final String merchantName;
+    private final int amount;
+    private final LocalDateTime createdAt;
+    private final CalculatedBenefitDto recommendedBenefit;
+    private final CalculatedBenefitDto realBenefit;
+    // 실제 결제된 카드
+    private final MyCard paymentCard;
+    private final Integer benefitId;
+    private final Integer benefitAmount;
+    private final CardTransactionDTO cardTransaction;
+    // 가맹점 카테고리 (리포트 증분 반영용)
+    private final Integer categoryId;
+
+    // 승인 이후 후속 작업(혜택 현황, 결제 피드백, 마이데이터, 리포트) 이벤트
+    public PaymentCompletedEvent toCompletedEvent(boolean recordPreBenefit) {
+        Integer recommendedCardId = recommendedBenefit != null ? recommendedBenefit.getMyCardId() : null;
+        Integer paymentCardId = realBenefit != null ? realBenefit.getMyCardId() : recommendedCardId;
+        BenefitType ifBenefitType = recommendedBenefit != null ? recommendedBenefit.getBenefitType() : BenefitType.DISCOUNT;
+        int ifBenefitAmount = recommendedBenefit != null ? recommendedBenefit.getBenefitAmount() : 0;
+
+        return PaymentCompletedEvent.builder()
+                .eventId(PaymentPostProcessService.newEventId())
+                .userId(userId)
+                .cardId(paymentCard != null ? paymentCard.getCardId() : null)
+                .benefitId(benefitId)
+                .benefitAmount(benefitAmount)
+                .amount(amount)
+                .merchantName(merchantName)
+                .createdAt(createdAt)
+                .recordPreBenefit(recordPreBenefit)
+                .paymentCardId(paymentCardId)
+                .recommendedCardId(recommendedCardId)
+                .ifBenefitType(ifBenefitType.name())
+                .ifBenefitAmount(ifBenefitAmount)
+                .realBenefitType(realBenefit != null ? realBenefit.getBenefitType().name() : ifBenefitType.name())
+                .realBenefitAmount(realBenefit != null ? realBenefit.getBenefitAmount() : ifBenefitAmount)
+                .categoryId(categoryId)
+                .approvedAmount(approvedAmount())
+                .build();
+    }
+
+    // 카드사가 승인한 금액 (할인 혜택 차감 후, 거래내역의 amount 와 같은 값). 거절이면 null
+    private Integer approvedAmount() {
+        if (!PaymentMetrics.OUTCOME_APPROVED.equals(PaymentMetrics.authorizationOutcome(cardTransaction))
+                || cardTransaction.getAmount() == null) {
+            return null;
+        }
+        return cardTransaction.getAmount().intValue();
+    }
+}
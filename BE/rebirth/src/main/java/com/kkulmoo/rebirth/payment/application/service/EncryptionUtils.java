@@ -1,43 +1,252 @@
 package com.kkulmoo.rebirth.payment.application.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
 import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * 결제 토큰 암호화 엔진
+ * - AES / HMAC 키는 시작할 때 한 번만 만들고, Cipher / Mac 인스턴스는 풀에서 재사용한다.
+ *   (가상 스레드 모드에서는 요청마다 스레드가 새로 생기므로 ThreadLocal 대신 공유 풀 사용)
+ * - IV는 공유 SecureRandom 하나로 만든다.
+ * - v1 토큰 : Base64Url( Base64(AES-CBC(평문)) | Base64(IV) | 만료시각(ms) | Base64(HMAC-SHA256(앞 세 필드)) )
+ *   문자열 split / 재인코딩 없이 바이트 배열 위에서 조립하고 검증한다.
+ * - v2 토큰 : Base64Url( 버전(1) | nonce(12) | 만료시각(epoch 초, 4) | AES-GCM(평문) + tag(16) )
+ *   앞 17바이트 헤더를 AAD로 묶어 암호화 한 번으로 기밀성 + 무결성을 보장한다.
+ * - 발급 버전은 payment.token.issue-version 으로 정하고, 검증은 첫 바이트로 v1 / v2를 구분해 둘 다 받는다.
+ *   (v1 토큰의 첫 바이트는 항상 Base64 문자이므로 0x02와 겹치지 않음)
+ */
 @Component
 public class EncryptionUtils {
 
-    public String encryptAES(String data, String key, String iv) throws Exception {
-        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
-        IvParameterSpec ivSpec = new IvParameterSpec(Base64.getDecoder().decode(iv));
-        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivSpec);
-        return Base64.getEncoder().encodeToString(cipher.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    private static final String AES_TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    private static final String GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int IV_LENGTH = 16;
+
+    private static final byte VERSION_2 = 0x02;
+    private static final int V2_NONCE_LENGTH = 12;
+    private static final int V2_HEADER_LENGTH = 1 + V2_NONCE_LENGTH + 4;
+    private static final int V2_TAG_BITS = 128;
+    private static final byte SEPARATOR = '|';
+    private static final int POOL_CAPACITY = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec aesKey;
+    private final SecretKeySpec hmacKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final BlockingQueue<Cipher> cipherPool = new ArrayBlockingQueue<>(POOL_CAPACITY);
+    private final BlockingQueue<Cipher> gcmCipherPool = new ArrayBlockingQueue<>(POOL_CAPACITY);
+    private final BlockingQueue<Mac> macPool = new ArrayBlockingQueue<>(POOL_CAPACITY);
+    private final int issueVersion;
+
+    public EncryptionUtils(@Value("${aes.key}") String aesKey,
+                           @Value("${token.secret.key}") String secretKey,
+                           @Value("${payment.token.issue-version}") int issueVersion) {
+        if (issueVersion != 1 && issueVersion != 2) {
+            throw new IllegalArgumentException("payment.token.issue-version은 1 또는 2여야 합니다.");
+        }
+        this.issueVersion = issueVersion;
+        byte[] aesKeyBytes = aesKey.getBytes(StandardCharsets.UTF_8);
+        if (aesKeyBytes.length != 16 && aesKeyBytes.length != 24 && aesKeyBytes.length != 32) {
+            throw new IllegalArgumentException("AES_KEY는 16, 24, 32바이트여야 합니다.(128, 192 또는 256비트)");
+        }
+        this.aesKey = new SecretKeySpec(aesKeyBytes, "AES");
+        this.hmacKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    // 설정된 발급 버전으로 토큰 생성
+    public String seal(String plainText, long expiration) throws GeneralSecurityException {
+        return issueVersion == 2 ? sealV2(plainText, expiration) : sealV1(plainText, expiration);
+    }
+
+    // v1 / v2 토큰 검증 후 평문 반환. 형식이 다르거나 만료 / 위변조면 null
+    public String open(String token) throws GeneralSecurityException {
+        byte[] decoded = URL_DECODER.decode(token);
+        if (decoded.length == 0) {
+            return null;
+        }
+        return decoded[0] == VERSION_2 ? openV2(decoded) : openV1(decoded);
+    }
+
+    // 평문을 v2 토큰으로 암호화 (만료시각은 초 단위로 내림)
+    public String sealV2(String plainText, long expiration) throws GeneralSecurityException {
+        byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+        byte[] token = new byte[V2_HEADER_LENGTH + plain.length + V2_TAG_BITS / 8];
+        token[0] = VERSION_2;
+        byte[] nonce = new byte[V2_NONCE_LENGTH];
+        secureRandom.nextBytes(nonce);
+        System.arraycopy(nonce, 0, token, 1, V2_NONCE_LENGTH);
+        int expirationSeconds = (int) (expiration / 1000);
+        token[13] = (byte) (expirationSeconds >>> 24);
+        token[14] = (byte) (expirationSeconds >>> 16);
+        token[15] = (byte) (expirationSeconds >>> 8);
+        token[16] = (byte) expirationSeconds;
+
+        Cipher cipher = borrowGcmCipher();
+        cipher.init(Cipher.ENCRYPT_MODE, aesKey, new GCMParameterSpec(V2_TAG_BITS, nonce));
+        cipher.updateAAD(token, 0, V2_HEADER_LENGTH);
+        cipher.doFinal(plain, 0, plain.length, token, V2_HEADER_LENGTH);
+        gcmCipherPool.offer(cipher);
+
+        return URL_ENCODER.encodeToString(token);
+    }
+
+    private String openV2(byte[] decoded) throws GeneralSecurityException {
+        if (decoded.length < V2_HEADER_LENGTH + V2_TAG_BITS / 8) {
+            return null;
+        }
+        long expirationSeconds = Integer.toUnsignedLong(((decoded[13] & 0xff) << 24) | ((decoded[14] & 0xff) << 16)
+                | ((decoded[15] & 0xff) << 8) | (decoded[16] & 0xff));
+        if (System.currentTimeMillis() / 1000 > expirationSeconds) {
+            return null;
+        }
+
+        Cipher cipher = borrowGcmCipher();
+        byte[] plain;
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, aesKey, new GCMParameterSpec(V2_TAG_BITS, decoded, 1, V2_NONCE_LENGTH));
+            cipher.updateAAD(decoded, 0, V2_HEADER_LENGTH);
+            // tag 비교는 Cipher 내부에서 상수 시간으로 수행된다.
+            plain = cipher.doFinal(decoded, V2_HEADER_LENGTH, decoded.length - V2_HEADER_LENGTH);
+        } catch (AEADBadTagException e) {
+            gcmCipherPool.offer(cipher);
+            return null;
+        }
+        gcmCipherPool.offer(cipher);
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    // 평문을 v1 토큰으로 암호화 + 서명
+    public String sealV1(String plainText, long expiration) throws GeneralSecurityException {
+        byte[] iv = newIv();
+        byte[] encrypted = BASE64_ENCODER.encode(encrypt(plainText.getBytes(StandardCharsets.UTF_8), iv));
+        byte[] encodedIv = BASE64_ENCODER.encode(iv);
+        byte[] expirationBytes = Long.toString(expiration).getBytes(StandardCharsets.US_ASCII);
+
+        int dataLength = encrypted.length + 1 + encodedIv.length + 1 + expirationBytes.length;
+        // HMAC-SHA256(32바이트)의 Base64 길이는 44
+        byte[] token = new byte[dataLength + 1 + 44];
+        int pos = 0;
+        System.arraycopy(encrypted, 0, token, pos, encrypted.length);
+        pos += encrypted.length;
+        token[pos++] = SEPARATOR;
+        System.arraycopy(encodedIv, 0, token, pos, encodedIv.length);
+        pos += encodedIv.length;
+        token[pos++] = SEPARATOR;
+        System.arraycopy(expirationBytes, 0, token, pos, expirationBytes.length);
+        pos += expirationBytes.length;
+        token[pos++] = SEPARATOR;
+        byte[] signature = BASE64_ENCODER.encode(hmac(token, 0, dataLength));
+        System.arraycopy(signature, 0, token, pos, signature.length);
+
+        return URL_ENCODER.encodeToString(token);
+    }
+
+    private String openV1(byte[] decoded) throws GeneralSecurityException {
+        int first = indexOf(decoded, 0);
+        int second = first < 0 ? -1 : indexOf(decoded, first + 1);
+        int third = second < 0 ? -1 : indexOf(decoded, second + 1);
+        if (third < 0 || indexOf(decoded, third + 1) >= 0) {
+            return null;
+        }
+
+        long expiration = Long.parseLong(new String(decoded, second + 1, third - second - 1, StandardCharsets.US_ASCII));
+        if (System.currentTimeMillis() > expiration) {
+            return null;
+        }
+
+        byte[] expectedSignature = BASE64_ENCODER.encode(hmac(decoded, 0, third));
+        byte[] signature = Arrays.copyOfRange(decoded, third + 1, decoded.length);
+        if (!MessageDigest.isEqual(expectedSignature, signature)) {
+            return null;
+        }
+
+        byte[] encrypted = BASE64_DECODER.decode(Arrays.copyOfRange(decoded, 0, first));
+        byte[] iv = BASE64_DECODER.decode(Arrays.copyOfRange(decoded, first + 1, second));
+        return new String(decrypt(encrypted, iv), StandardCharsets.UTF_8);
+    }
+
+    public byte[] newIv() {
+        return randomBytes(IV_LENGTH);
+    }
+
+    public byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        secureRandom.nextBytes(bytes);
+        return bytes;
+    }
+
+    public byte[] encrypt(byte[] plain, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = borrowCipher();
+        cipher.init(Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(iv));
+        byte[] result = cipher.doFinal(plain);
+        cipherPool.offer(cipher);
+        return result;
+    }
+
+    public byte[] decrypt(byte[] encrypted, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = borrowCipher();
+        cipher.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(iv));
+        byte[] result = cipher.doFinal(encrypted);
+        cipherPool.offer(cipher);
+        return result;
+    }
+
+    public byte[] hmac(byte[] data, int offset, int length) throws GeneralSecurityException {
+        Mac mac = borrowMac();
+        mac.update(data, offset, length);
+        // doFinal 후 Mac은 같은 키로 초기 상태가 되므로 그대로 재사용 가능
+        byte[] result = mac.doFinal();
+        macPool.offer(mac);
+        return result;
+    }
+
+    // 예외가 나면 반납하지 않는다. (상태를 알 수 없는 인스턴스는 버리고 다음에 새로 생성)
+    private Cipher borrowCipher() throws GeneralSecurityException {
+        Cipher cipher = cipherPool.poll();
+        return cipher != null ? cipher : Cipher.getInstance(AES_TRANSFORMATION);
     }
 
-    public String decryptAES(String encryptedData, String key, String iv) throws Exception {
-        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
-        IvParameterSpec ivSpec = new IvParameterSpec(Base64.getDecoder().decode(iv));
-        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivSpec);
-        return new String(cipher.doFinal(Base64.getDecoder().decode(encryptedData)), StandardCharsets.UTF_8);
+    private Cipher borrowGcmCipher() throws GeneralSecurityException {
+        Cipher cipher = gcmCipherPool.poll();
+        return cipher != null ? cipher : Cipher.getInstance(GCM_TRANSFORMATION);
     }
 
-    public String generateHMAC(String data, String key) throws Exception {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-        return Base64.getEncoder().encodeToString(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    private Mac borrowMac() throws GeneralSecurityException {
+        Mac mac = macPool.poll();
+        if (mac != null) {
+            return mac;
+        }
+        mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(hmacKey);
+        return mac;
     }
 
-    public String generateIV() {
-        byte[] iv = new byte[16];
-        new SecureRandom().nextBytes(iv);
-        return Base64.getEncoder().encodeToString(iv);
+    private static int indexOf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        return -1;
     }
 }
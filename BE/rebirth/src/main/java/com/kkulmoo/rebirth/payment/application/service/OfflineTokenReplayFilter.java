@@ -0,0 +1,27 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 오프라인 결제 토큰 재사용 방지 (인스턴스 메모리)
+// 토큰 만료시각까지만 기억하면 되므로 크기는 "5분 동안 발급된 토큰 수" 이내로 유지된다.
+@Component
+public class OfflineTokenReplayFilter {
+
+    // 토큰 → 만료시각(epoch 초)
+    private final Map<String, Long> usedTokens = new ConcurrentHashMap<>();
+
+    // 처음 사용하는 토큰이면 true
+    public boolean markUsed(String token, long expiresAtSeconds) {
+        return usedTokens.putIfAbsent(token, expiresAtSeconds) == null;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        usedTokens.values().removeIf(expiresAt -> expiresAt < nowSeconds);
+    }
+}
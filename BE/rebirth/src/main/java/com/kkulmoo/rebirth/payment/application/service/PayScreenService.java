@@ -0,0 +1,66 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.kkulmoo.rebirth.payment.domain.CardTemplate;
+import com.kkulmoo.rebirth.payment.presentation.request.PayScreenBootstrapRequestDTO;
+import com.kkulmoo.rebirth.payment.presentation.response.OnlinePayResponseDTO;
+import com.kkulmoo.rebirth.payment.presentation.response.PayScreenBootstrapResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 화면 진입 시 한 번에 필요한 정보 발급
+ * (SSE 구독 ID, 오프라인 일회용 토큰, 선택적으로 온라인 일회용 토큰 / 가맹점 QR 토큰)
+ * 보유 카드와 카드 템플릿은 한 번만 조회해 모든 토큰 발급에 같이 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayScreenService {
+
+    private final PaymentTokenService paymentTokenService;
+    private final SseService sseService;
+
+    public PayScreenBootstrapResponseDTO bootstrap(int userId, PayScreenBootstrapRequestDTO request) throws Exception {
+        // QR 토큰은 카드 조회 / 구독 ID 발급 전에 검증 (잘못되거나 만료된 QR이면 바로 실패, 기존 구독 ID는 그대로)
+        String[] merchantInfo = null;
+        if (request != null && request.getQrToken() != null) {
+            merchantInfo = paymentTokenService.validateQRToken(request.getQrToken());
+            if (merchantInfo == null) {
+                throw new IllegalArgumentException("유효하지 않은 결제 토큰입니다.");
+            }
+        }
+
+        // 사용자 보유 카드 / 카드 템플릿 1회 조회
+        List<String[]> cardInfo = paymentTokenService.getAllUsersPermanentTokenAndTemplateId(userId);
+        Map<Integer, CardTemplate> cardTemplates = cardInfo == null || cardInfo.isEmpty()
+                ? Collections.emptyMap()
+                : paymentTokenService.getCardTemplates(cardInfo);
+
+        PayScreenBootstrapResponseDTO.PayScreenBootstrapResponseDTOBuilder response = PayScreenBootstrapResponseDTO.builder()
+                .uniqueId(sseService.reserveSubscription(userId))
+                .lastEventId(sseService.currentEventId(userId))
+                .offlineTokens(paymentTokenService.createDisposableToken(cardInfo, userId, cardTemplates));
+
+        if (merchantInfo != null) {
+            String merchantName = merchantInfo[0];
+            int amount = Integer.parseInt(merchantInfo[1]);
+            response.online(OnlinePayResponseDTO.builder()
+                    .paymentTokenResponseDTO(paymentTokenService.createOnlineDisposableToken(
+                            cardInfo, merchantName, amount, userId, cardTemplates))
+                    .merchantName(merchantName)
+                    .amount(amount)
+                    .build());
+        }
+        if (request != null && request.getMerchantName() != null && request.getAmount() != null) {
+            response.qrToken(paymentTokenService.generateQRToken(request.getMerchantName(), request.getAmount()));
+        }
+
+        log.info("결제 화면 bootstrap - userId: {}, 카드 수: {}", userId, cardInfo != null ? cardInfo.size() : 0);
+        return response.build();
+    }
+}
@@ -0,0 +1,273 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkulmoo.rebirth.analysis.application.service.ReportService;
+import com.kkulmoo.rebirth.card.domain.CardRepository;
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
+import com.kkulmoo.rebirth.payment.application.dto.PaymentImportRow;
+import com.kkulmoo.rebirth.payment.presentation.response.PaymentImportResultDTO;
+import com.kkulmoo.rebirth.user.application.service.MyDataService;
+import com.kkulmoo.rebirth.user.domain.User;
+import com.kkulmoo.rebirth.user.domain.UserId;
+import com.kkulmoo.rebirth.user.domain.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 과거 결제 대량 적재 (insert-paydata 의 일괄 버전)
+ * - 유저별로 createdAt 순서대로 처리하고, 서로 다른 유저는 payment.import.concurrency 개까지 동시에 카드사 승인을 요청한다.
+ * - 혜택 사용 현황은 다음 결제의 혜택 계산에 쓰이므로 건별로 바로 반영한다.
+ * - 마이데이터 갱신과 월별 리포트 갱신은 건별로 하지 않는다. 유저의 결제가 다음 달로 넘어갈 때와 마지막에
+ *   끝난 달만 집계 쿼리(ReportService.rebuildReports)로 다시 채운다. -> 적재 범위의 각 유저-월은 한 번씩만 재계산
+ *   (지난 달 실적 구간이 다음 달 혜택 계산에 쓰이므로 월이 바뀔 때 그 달을 먼저 채운다)
+ * - 유저별 정렬을 위해 전체 행을 메모리에 올리므로 한 번에 payment.import.max-rows 행까지만 받는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentImportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String CSV_HEADER_FIRST_COLUMN = "userId";
+
+    private final PaymentTransactionService paymentTransactionService;
+    private final PaymentPostProcessService paymentPostProcessService;
+    private final MyDataService myDataService;
+    private final ReportService reportService;
+    private final UserRepository userRepository;
+    private final CardRepository cardRepository;
+    private final ObjectMapper objectMapper;
+    private final WorkerThreadFactory workerThreadFactory;
+
+    @Value("${payment.import.concurrency}")
+    private int concurrency;
+
+    @Value("${payment.import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    @Value("${payment.import.max-rows}")
+    private long maxRows;
+
+    public PaymentImportResultDTO importPayments(InputStream inputStream, Format format) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ImportStats stats = new ImportStats(maxReportedErrors);
+
+        Map<Integer, List<PaymentImportRow>> rowsByUser = readRows(inputStream, format, stats);
+        log.info("결제 대량 적재 시작 - 행 수: {}, 유저 수: {}, 동시 처리 유저 수: {}",
+                stats.total.get(), rowsByUser.size(), concurrency);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, workerThreadFactory.create("payment-import-"));
+        try {
+            List<Future<?>> lanes = new ArrayList<>(rowsByUser.size());
+            for (Map.Entry<Integer, List<PaymentImportRow>> entry : rowsByUser.entrySet()) {
+                lanes.add(executor.submit(() -> importUser(entry.getKey(), entry.getValue(), stats)));
+            }
+            for (Future<?> lane : lanes) {
+                lane.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("결제 대량 적재 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("결제 대량 적재 실패", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PaymentImportResultDTO result = stats.toResult(System.currentTimeMillis() - startedAt);
+        log.info("결제 대량 적재 완료 - 전체: {}, 승인: {}, 거절: {}, 실패: {}, 월별 갱신: {}, 소요: {}ms",
+                result.getTotal(), result.getApproved(), result.getRejected(), result.getFailed(),
+                result.getMonthlyRefreshes(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void importUser(Integer userId, List<PaymentImportRow> rows, ImportStats stats) {
+        rows.sort(Comparator.comparing(PaymentImportRow::getCreatedAt));
+
+        YearMonth currentMonth = null;
+        for (PaymentImportRow row : rows) {
+            YearMonth month = YearMonth.from(row.getCreatedAt());
+            if (currentMonth != null && !month.equals(currentMonth)) {
+                refreshMonth(userId, currentMonth, stats);
+            }
+            currentMonth = month;
+
+            try {
+                AuthorizedPayment payment = paymentTransactionService.authorize(
+                        userId, row.getToken(), row.getMerchantName(), row.getAmount(), row.getCreatedAt());
+                if (PaymentMetrics.OUTCOME_REJECTED.equals(PaymentMetrics.authorizationOutcome(payment.getCardTransaction()))) {
+                    stats.rejected.incrementAndGet();
+                    continue;
+                }
+                paymentPostProcessService.updateBenefitUsage(payment.toCompletedEvent(false));
+                stats.approved.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.warn("결제 대량 적재 실패 - line: {}, userId: {}", row.getLineNumber(), userId, e);
+                stats.fail("line " + row.getLineNumber() + ": " + e.getMessage());
+            }
+        }
+
+        if (currentMonth != null) {
+            refreshMonth(userId, currentMonth, stats);
+        }
+    }
+
+    // 유저-월 단위 마이데이터 / 리포트 갱신 (리포트는 해당 월만 집계 쿼리로 재계산)
+    private void refreshMonth(Integer userId, YearMonth month, ImportStats stats) {
+        try {
+            User user = userRepository.findByUserId(new UserId(userId));
+            List<MyCard> cards = cardRepository.findByUserId(new UserId(userId));
+            if (!cards.isEmpty()) {
+                myDataService.loadMyTransactionByCardsForPayment(user, cards);
+            }
+            reportService.rebuildReports(userId, month, month);
+            stats.monthlyRefreshes.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("결제 대량 적재 월별 갱신 실패 - userId: {}, month: {}", userId, month, e);
+            stats.addError("userId " + userId + ", month " + month + ": " + e.getMessage());
+        }
+    }
+
+    // 전체 행을 읽어 유저별로 묶는다. (유저 내 순서 정렬을 위해 메모리에 올림, max-rows 를 넘으면 적재 전에 거절)
+    private Map<Integer, List<PaymentImportRow>> readRows(InputStream inputStream, Format format, ImportStats stats) throws IOException {
+        Map<Integer, List<PaymentImportRow>> rowsByUser = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && lineNumber == 1 && line.trim().startsWith(CSV_HEADER_FIRST_COLUMN)) {
+                    continue;
+                }
+
+                if (stats.total.incrementAndGet() > maxRows) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "한 번에 적재할 수 있는 행 수(" + maxRows + ")를 넘었습니다. 파일을 나눠 주세요.");
+                }
+                try {
+                    PaymentImportRow row = format == Format.CSV
+                            ? parseCsv(line, lineNumber)
+                            : objectMapper.readValue(line, PaymentImportRow.class).toBuilder().lineNumber(lineNumber).build();
+                    if (row.getUserId() == null || row.getToken() == null || row.getMerchantName() == null || row.getCreatedAt() == null) {
+                        throw new IllegalArgumentException("userId, token, merchantName, createdAt 은 필수입니다.");
+                    }
+                    rowsByUser.computeIfAbsent(row.getUserId(), key -> new ArrayList<>()).add(row);
+                } catch (IOException | RuntimeException e) {
+                    stats.fail("line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return rowsByUser;
+    }
+
+    // userId,token,merchantName,amount,createdAt (큰따옴표로 감싼 필드 지원)
+    private static PaymentImportRow parseCsv(String line, long lineNumber) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 5) {
+            throw new IllegalArgumentException("CSV 컬럼 수가 올바르지 않습니다: " + fields.size());
+        }
+        return PaymentImportRow.builder()
+                .lineNumber(lineNumber)
+                .userId(Integer.parseInt(fields.get(0).trim()))
+                .token(fields.get(1).trim())
+                .merchantName(fields.get(2))
+                .amount(Integer.parseInt(fields.get(3).trim()))
+                .createdAt(LocalDateTime.parse(fields.get(4).trim().replace(' ', 'T')))
+                .build();
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class ImportStats {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong approved = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong monthlyRefreshes = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private final int maxReportedErrors;
+
+        private ImportStats(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(String error) {
+            failed.incrementAndGet();
+            addError(error);
+        }
+
+        private void addError(String error) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+        }
+
+        private PaymentImportResultDTO toResult(long elapsedMillis) {
+            return PaymentImportResultDTO.builder()
+                    .total(total.get())
+                    .approved(approved.get())
+                    .rejected(rejected.get())
+                    .failed(failed.get())
+                    .monthlyRefreshes(monthlyRefreshes.get())
+                    .elapsedMillis(elapsedMillis)
+                    .errors(new ArrayList<>(errors))
+                    .build();
+        }
+    }
+}
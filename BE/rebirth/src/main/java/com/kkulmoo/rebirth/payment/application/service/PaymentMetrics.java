@@ -0,0 +1,74 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.kkulmoo.rebirth.payment.presentation.response.CardTransactionDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 단계별 지연시간 / 결과 지표
+ * - payment.stage : 단계(stage)별 소요 시간. outcome = success / error, 카드사 승인(authorization) 단계만 approved / rejected / error
+ * - payment.requests : 결제 1건의 최종 결과(outcome = approved / rejected / error) 카운트와 전체 소요 시간
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_APPROVED = "approved";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_ERROR = "error";
+
+    // 은행 거절 시 승인코드 접두어
+    private static final String REJECTION_CODE_PREFIX = "REJ";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopStage(Timer.Sample sample, String stage, String outcome) {
+        sample.stop(Timer.builder("payment.stage")
+                .description("결제 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void stopPayment(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("payment.requests")
+                .description("결제 1건 전체 소요 시간")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        Counter.builder("payment.outcomes")
+                .description("결제 결과 건수")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 예외 없이 끝나면 success, 예외가 나면 error로 기록
+    public void recordStage(String stage, Runnable task) {
+        Timer.Sample sample = start();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            stopStage(sample, stage, OUTCOME_ERROR);
+            throw e;
+        }
+        stopStage(sample, stage, OUTCOME_SUCCESS);
+    }
+
+    public static String authorizationOutcome(CardTransactionDTO cardTransaction) {
+        if (cardTransaction == null || cardTransaction.getApprovalCode() == null
+                || cardTransaction.getApprovalCode().startsWith(REJECTION_CODE_PREFIX)) {
+            return OUTCOME_REJECTED;
+        }
+        return OUTCOME_APPROVED;
+    }
+}
@@ -1,11 +1,12 @@
 package com.kkulmoo.rebirth.payment.application.service;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Base64;
 
 //일회용 토큰 생성 및 디코드
@@ -13,59 +14,85 @@ import java.util.Base64;
 @RequiredArgsConstructor
 public class PaymentOfflineEncryption {
     private static final long EXPIRATION_TIME = 5 * 60 * 1000; // 5분
+
+    // 압축 토큰 : Base64Url( cardRef(4) | 만료시각 epoch 초(4) | nonce(2) | HMAC-SHA256 앞 8바이트 ) = 24자
+    // cardRef > 0 : 보유 카드 ID, cardRef < 0 : -userId 의 추천 카드 결제
+    public static final int COMPACT_TOKEN_LENGTH = 24;
+    private static final int COMPACT_BODY_LENGTH = 10;
+    private static final int COMPACT_MAC_LENGTH = 8;
+    // 다른 토큰 형식의 HMAC 입력과 겹치지 않도록 붙이는 구분 바이트
+    private static final byte COMPACT_MAC_DOMAIN = 'C';
+
+    // AES / HMAC 키는 EncryptionUtils 가 시작 시 한 번 만들어 둔다. (aes.key, token.secret.key)
     private final EncryptionUtils encryptionUtils;
-    @Value("${token.secret.key}")
-    private String secretKey; // 서명용 키 (HMAC)
-    @Value("${aes.key}")
-    private String aesKey; // AES 암호화 키
-
-    @PostConstruct
-    private void validateKeys() {
-        if (aesKey.length() != 16 && aesKey.length() != 24 && aesKey.length() != 32) {
-            throw new IllegalArgumentException("AES_KEY는 16, 24, 32바이트여야 합니다.(128, 192 또는 256비트)");
-        }
-    }
+    private final OfflineTokenReplayFilter offlineTokenReplayFilter;
 
     public String generateOneTimeToken(String permanentToken, int userId) throws Exception {
         long expiration = System.currentTimeMillis() + EXPIRATION_TIME;
-        String iv = encryptionUtils.generateIV();
 
         // permanentToken과 userId를 함께 암호화
-        String encryptedData = encryptionUtils.encryptAES(permanentToken + "|" + userId, aesKey, iv);
-
-        String data = encryptedData + "|" + iv + "|" + expiration;
-        String signature = encryptionUtils.generateHMAC(data, secretKey);
-
-        return Base64.getUrlEncoder().withoutPadding().encodeToString((data + "|" + signature).getBytes(StandardCharsets.UTF_8));
+        return encryptionUtils.seal(permanentToken + "|" + userId, expiration);
     }
 
     public String[] validateOneTimeToken(String token) throws Exception {
+        // 형식 오류, 만료, 위변조면 null (v1 / v2 모두 허용)
+        String decryptedData = encryptionUtils.open(token);
+        if (decryptedData == null) return null;
 
-        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
-        String[] parts = decoded.split("\\|");
+        // 복호화 후 permanentToken, userId 추출
+        String[] decryptedParts = decryptedData.split("\\|");
 
-        if (parts.length != 4) return null;
+        if (decryptedParts.length != 2) return null;
 
-        String encryptedData = parts[0];
-        String iv = parts[1];
-        long expiration = Long.parseLong(parts[2]);
-        String signature = parts[3];
 
-        if (System.currentTimeMillis() > expiration) return null;
+        return decryptedParts;
+    }
 
-        String data = encryptedData + "|" + iv + "|" + expiration;
-        String expectedSignature = encryptionUtils.generateHMAC(data, secretKey);
+    // 포스기용 압축 토큰 생성 (Redis 저장 없이 자체 검증)
+    public String generateCompactToken(int cardRef) throws GeneralSecurityException {
+        int expirationSeconds = (int) ((System.currentTimeMillis() + EXPIRATION_TIME) / 1000);
+        byte[] nonce = encryptionUtils.randomBytes(2);
 
+        ByteBuffer token = ByteBuffer.allocate(COMPACT_BODY_LENGTH + COMPACT_MAC_LENGTH);
+        token.putInt(cardRef).putInt(expirationSeconds).put(nonce);
+        token.put(compactMac(token.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+    }
 
-        if (!expectedSignature.equals(signature)) return null;
+    public boolean isCompactToken(String token) {
+        return token != null && token.length() == COMPACT_TOKEN_LENGTH;
+    }
 
-        // 복호화 후 permanentToken, userId 추출
-        String decryptedData = encryptionUtils.decryptAES(encryptedData, aesKey, iv);
-        String[] decryptedParts = decryptedData.split("\\|");
+    // 압축 토큰 검증 후 cardRef 반환. 위변조, 만료, 이미 사용된 토큰이면 null
+    public Integer validateCompactToken(String token) throws GeneralSecurityException {
+        if (!isCompactToken(token)) return null;
+        byte[] decoded;
+        try {
+            decoded = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
 
-        if (decryptedParts.length != 2) return null;
+        byte[] expectedMac = compactMac(decoded);
+        byte[] mac = Arrays.copyOfRange(decoded, COMPACT_BODY_LENGTH, COMPACT_BODY_LENGTH + COMPACT_MAC_LENGTH);
+        if (!MessageDigest.isEqual(expectedMac, mac)) return null;
 
+        ByteBuffer body = ByteBuffer.wrap(decoded);
+        int cardRef = body.getInt();
+        long expirationSeconds = Integer.toUnsignedLong(body.getInt());
+        if (System.currentTimeMillis() / 1000 > expirationSeconds) return null;
 
-        return decryptedParts;
+        // 서명까지 확인된 토큰만 사용 처리
+        if (!offlineTokenReplayFilter.markUsed(token, expirationSeconds)) return null;
+
+        return cardRef;
+    }
+
+    // HMAC-SHA256( 'C' | 토큰 본문 10바이트 ) 의 앞 8바이트
+    private byte[] compactMac(byte[] token) throws GeneralSecurityException {
+        byte[] macInput = new byte[1 + COMPACT_BODY_LENGTH];
+        macInput[0] = COMPACT_MAC_DOMAIN;
+        System.arraycopy(token, 0, macInput, 1, COMPACT_BODY_LENGTH);
+        return Arrays.copyOf(encryptionUtils.hmac(macInput, 0, macInput.length), COMPACT_MAC_LENGTH);
     }
 }
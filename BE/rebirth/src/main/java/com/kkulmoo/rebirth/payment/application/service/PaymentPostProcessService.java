@@ -0,0 +1,183 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkulmoo.rebirth.analysis.application.service.ReportService;
+import com.kkulmoo.rebirth.analysis.domain.dto.ReportDeltaDTO;
+import com.kkulmoo.rebirth.analysis.domain.enums.BenefitType;
+import com.kkulmoo.rebirth.card.domain.CardRepository;
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.common.outbox.OutboxTopic;
+import com.kkulmoo.rebirth.common.outbox.RedisStreamOutbox;
+import com.kkulmoo.rebirth.payment.domain.PaymentCompletedEvent;
+import com.kkulmoo.rebirth.payment.domain.PreBenefit;
+import com.kkulmoo.rebirth.user.application.service.MyDataService;
+import com.kkulmoo.rebirth.user.application.service.UserCardBenefitService;
+import com.kkulmoo.rebirth.user.domain.User;
+import com.kkulmoo.rebirth.user.domain.UserId;
+import com.kkulmoo.rebirth.user.domain.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+// 카드사 승인 이후의 후속 작업 처리
+// 실시간 결제는 Outbox에 이벤트를 적재하고 바로 응답하며, 워커가 유저 단위 순서로 처리한다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentPostProcessService {
+
+    // 재시도 시 이미 끝난 단계를 건너뛰기 위한 단계 완료 기록 (빠른 경로)
+    // 커밋과 기록 사이에 끊기면 단계가 다시 실행되므로, 누적 반영 단계(혜택, 리포트)는 DB 에 이벤트 ID 를 같이 기록해 중복을 막는다.
+    private static final String STEP_KEY_PREFIX = "PAYMENT:POST:";
+    private static final Duration STEP_KEY_TTL = Duration.ofDays(1);
+
+    private final RedisStreamOutbox redisStreamOutbox;
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final UserCardBenefitService userCardBenefitService;
+    private final PreBenefitService preBenefitService;
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final MyDataService myDataService;
+    private final ReportService reportService;
+    private final PaymentMetrics paymentMetrics;
+
+    @Value("${payment.outbox.shards}")
+    private int shards;
+
+    @Value("${payment.outbox.max-attempts}")
+    private int maxAttempts;
+
+    private OutboxTopic topic;
+
+    @PostConstruct
+    public void init() {
+        topic = new OutboxTopic("payment", shards, maxAttempts);
+        redisStreamOutbox.subscribe(topic, payload ->
+                process(objectMapper.readValue(payload, PaymentCompletedEvent.class)));
+    }
+
+    public static String newEventId() {
+        return UUID.randomUUID().toString();
+    }
+
+    // 같은 유저의 이벤트는 같은 샤드로 들어가 순서대로 처리된다.
+    public void enqueue(PaymentCompletedEvent event) {
+        try {
+            redisStreamOutbox.append(topic, event.getUserId(), objectMapper.writeValueAsString(event));
+            log.info("결제 후속 작업 적재 - eventId: {}, userId: {}", event.getEventId(), event.getUserId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("결제 후속 작업 직렬화 실패", e);
+        }
+    }
+
+    public void process(PaymentCompletedEvent event) {
+        log.info("결제 후속 작업 시작 - eventId: {}, userId: {}", event.getEventId(), event.getUserId());
+
+        // 혜택 현황 업데이트
+        if (event.getBenefitId() != null && event.getCardId() != null) {
+            runOnce(event, "benefit", () -> updateBenefitUsage(event));
+        }
+
+        // 결제 피드백 정보 업데이트
+        if (event.isRecordPreBenefit()) {
+            runOnce(event, "pre-benefit", () -> preBenefitService.savePreBenefit(toPreBenefit(event)));
+        }
+
+        // 마이데이터 호출
+        if (event.getCardId() != null) {
+            runOnce(event, "mydata", () -> {
+                User user = userRepository.findByUserId(new UserId(event.getUserId()));
+                MyCard myCard = cardRepository.findById(event.getCardId())
+                        .orElseThrow(() -> new EntityNotFoundException("해당 카드를 찾을 수 없습니다."));
+                myDataService.loadMyTransactionByCardsForPayment(user, Collections.singletonList(myCard));
+            });
+        }
+
+        // 리포트 업데이트: 승인된 결제는 증분 반영, 거절된 결제는 리포트 변화 없음
+        // 카테고리 정보가 없는 이벤트(배포 전에 적재된 이벤트)는 기존처럼 전체 재계산
+        if (event.getCategoryId() == null) {
+            runOnce(event, "report", () -> reportService.updateMonthlyTransactionSummary(event.getUserId(), event.getCreatedAt()));
+        } else if (event.getCardId() != null && event.getApprovedAmount() != null) {
+            // 단계 기록(Redis)은 커밋 후에 남으므로 그 사이 재전달되면 다시 실행된다. 중복 반영은 ReportService 가 이벤트 ID로 막는다.
+            runOnce(event, "report", () -> {
+                if (!reportService.applyTransactionDelta(toReportDelta(event))) {
+                    log.info("이미 리포트에 반영된 결제 - eventId: {}", event.getEventId());
+                }
+            });
+        }
+
+        redisTemplate.delete(STEP_KEY_PREFIX + event.getEventId());
+        log.info("결제 후속 작업 완료 - eventId: {}", event.getEventId());
+    }
+
+    // 혜택 사용 횟수 / 금액 반영 (대량 적재 시에는 다음 결제의 혜택 계산에 필요하므로 건별로 바로 반영)
+    public void updateBenefitUsage(PaymentCompletedEvent event) {
+        if (event.getBenefitId() == null || event.getCardId() == null) {
+            return;
+        }
+        if (!userCardBenefitService.applyBenefitUsage(event.getEventId(), event.getUserId(), event.getBenefitId(),
+                event.getCardId(), event.getBenefitAmount(), event.getCreatedAt())) {
+            log.info("이미 혜택 사용에 반영된 결제 - eventId: {}", event.getEventId());
+        }
+    }
+
+    private void runOnce(PaymentCompletedEvent event, String step, Runnable task) {
+        String key = STEP_KEY_PREFIX + event.getEventId();
+        if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, step))) {
+            log.info("이미 처리된 단계 - eventId: {}, step: {}", event.getEventId(), step);
+            return;
+        }
+        paymentMetrics.recordStage(step, task);
+        redisTemplate.opsForSet().add(key, step);
+        redisTemplate.expire(key, STEP_KEY_TTL);
+    }
+
+    private ReportDeltaDTO toReportDelta(PaymentCompletedEvent event) {
+        return ReportDeltaDTO.builder()
+                .eventId(event.getEventId())
+                .userId(event.getUserId())
+                .cardId(event.getCardId())
+                .categoryId(event.getCategoryId())
+                .createdAt(event.getCreatedAt())
+                .amount(event.getApprovedAmount())
+                .benefitAmount(event.getBenefitAmount())
+                .build();
+    }
+
+    private PreBenefit toPreBenefit(PaymentCompletedEvent event) {
+        return PreBenefit.builder()
+                .userId(event.getUserId())
+                .paymentCardId(event.getPaymentCardId())
+                .recommendedCardId(event.getRecommendedCardId())
+                .amount(event.getAmount())
+                .ifBenefitType(BenefitType.valueOf(event.getIfBenefitType()))
+                .ifBenefitAmount(event.getIfBenefitAmount())
+                .realBenefitType(BenefitType.valueOf(event.getRealBenefitType()))
+                .realBenefitAmount(event.getRealBenefitAmount())
+                .merchantName(event.getMerchantName())
+                // 카드 이미지 URL 조회시, 카드 ID가 null인 경우 빈 문자열 처리
+                .paymentCardImgUrl(event.getPaymentCardId() != null ? safeGetCardImgUrl(event.getPaymentCardId()) : "")
+                .recommendedCardImgUrl(event.getRecommendedCardId() != null ? safeGetCardImgUrl(event.getRecommendedCardId()) : "")
+                .build();
+    }
+
+    private String safeGetCardImgUrl(Integer cardId) {
+        try {
+            // repository 메서드는 카드 이미지가 없으면 예외를 발생시킴.
+            return cardRepository.getCardImgUrlByCardId(cardId);
+        } catch (RuntimeException ex) {
+            log.error("Card image URL 조회 실패 - cardId: {}", cardId, ex);
+            return "";
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.kkulmoo.rebirth.payment.application.service;
 
+import com.kkulmoo.rebirth.card.domain.CardRepository;
+import com.kkulmoo.rebirth.card.domain.MyCard;
 import com.kkulmoo.rebirth.payment.domain.CardTemplate;
 import com.kkulmoo.rebirth.payment.domain.PaymentCard;
 import com.kkulmoo.rebirth.payment.domain.repository.CardTemplateRepository;
@@ -16,7 +18,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +42,8 @@ public class PaymentTokenService {
     // 카드사로 부터 응답
     private final WebClientService webClientService;
     private final UserRepository userRepository;
+    // 압축 토큰의 카드 ID로 영구토큰 조회
+    private final CardRepository cardRepository;
 
     // 결제 카드 등록
     public void getPermanentTokenFromCardsa(Integer userId, PermanentTokenRequestToCardsaDTO permanentTokenRequestToCardsaDTO){
@@ -58,7 +66,7 @@ public class PaymentTokenService {
     }
 
 
-    // 사용자 보유 카드의 영구토큰과 템플릿 ID 목록 조회
+    // 사용자 보유 카드의 템플릿 ID, 영구토큰, 카드 ID 목록 조회
     public List<String[]> getAllUsersPermanentTokenAndTemplateId(int userId) {
         // 사용자 카드 리스트 조회
         List<PaymentCard> userCards = cardsRepository.findByUserId(userId);
@@ -67,49 +75,73 @@ public class PaymentTokenService {
         // 각 카드에서 템플릿 ID와 영구토큰 추출
         for (PaymentCard card : userCards) {
             if (card.getPermanentToken() == null) continue; // 토큰이 없는 카드는 건너뜀
-            userTokens.add(new String[]{String.valueOf(card.getCardTemplateId()), card.getPermanentToken()});
+            userTokens.add(new String[]{String.valueOf(card.getCardTemplateId()), card.getPermanentToken(), String.valueOf(card.getCardId())});
         }
         return userTokens;
     }
 
-    // 오프라인 일회용 토큰 생성 및 DB 저장
+    // 오프라인 일회용 토큰(압축 토큰) 생성. 토큰 자체로 검증되므로 Redis에 저장하지 않는다.
     public List<PaymentTokenResponseDTO> createDisposableToken(List<String[]> cardInfo, int userId) throws Exception {
         if (cardInfo == null || cardInfo.isEmpty()) return null; // 카드 정보 없으면 null 반환
+        return createDisposableToken(cardInfo, userId, getCardTemplates(cardInfo));
+    }
+
+    // 카드 템플릿을 이미 조회한 경우 (결제 화면 bootstrap)
+    List<PaymentTokenResponseDTO> createDisposableToken(List<String[]> cardInfo, int userId,
+                                                        Map<Integer, CardTemplate> cardTemplates) throws Exception {
+        if (cardInfo == null || cardInfo.isEmpty()) return null; // 카드 정보 없으면 null 반환
         List<PaymentTokenResponseDTO> tokensResponse = new ArrayList<>();
-        // 추천 카드용 토큰 생성 (임시 값 "rebirth" 사용)
-        String realRecommendToken = paymentOfflineEncryption.generateOneTimeToken("rebirth", userId);
-        String shortRecommendToken = realRecommendToken.substring(0, 20); // 단축 토큰 생성
-        // DB에 추천 토큰 저장
-        disposableTokenRepository.saveToken(shortRecommendToken, realRecommendToken);
+        // 추천 카드용 토큰 생성 (cardRef = -userId)
         tokensResponse.add(PaymentTokenResponseDTO.builder()
-                .token(shortRecommendToken)
+                .token(paymentOfflineEncryption.generateCompactToken(-userId))
                 .cardName("추천카드")
                 .cardConstellationInfo("추천카드")
                 .cardImgUrl("추천카드")
                 .build());
-        // 각 실제 카드별 토큰 생성
+        // 각 실제 카드별 토큰 생성 (cardRef = 보유 카드 ID)
         for (String[] info : cardInfo) {
             String templateId = info[0];
-            String permanentToken = info[1];
-            String realToken = paymentOfflineEncryption.generateOneTimeToken(permanentToken, userId);
-            String shortToken = realToken.substring(0, 20); // 단축 토큰 생성
-            // 카드 템플릿 정보 조회
-            CardTemplate cardTemplate = cardTemplateRepository.getCardTemplate(Integer.parseInt(templateId));
+            int cardId = Integer.parseInt(info[2]);
+            CardTemplate cardTemplate = cardTemplates.get(Integer.parseInt(templateId));
             tokensResponse.add(PaymentTokenResponseDTO.builder()
-                    .token(shortToken)
+                    .token(paymentOfflineEncryption.generateCompactToken(cardId))
                     .cardName(cardTemplate.getCardName())
                     .cardConstellationInfo(cardTemplate.getCardConstellationInfo())
                     .cardImgUrl(cardTemplate.getCardImgUrl())
                     .build());
-            // DB에 생성된 토큰 저장
-            disposableTokenRepository.saveToken(shortToken, realToken);
         }
         return tokensResponse;
     }
 
-    // 온라인 일회용 토큰 생성 및 DB 저장
+    // 포스기에서 받은 오프라인 토큰 검증 후 [영구토큰, userId] 반환. 유효하지 않으면 null
+    public String[] resolveOfflineToken(String token) throws Exception {
+        if (paymentOfflineEncryption.isCompactToken(token)) {
+            Integer cardRef = paymentOfflineEncryption.validateCompactToken(token);
+            if (cardRef == null || cardRef == 0) return null;
+            // 추천 카드 결제
+            if (cardRef < 0) return new String[]{"rebirth", String.valueOf(-cardRef)};
+
+            MyCard myCard = cardRepository.findById(cardRef).orElse(null);
+            if (myCard == null || myCard.getDeletedAt() != null || myCard.getPermanentToken() == null) return null;
+            return new String[]{myCard.getPermanentToken(), String.valueOf(myCard.getUserId().getValue())};
+        }
+
+        // 배포 전에 발급된 단축 토큰 (Redis 매핑, 최대 5분) 호환
+        String realToken = getRealDisposableToken(token);
+        if (realToken == null) return null;
+        return paymentOfflineEncryption.validateOneTimeToken(realToken);
+    }
+
+    // 온라인 일회용 토큰 생성
     public List<PaymentTokenResponseDTO> createOnlineDisposableToken(List<String[]> cardInfo, String merchantName, int amount, int userId) throws Exception {
         if (cardInfo == null || cardInfo.isEmpty()) return null; // 카드 정보 없으면 null 반환
+        return createOnlineDisposableToken(cardInfo, merchantName, amount, userId, getCardTemplates(cardInfo));
+    }
+
+    // 카드 템플릿을 이미 조회한 경우 (결제 화면 bootstrap)
+    List<PaymentTokenResponseDTO> createOnlineDisposableToken(List<String[]> cardInfo, String merchantName, int amount, int userId,
+                                                              Map<Integer, CardTemplate> cardTemplates) throws Exception {
+        if (cardInfo == null || cardInfo.isEmpty()) return null; // 카드 정보 없으면 null 반환
         List<PaymentTokenResponseDTO> tokensResponse = new ArrayList<>();
         // 추천 카드용 온라인 토큰 생성 (임시 값 "rebirth" 사용)
         String realRecommendToken = paymentOnlineEncryption.generateOnlineToken(merchantName, amount, "rebirth", userId);
@@ -124,8 +156,7 @@ public class PaymentTokenService {
             String templateId = info[0];
             String permanentToken = info[1];
             String realToken = paymentOnlineEncryption.generateOnlineToken(merchantName, amount, permanentToken, userId);
-            // 카드 템플릿 정보 조회
-            CardTemplate cardTemplate = cardTemplateRepository.getCardTemplate(Integer.parseInt(templateId));
+            CardTemplate cardTemplate = cardTemplates.get(Integer.parseInt(templateId));
             tokensResponse.add(PaymentTokenResponseDTO.builder()
                     .token(realToken)
                     .cardName(cardTemplate.getCardName())
@@ -136,10 +167,19 @@ public class PaymentTokenService {
         return tokensResponse;
     }
 
-    // 짧은 토큰을 받아 원래의 토큰 복원
+    // 짧은 토큰을 받아 원래의 토큰 복원 (조회와 동시에 삭제되어 재사용 불가)
     public String getRealDisposableToken(String shortToken) {
         if (shortToken == null || shortToken.isEmpty()) return null; // 유효성 검사
-        return disposableTokenRepository.findById(shortToken);
+        return disposableTokenRepository.consume(shortToken);
+    }
+
+    // 카드 정보의 템플릿 ID로 카드 템플릿 일괄 조회
+    Map<Integer, CardTemplate> getCardTemplates(List<String[]> cardInfo) {
+        Set<Integer> templateIds = new HashSet<>();
+        for (String[] info : cardInfo) {
+            templateIds.add(Integer.parseInt(info[0]));
+        }
+        return cardTemplateRepository.getCardTemplates(templateIds);
     }
 
     // 온라인 결제용 QR 토큰 생성
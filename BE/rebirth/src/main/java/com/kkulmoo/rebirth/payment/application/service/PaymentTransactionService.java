@@ -1,32 +1,39 @@
 package com.kkulmoo.rebirth.payment.application.service;
 
-import com.kkulmoo.rebirth.analysis.application.service.ReportService;
 import com.kkulmoo.rebirth.analysis.domain.enums.BenefitType;
-import com.kkulmoo.rebirth.card.domain.CardRepository;
 import com.kkulmoo.rebirth.card.domain.MyCard;
-import com.kkulmoo.rebirth.payment.domain.PreBenefit;
-import com.kkulmoo.rebirth.payment.domain.repository.MerchantJoinRepository;
-import com.kkulmoo.rebirth.payment.domain.repository.PreBenefitRepository;
+import com.kkulmoo.rebirth.common.exception.PaymentStageException;
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
 import com.kkulmoo.rebirth.payment.infrastructure.dto.MerchantJoinDto;
 import com.kkulmoo.rebirth.payment.presentation.request.CreateTransactionRequestToCardsaDTO;
 import com.kkulmoo.rebirth.payment.presentation.response.CalculatedBenefitDto;
 import com.kkulmoo.rebirth.payment.presentation.response.CardTransactionDTO;
-import com.kkulmoo.rebirth.user.application.service.MyDataService;
+import com.kkulmoo.rebirth.transactions.domain.MerchantCache;
 import com.kkulmoo.rebirth.user.application.service.UserCardBenefitService;
-import com.kkulmoo.rebirth.user.domain.User;
-import com.kkulmoo.rebirth.user.domain.UserCardBenefit;
-import com.kkulmoo.rebirth.user.domain.UserId;
-import com.kkulmoo.rebirth.user.domain.UserRepository;
-import com.kkulmoo.rebirth.user.domain.repository.UserCardBenefitRepository;
+import com.kkulmoo.rebirth.user.domain.UserBenefitSnapshot;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -35,37 +42,128 @@ public class PaymentTransactionService {
 
     // 카드사 결제 요청을 위한 WebClient 서비스
     private final WebClientService webClientService;
-    // 가맹점 정보를 조회하는 Repository
-    private final MerchantJoinRepository merchantJoinRepository;
+    // 가맹점 정보(가맹점, 서브카테고리, 카테고리) 캐시
+    private final MerchantCache merchantCache;
     // 카드 추천 및 혜택 계산을 담당하는 BenefitService
     private final BenefitService benefitService;
     // 토큰 관련 기능을 사용할 경우를 대비해 PaymentTokenService 주입
     private final PaymentTokenService paymentTokenService;
-    // 결제 피드백 정보를 저장하기 위한 Repository
-    private final PreBenefitRepository preBenefitRepository;
-    // 카드 정보 조회를 위한 Repository
-    private final CardRepository cardRepository;
-    // 유저 데이터 조회
-    private final UserRepository userRepository;
-    // 마이데이터 호출
-    private final MyDataService myDataService;
-    private final ReportService reportService;
-    private final UserCardBenefitRepository userCardBenefitRepository;
+    // 결제 시점의 유저 혜택 스냅샷 조회
     private final UserCardBenefitService userCardBenefitService;
+    // 승인 이후 후속 작업(혜택 현황, 결제 피드백, 마이데이터, 리포트) 처리
+    private final PaymentPostProcessService paymentPostProcessService;
+    // 결제 단계별 지연시간 / 결과 지표
+    private final PaymentMetrics paymentMetrics;
+    private final WorkerThreadFactory workerThreadFactory;
+
+    @Value("${payment.stage.pool-size}")
+    private int stagePoolSize;
+
+    @Value("${payment.stage.queue-capacity}")
+    private int stageQueueCapacity;
+
+    @Value("${payment.stage.timeout.merchant-millis}")
+    private long merchantTimeoutMillis;
+
+    @Value("${payment.stage.timeout.snapshot-millis}")
+    private long snapshotTimeoutMillis;
+
+    @Value("${payment.stage.timeout.benefit-millis}")
+    private long benefitTimeoutMillis;
+
+    // 카드사 승인 전 단계(가맹점 / 스냅샷 조회, 혜택 계산)를 병렬로 실행하는 전용 풀
+    private ThreadPoolExecutor stageExecutor;
+
+    @PostConstruct
+    public void init() {
+        stageExecutor = new ThreadPoolExecutor(
+                stagePoolSize, stagePoolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(stageQueueCapacity),
+                workerThreadFactory.create("payment-stage-"),
+                // 풀이 가득 차면 요청 스레드에서 직접 실행 (순차 실행과 같은 수준으로 저하)
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        stageExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stageExecutor.shutdown();
+    }
 
+    // 실시간 결제: 카드사 승인 후 바로 응답하고 후속 작업은 Outbox로 넘긴다.
     public CardTransactionDTO processPayment(int userId, String requestToken, String merchantName, int amount) {
         log.info("processPayment 시작 - userId: {}, merchantName: {}, amount: {}, requestToken: {}",
                 userId, merchantName, amount, requestToken);
 
-        MerchantJoinDto merchantJoinDto = merchantJoinRepository.findMerchantJoinDataByMerchantName(merchantName);
-        log.info("가맹점 정보 - categoryId: {}, subCategoryId: {}, merchantId: {}",
-                merchantJoinDto.getCategoryId(),
-                merchantJoinDto.getSubCategoryId(),
-                merchantJoinDto.getMerchantId());
-        LocalDateTime createdAt = LocalDateTime.now();
+        AuthorizedPayment payment = authorize(userId, requestToken, merchantName, amount, LocalDateTime.now());
+        paymentPostProcessService.enqueue(payment.toCompletedEvent(true));
+        return payment.getCardTransaction();
+    }
+
+    // 과거 결제 데이터 적재: 순서대로 반영되어야 하므로 후속 작업을 바로 처리한다.
+    public CardTransactionDTO insertPayData(int userId, String requestToken, String merchantName, int amount, LocalDateTime createdAt) {
+        log.info("InsertPayData 시작 - userId: {}, merchantName: {}, amount: {}, requestToken: {}",
+                userId, merchantName, amount, requestToken);
 
-        // 추천 카드 혜택 정보 계산
-        CalculatedBenefitDto recommendedBenefit = benefitService.recommendPaymentCard(userId, amount, merchantJoinDto, createdAt);
+        AuthorizedPayment payment = authorize(userId, requestToken, merchantName, amount, createdAt);
+        paymentPostProcessService.process(payment.toCompletedEvent(false));
+        return payment.getCardTransaction();
+    }
+
+    /**
+     * 결제 단계
+     * 1. 가맹점 조회 || 혜택 스냅샷 조회 (보유 카드, 이번 달 혜택 현황, 지난 달 실적 구간)
+     * 2. 추천 카드 혜택 계산 || 실제 결제 카드 혜택 계산
+     * 3. 카드사 승인 요청
+     * 1~2 단계는 단계별 timeout이 있고, 하나라도 실패하면 나머지 단계는 취소한다.
+     * 후속 작업은 호출하는 쪽에서 처리한다. (대량 적재는 월 단위로 모아서 처리)
+     */
+    public AuthorizedPayment authorize(int userId, String requestToken, String merchantName, int amount, LocalDateTime createdAt) {
+        Timer.Sample sample = paymentMetrics.start();
+        AuthorizedPayment payment;
+        try {
+            payment = runStages(userId, requestToken, merchantName, amount, createdAt);
+        } catch (RuntimeException e) {
+            paymentMetrics.stopPayment(sample, PaymentMetrics.OUTCOME_ERROR);
+            throw e;
+        }
+        paymentMetrics.stopPayment(sample, PaymentMetrics.authorizationOutcome(payment.getCardTransaction()));
+        return payment;
+    }
+
+    private AuthorizedPayment runStages(int userId, String requestToken, String merchantName, int amount, LocalDateTime createdAt) {
+        boolean recommendedPayment = "rebirth".equals(requestToken);
+        StageGroup group = new StageGroup();
+
+        // 1단계
+        CompletableFuture<MerchantJoinDto> merchantStage = runStage(group, "merchant", merchantTimeoutMillis,
+                () -> merchantCache.getMerchantJoinDataByName(merchantName));
+        CompletableFuture<UserBenefitSnapshot> snapshotStage = runStage(group, "snapshot", snapshotTimeoutMillis,
+                () -> userCardBenefitService.loadSnapshot(userId, createdAt));
+
+        // 2단계
+        CompletableFuture<Void> lookups = CompletableFuture.allOf(merchantStage, snapshotStage);
+        CompletableFuture<CalculatedBenefitDto> recommendStage = lookups.thenCompose(ignored ->
+                runStage(group, "recommend", benefitTimeoutMillis,
+                        () -> benefitService.recommendPaymentCard(snapshotStage.join(), amount, merchantStage.join())));
+        // 추천 카드 결제가 아닌 경우 실제 결제 카드 혜택 계산
+        CompletableFuture<RealCardBenefit> realStage = recommendedPayment
+                ? CompletableFuture.completedFuture(null)
+                : lookups.thenCompose(ignored -> runStage(group, "real-benefit", benefitTimeoutMillis, () -> {
+                    MyCard requestCard = snapshotStage.join().findCardByPermanentToken(requestToken)
+                            .orElseThrow(() -> new EntityNotFoundException("해당 카드를 찾을 수 없습니다."));
+                    return new RealCardBenefit(requestCard,
+                            benefitService.calculateRealBenefit(snapshotStage.join(), amount, merchantStage.join(), requestCard));
+                }));
+
+        awaitStages(group, merchantStage, snapshotStage, recommendStage, realStage);
+
+        MerchantJoinDto merchantJoinDto = merchantStage.join();
+        UserBenefitSnapshot snapshot = snapshotStage.join();
+        CalculatedBenefitDto recommendedBenefit = recommendStage.join();
+        log.info("가맹점 정보 - categoryId: {}, subCategoryId: {}, merchantId: {}",
+                merchantJoinDto.getCategoryId(), merchantJoinDto.getSubCategoryId(), merchantJoinDto.getMerchantId());
         if (recommendedBenefit != null) {
             log.info("추천 혜택 - myCardId: {}, permanentToken: {}, benefitId: {}, benefitAmount: {}, benefitType: {}",
                     recommendedBenefit.getMyCardId(), recommendedBenefit.getPermanentToken(),
@@ -75,21 +173,19 @@ public class PaymentTransactionService {
         }
 
         // 기본 혜택 정보 적용
-
         MyCard myCardDto = (recommendedBenefit != null) ?
-                cardRepository.findCardByPermanentTokenAndUserId(recommendedBenefit.getPermanentToken(), userId)
+                snapshot.findCardByPermanentToken(recommendedBenefit.getPermanentToken())
                         .orElseThrow(() -> new EntityNotFoundException("해당 카드를 찾을 수 없습니다.")) : null;
         BenefitType benefitType = (recommendedBenefit != null) ? recommendedBenefit.getBenefitType() : BenefitType.DISCOUNT;
         Integer benefitAmount = (recommendedBenefit != null) ? recommendedBenefit.getBenefitAmount() : 0;
         String permanentToken = (recommendedBenefit != null) ? recommendedBenefit.getPermanentToken() : requestToken;
         Integer benefitId = (recommendedBenefit != null) ? recommendedBenefit.getBenefitId() : null;
 
-        // 추천 카드 결제가 아닌 경우 실제 카드 혜택 계산
         CalculatedBenefitDto realBenefit = null;
-        if (!"rebirth".equals(requestToken)) {
-            myCardDto = cardRepository.findCardByPermanentTokenAndUserId(requestToken, userId)
-                    .orElseThrow(() -> new EntityNotFoundException("해당 카드를 찾을 수 없습니다."));
-            realBenefit = benefitService.calculateRealBenefit(userId, amount, merchantJoinDto, myCardDto, createdAt);
+        if (!recommendedPayment) {
+            RealCardBenefit realCardBenefit = realStage.join();
+            myCardDto = realCardBenefit.card;
+            realBenefit = realCardBenefit.benefit;
             if (realBenefit != null) {
                 log.info("실제 혜택 - myCardId: {}, permanentToken: {}, benefitId: {}, benefitAmount: {}, benefitType: {}",
                         realBenefit.getMyCardId(), realBenefit.getPermanentToken(),
@@ -103,14 +199,9 @@ public class PaymentTransactionService {
             }
         }
 
-        // 최종 요청 페이로드 구성
-        log.info("카드사 요청 페이로드 - permanentToken: {}", permanentToken);
-        log.info("카드사 요청 페이로드 - amount: {}", amount);
-        log.info("카드사 요청 페이로드 - merchantName: {}", merchantName);
-        log.info("카드사 요청 페이로드 - benefitId: {}", benefitId);
-        log.info("카드사 요청 페이로드 - benefitType: {}", benefitType.name());
-        log.info("카드사 요청 페이로드 - benefitAmount: {}", benefitAmount);
-        log.info("카드사 요청 페이로드 - createdAt: {}", createdAt);
+        // 3단계: 최종 요청 페이로드 구성 후 카드사 승인 요청
+        log.info("카드사 요청 페이로드 - permanentToken: {}, amount: {}, merchantName: {}, benefitId: {}, benefitType: {}, benefitAmount: {}, createdAt: {}",
+                permanentToken, amount, merchantName, benefitId, benefitType.name(), benefitAmount, createdAt);
         CreateTransactionRequestToCardsaDTO transactionRequest = CreateTransactionRequestToCardsaDTO.builder()
                 .token(permanentToken)
                 .amount(amount)
@@ -121,7 +212,6 @@ public class PaymentTransactionService {
                 .createdAt(createdAt)
                 .build();
 
-        // 카드사에 결제 요청 후 결과 수신
         CardTransactionDTO cardTransactionDTO = transactionToCardsa(transactionRequest);
         if (cardTransactionDTO != null) {
             log.info("카드사 응답 - transactionId: {}, status: {}",
@@ -130,206 +220,130 @@ public class PaymentTransactionService {
             log.warn("카드사 응답이 null입니다.");
         }
 
-        // 혜택 현황 업데이트
-        if (benefitId != null) {
-            UserCardBenefit userCardBenefit = userCardBenefitService.getUserCardBenefit(userId, benefitId, myCardDto.getCardId(), createdAt);
-
-            userCardBenefitRepository.save(
-                    userCardBenefit.toBuilder()
-                            .benefitCount((short) (userCardBenefit.getBenefitCount() + 1))
-                            .benefitAmount(userCardBenefit.getBenefitAmount() + benefitAmount)
-                            .updateDate(createdAt)
-                            .build()
-            );
-        }
-
-        // 결제 피드백 정보 업데이트
-        Integer paymentCardId = realBenefit != null
-                ? realBenefit.getMyCardId()
-                : (recommendedBenefit != null ? recommendedBenefit.getMyCardId() : null);
-        Integer recommendedCardId = recommendedBenefit != null ? recommendedBenefit.getMyCardId() : null;
-
-        // 카드 이미지 URL 조회시, 카드 ID가 null인 경우 null 또는 기본값 처리
-        String paymentCardImgUrl = (paymentCardId != null)
-                ? safeGetCardImgUrl(paymentCardId)
-                : "";
-        String recommendedCardImgUrl = (recommendedCardId != null)
-                ? safeGetCardImgUrl(recommendedCardId)
-                : "";
-
-        PreBenefit preBenefit = PreBenefit.builder()
+        return AuthorizedPayment.builder()
                 .userId(userId)
-                .paymentCardId(paymentCardId)
-                .recommendedCardId(recommendedCardId)
-                .amount(amount)
-                .ifBenefitType(recommendedBenefit != null ? recommendedBenefit.getBenefitType() : BenefitType.DISCOUNT)
-                .ifBenefitAmount(recommendedBenefit != null ? recommendedBenefit.getBenefitAmount() : 0)
-                .realBenefitType(realBenefit != null
-                        ? realBenefit.getBenefitType()
-                        : (recommendedBenefit != null ? recommendedBenefit.getBenefitType() : BenefitType.DISCOUNT))
-                .realBenefitAmount(realBenefit != null
-                        ? realBenefit.getBenefitAmount()
-                        : (recommendedBenefit != null ? recommendedBenefit.getBenefitAmount() : 0))
                 .merchantName(merchantName)
-                .paymentCardImgUrl(paymentCardImgUrl)
-                .recommendedCardImgUrl(recommendedCardImgUrl)
+                .amount(amount)
+                .createdAt(createdAt)
+                .recommendedBenefit(recommendedBenefit)
+                .realBenefit(realBenefit)
+                .paymentCard(myCardDto)
+                .benefitId(benefitId)
+                .benefitAmount(benefitAmount)
+                .cardTransaction(cardTransactionDTO)
+                .categoryId(merchantJoinDto.getCategoryId())
                 .build();
-        savePreBenefit(preBenefit);
-
-        // 마이데이터 호출 및 혜택 현황 업데이트
-        User user = userRepository.findByUserId(new UserId(userId));
-        log.info("유저 정보 - userId: {}, userName: {}", user.getUserId(), user.getUserName());
-        List<MyCard> myCards = Arrays.asList(myCardDto);
-        myDataService.loadMyTransactionByCardsForPayment(user, myCards);
-        reportService.updateMonthlyTransactionSummary(userId, LocalDateTime.now());
-
-        return cardTransactionDTO;
     }
 
-
     // 카드사에 결제 요청하는 내부 메서드
     private CardTransactionDTO transactionToCardsa(CreateTransactionRequestToCardsaDTO request) {
-        return webClientService.checkPermanentToken(request).block();
+        Timer.Sample sample = paymentMetrics.start();
+        CardTransactionDTO cardTransactionDTO;
+        try {
+            cardTransactionDTO = webClientService.checkPermanentToken(request).block();
+        } catch (RuntimeException e) {
+            paymentMetrics.stopStage(sample, "authorization", PaymentMetrics.OUTCOME_ERROR);
+            throw e;
+        }
+        paymentMetrics.stopStage(sample, "authorization", PaymentMetrics.authorizationOutcome(cardTransactionDTO));
+        return cardTransactionDTO;
     }
 
-    // 결제 피드백 정보를 저장하는 트랜잭션 처리 메서드
-    @Transactional
-    public PreBenefit savePreBenefit(PreBenefit preBenefit) {
-        log.info("결제 피드백 저장 - userId: {}, paymentCardId: {}, recommendedCardId: {}, amount: {}, ifBenefitType: {}, ifBenefitAmount: {}, realBenefitType: {}, realBenefitAmount: {}, merchantName: {}",
-                preBenefit.getUserId(), preBenefit.getPaymentCardId(), preBenefit.getRecommendedCardId(), preBenefit.getAmount(),
-                preBenefit.getIfBenefitType(), preBenefit.getIfBenefitAmount(), preBenefit.getRealBenefitType(), preBenefit.getRealBenefitAmount(),
-                preBenefit.getMerchantName());
-
-        return preBenefitRepository.findByUserId(preBenefit.getUserId())
-                .map(existing -> PreBenefit.builder()
-                        .userId(existing.getUserId()) // 기존 사용자 ID 유지
-                        .paymentCardId(preBenefit.getPaymentCardId())
-                        .recommendedCardId(preBenefit.getRecommendedCardId())
-                        .amount(preBenefit.getAmount())
-                        .ifBenefitType(preBenefit.getIfBenefitType())
-                        .ifBenefitAmount(preBenefit.getIfBenefitAmount())
-                        .realBenefitType(preBenefit.getRealBenefitType())
-                        .realBenefitAmount(preBenefit.getRealBenefitAmount())
-                        .merchantName(preBenefit.getMerchantName())
-                        .paymentCardImgUrl(preBenefit.getPaymentCardImgUrl())
-                        .recommendedCardImgUrl(preBenefit.getRecommendedCardImgUrl())
-                        .build())
-                .map(updated -> preBenefitRepository.save(updated))
-                .orElseGet(() -> preBenefitRepository.save(preBenefit));
+    // 단계 실행: 전용 풀에서 실행하고, 시간 초과 / 실패 시 단계 이름을 담은 예외로 바꾼다.
+    // 소요 시간은 풀 대기 시간을 포함해 기록한다.
+    // supplyAsync 의 future 를 취소해도 실행 중인 작업은 멈추지 않으므로, 풀에 제출한 Future 를 직접 들고
+    // 시간 초과 / 취소 시 interrupt 한다. (끝나지 않은 단계가 풀 스레드를 계속 잡지 않도록)
+    private <T> CompletableFuture<T> runStage(StageGroup group, String stageName, long timeoutMillis, Supplier<T> task) {
+        Timer.Sample sample = paymentMetrics.start();
+        CompletableFuture<T> stage = new CompletableFuture<>();
+        Future<?> running = stageExecutor.submit(() -> {
+            try {
+                stage.complete(task.get());
+            } catch (Throwable e) {
+                stage.completeExceptionally(e);
+            }
+        });
+        group.add(running);
+        return stage
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        running.cancel(true);
+                    }
+                })
+                .handle((result, ex) -> {
+                    paymentMetrics.stopStage(sample, stageName,
+                            ex == null ? PaymentMetrics.OUTCOME_SUCCESS : PaymentMetrics.OUTCOME_ERROR);
+                    if (ex == null) {
+                        return result;
+                    }
+                    Throwable cause = unwrap(ex);
+                    if (cause instanceof TimeoutException) {
+                        throw new PaymentStageException("결제 단계 시간 초과 - stage: " + stageName, cause);
+                    }
+                    if (cause instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new PaymentStageException("결제 단계 실패 - stage: " + stageName, cause);
+                });
     }
 
-    public CardTransactionDTO insertPayData(int userId, String requestToken, String merchantName, int amount, LocalDateTime createdAt) {
-        log.info("InsertPayData 시작 - userId: {}, merchantName: {}, amount: {}, requestToken: {}",
-                userId, merchantName, amount, requestToken);
+    // 모든 단계가 끝날 때까지 대기. 하나라도 실패하면 나머지를 취소(실행 중인 작업 interrupt)하고 처음 발생한 예외를 그대로 던진다.
+    private void awaitStages(StageGroup group, CompletableFuture<?>... stages) {
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        for (CompletableFuture<?> stage : stages) {
+            stage.whenComplete((result, ex) -> {
+                if (ex != null && !(unwrap(ex) instanceof CancellationException)
+                        && firstFailure.compareAndSet(null, unwrap(ex))) {
+                    group.cancelAll();
+                    for (CompletableFuture<?> other : stages) {
+                        other.cancel(true);
+                    }
+                }
+            });
+        }
 
-        MerchantJoinDto merchantJoinDto = merchantJoinRepository.findMerchantJoinDataByMerchantName(merchantName);
-        log.info("가맹점 정보 - categoryId: {}, subCategoryId: {}, merchantId: {}",
-                merchantJoinDto.getCategoryId(),
-                merchantJoinDto.getSubCategoryId(),
-                merchantJoinDto.getMerchantId());
+        try {
+            CompletableFuture.allOf(stages).join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = firstFailure.get() != null ? firstFailure.get() : unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PaymentStageException("결제 단계 실패", cause);
+        }
+    }
 
-        // 추천 카드 혜택 정보 계산
-        CalculatedBenefitDto recommendedBenefit = benefitService.recommendPaymentCard(userId, amount, merchantJoinDto, createdAt);
-        if (recommendedBenefit != null) {
-            log.info("추천 혜택 - myCardId: {}, permanentToken: {}, benefitId: {}, benefitAmount: {}, benefitType: {}",
-                    recommendedBenefit.getMyCardId(), recommendedBenefit.getPermanentToken(),
-                    recommendedBenefit.getBenefitId(), recommendedBenefit.getBenefitAmount(), recommendedBenefit.getBenefitType());
-        } else {
-            log.warn("추천 혜택 정보가 없음.");
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        return cause;
+    }
 
-        // 기본 혜택 정보 적용
-        MyCard myCardDto = (recommendedBenefit != null) ?
-                cardRepository.findCardByPermanentTokenAndUserId(recommendedBenefit.getPermanentToken(), userId)
-                        .orElseThrow(() -> new EntityNotFoundException("해당 카드를 찾을 수 없습니다.")) : null;
-        BenefitType benefitType = (recommendedBenefit != null) ? recommendedBenefit.getBenefitType() : BenefitType.DISCOUNT;
-        Integer benefitAmount = (recommendedBenefit != null) ? recommendedBenefit.getBenefitAmount() : 0;
-        String permanentToken = (recommendedBenefit != null) ? recommendedBenefit.getPermanentToken() : requestToken;
-        Integer benefitId = (recommendedBenefit != null) ? recommendedBenefit.getBenefitId() : null;
+    // 한 결제의 단계 작업들. 취소된 뒤에 시작되는 단계(2단계)는 제출 즉시 취소한다.
+    private static final class StageGroup {
+        private final List<Future<?>> tasks = new ArrayList<>();
+        private boolean cancelled;
 
-        // 추천 카드 결제가 아닌 경우 실제 카드 혜택 계산
-        CalculatedBenefitDto realBenefit = null;
-        if (!"rebirth".equals(requestToken)) {
-            myCardDto = cardRepository.findCardByPermanentTokenAndUserId(requestToken,userId)
-                    .orElseThrow(() -> new EntityNotFoundException("해당 카드를 찾을 수 없습니다."));
-            realBenefit = benefitService.calculateRealBenefit(userId, amount, merchantJoinDto, myCardDto, createdAt);
-            if (realBenefit != null) {
-                log.info("실제 혜택 - myCardId: {}, permanentToken: {}, benefitId: {}, benefitAmount: {}, benefitType: {}",
-                        realBenefit.getMyCardId(), realBenefit.getPermanentToken(),
-                        realBenefit.getBenefitId(), realBenefit.getBenefitAmount(), realBenefit.getBenefitType());
-                benefitType = realBenefit.getBenefitType();
-                benefitAmount = realBenefit.getBenefitAmount();
-                permanentToken = realBenefit.getPermanentToken();
-                benefitId = realBenefit.getBenefitId();
+        synchronized void add(Future<?> task) {
+            if (cancelled) {
+                task.cancel(true);
             } else {
-                log.warn("실제 혜택 정보가 없음. 추천 혜택 사용.");
+                tasks.add(task);
             }
         }
 
-        // 최종 요청 페이로드 구성
-        log.info("카드사 요청 페이로드 - permanentToken: {}", permanentToken);
-        log.info("카드사 요청 페이로드 - amount: {}", amount);
-        log.info("카드사 요청 페이로드 - merchantName: {}", merchantName);
-        log.info("카드사 요청 페이로드 - benefitId: {}", benefitId);
-        log.info("카드사 요청 페이로드 - benefitType: {}", benefitType.name());
-        log.info("카드사 요청 페이로드 - benefitAmount: {}", benefitAmount);
-        log.info("카드사 요청 페이로드 - createdAt: {}", createdAt);
-        CreateTransactionRequestToCardsaDTO transactionRequest = CreateTransactionRequestToCardsaDTO.builder()
-                .token(permanentToken)
-                .amount(amount)
-                .merchantName(merchantName)
-                .benefitId(benefitId)
-                .benefitType(benefitType.name())
-                .benefitAmount(benefitAmount)
-                .createdAt(createdAt)
-                .build();
-
-        // 카드사에 결제 요청 후 결과 수신
-        CardTransactionDTO cardTransactionDTO = transactionToCardsa(transactionRequest);
-        if (cardTransactionDTO != null) {
-            log.info("카드사 응답 - transactionId: {}, status: {}",
-                    cardTransactionDTO.getApprovalCode(), cardTransactionDTO.getCreatedAt());
-        } else {
-            log.warn("카드사 응답이 null입니다.");
-        }
-
-        // 혜택 현황 업데이트
-        if (benefitId != null) {
-            UserCardBenefit userCardBenefit = userCardBenefitService.getUserCardBenefit(userId, benefitId, myCardDto.getCardId(), createdAt);
-
-            userCardBenefitRepository.save(
-                    userCardBenefit.toBuilder()
-                            .benefitCount((short) (userCardBenefit.getBenefitCount() + 1))
-                            .benefitAmount(userCardBenefit.getBenefitAmount() + benefitAmount)
-                            .updateDate(createdAt)
-                            .build()
-            );
+        synchronized void cancelAll() {
+            cancelled = true;
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
         }
-
-        // 마이데이터 호출 및 혜택 현황 업데이트
-        User user = userRepository.findByUserId(new UserId(userId));
-        log.info("유저 정보 - userId: {}, userName: {}", user.getUserId(), user.getUserName());
-        List<MyCard> myCards = Arrays.asList(myCardDto);
-
-        // 마이데이터 가져오기 호출
-        log.info("유저 정보 - userId: {} + 마이데이터 호출하기직전 ++++++ ", user.getUserId());
-        myDataService.loadMyTransactionByCardsForPayment(user, myCards);
-
-        // 리포트 업데이트(이것도 현재 기준이라 없애야 할듯?)
-        reportService.updateMonthlyTransactionSummary(userId, createdAt);
-
-        return cardTransactionDTO;
     }
 
-    private String safeGetCardImgUrl(Integer cardId) {
-        try {
-            // repository 메서드는 카드 이미지가 없으면 예외를 발생시킴.
-            return cardRepository.getCardImgUrlByCardId(cardId);
-        } catch (RuntimeException ex) {
-            log.error("Card image URL 조회 실패 - cardId: {}", cardId, ex);
-            // 예외를 발생시키지 않고 빈 문자열 반환하거나 기본값 처리
-            return "";
-        }
+    // 실제 결제 카드와 그 카드의 혜택 계산 결과
+    private record RealCardBenefit(MyCard card, CalculatedBenefitDto benefit) {
     }
-
-}
\ No newline at end of file
+}
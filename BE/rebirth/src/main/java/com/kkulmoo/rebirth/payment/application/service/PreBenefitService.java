@@ -26,6 +26,8 @@ public class PreBenefitService {
                         .realBenefitType(preBenefit.getRealBenefitType())
                         .realBenefitAmount(preBenefit.getRealBenefitAmount())
                         .merchantName(preBenefit.getMerchantName())
+                        .paymentCardImgUrl(preBenefit.getPaymentCardImgUrl())
+                        .recommendedCardImgUrl(preBenefit.getRecommendedCardImgUrl())
                         .build())
                 .map(updated -> preBenefitRepository.save(updated))
                 .orElseGet(() -> preBenefitRepository.save(preBenefit));
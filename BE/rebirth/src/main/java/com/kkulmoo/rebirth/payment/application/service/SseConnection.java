@@ -0,0 +1,65 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 이 인스턴스에 붙은 SSE 연결 1개
+// 쓰기 시작 시각을 기록해 두면 heartbeat 타이머가 쓰기를 기다리지 않고도 멈춘(느린) 연결을 찾아낼 수 있다.
+@Getter
+public class SseConnection {
+
+    private final String uniqueId;
+    private final int userId;
+    private final SseEmitter emitter;
+
+    // 진행 중인 쓰기의 시작 시각(nanoTime), 쓰기 중이 아니면 0
+    private final AtomicLong writingSince = new AtomicLong();
+    // complete / timeout / error 콜백을 받으면 true (이 상태로 맵에 남아 있으면 누수)
+    private volatile boolean closed;
+    private volatile ScheduledFuture<?> heartbeat;
+
+    public SseConnection(String uniqueId, int userId, SseEmitter emitter) {
+        this.uniqueId = uniqueId;
+        this.userId = userId;
+        this.emitter = emitter;
+    }
+
+    public void send(SseEmitter.SseEventBuilder event) throws IOException {
+        writingSince.compareAndSet(0, System.nanoTime());
+        try {
+            emitter.send(event);
+        } finally {
+            writingSince.set(0);
+        }
+    }
+
+    public boolean isWriting() {
+        return writingSince.get() != 0;
+    }
+
+    // 진행 중인 쓰기가 thresholdNanos 이상 끝나지 않은 경우
+    public boolean isStalled(long thresholdNanos) {
+        long since = writingSince.get();
+        return since != 0 && System.nanoTime() - since > thresholdNanos;
+    }
+
+    public void markClosed() {
+        closed = true;
+        ScheduledFuture<?> scheduled = heartbeat;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    void setHeartbeat(ScheduledFuture<?> heartbeat) {
+        this.heartbeat = heartbeat;
+        // 예약 직전에 닫힌 연결이면 방금 예약한 heartbeat 도 취소
+        if (closed) {
+            heartbeat.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * SSE heartbeat 스케줄러
+ * - 연결마다 타이머(ScheduledThreadPoolExecutor)에 다음 heartbeat 를 예약한다. 연결 시각 기준으로 예약되므로 전체 연결을 한 번에 훑지 않고 고르게 퍼진다.
+ * - 다음 heartbeat 는 쓰기 전에 예약한다. 쓰기가 멈춰도 다음 주기에 타이머가 멈춘 연결을 찾아낸다.
+ * - 타이머 스레드는 쓰기를 하지 않고, 쓰기마다 가상 스레드를 하나씩 쓴다. 느린 클라이언트의 쓰기는 자기 가상 스레드만 붙잡는다.
+ *   (연결당 진행 중인 쓰기는 최대 1개이므로 동시 쓰기 수는 연결 수를 넘지 않는다)
+ * - 이전 쓰기가 아직 끝나지 않은 연결은 타이머 스레드에서 바로 판단한다(블로킹 없음).
+ *   stall-millis 이상 멈춰 있으면 끊고, 그 전이면 이번 heartbeat 만 건너뛴다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SseHeartbeatScheduler {
+
+    public static final String EVICT_WRITE_ERROR = "write_error";
+    public static final String EVICT_STALLED = "stalled";
+    public static final String EVICT_LEAKED = "leaked";
+
+    private static final long RECONNECTION_TIMEOUT = 1000L;
+
+    private final WorkerThreadFactory workerThreadFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sse.heartbeat.interval-millis}")
+    private long intervalMillis;
+
+    @Value("${sse.heartbeat.stall-millis}")
+    private long stallMillis;
+
+    private ScheduledThreadPoolExecutor timer;
+    // 쓰기마다 가상 스레드 (멈춘 쓰기가 공유 풀 스레드를 붙잡지 않도록 spring.threads.virtual.enabled 와 무관하게 가상 스레드)
+    private ExecutorService writeExecutor;
+    // 연결 정리(Redis 소유 해제, emitter complete)는 타이머 / 샤드 스레드를 붙잡지 않도록 따로 실행
+    private ExecutorService evictExecutor;
+
+    private Consumer<SseConnection> onAlive;
+    private BiConsumer<SseConnection, String> onEvict;
+
+    @PostConstruct
+    public void init() {
+        timer = new ScheduledThreadPoolExecutor(1, workerThreadFactory.create("sse-heartbeat-timer-"));
+        // 연결이 끊길 때 취소한 예약은 큐에서 바로 뺀다. (연결 수만큼 취소된 작업이 쌓이지 않도록)
+        timer.setRemoveOnCancelPolicy(true);
+        writeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-heartbeat-", 0).factory());
+        evictExecutor = Executors.newSingleThreadExecutor(workerThreadFactory.create("sse-evict-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        writeExecutor.shutdownNow();
+        evictExecutor.shutdownNow();
+    }
+
+    // heartbeat 성공 시 / 연결 정리가 필요할 때 호출할 콜백 (SseService 가 등록)
+    public void listen(Consumer<SseConnection> onAlive, BiConsumer<SseConnection, String> onEvict) {
+        this.onAlive = onAlive;
+        this.onEvict = onEvict;
+    }
+
+    public void register(SseConnection connection) {
+        schedule(connection);
+    }
+
+    private void schedule(SseConnection connection) {
+        if (connection.isClosed()) {
+            return;
+        }
+        try {
+            connection.setHeartbeat(timer.schedule(() -> onTick(connection), intervalMillis, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    // 타이머 스레드: 판단과 다음 예약만 하고 쓰기는 가상 스레드로 넘긴다.
+    private void onTick(SseConnection connection) {
+        if (connection.isClosed()) {
+            // 콜백을 받고도 맵에서 빠지지 않은 연결
+            evict(connection, EVICT_LEAKED);
+            return;
+        }
+        if (connection.isStalled(TimeUnit.MILLISECONDS.toNanos(stallMillis))) {
+            evict(connection, EVICT_STALLED);
+            return;
+        }
+        schedule(connection);
+        if (connection.isWriting()) {
+            // 이전 쓰기가 아직 진행 중 -> 이번 heartbeat 는 건너뛰고 다음 주기에 다시 판단
+            return;
+        }
+        try {
+            writeExecutor.execute(() -> beat(connection));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private void beat(SseConnection connection) {
+        try {
+            connection.send(SseEmitter.event()
+                    .name("heartbeat")
+                    .data("ping")
+                    .reconnectTime(RECONNECTION_TIMEOUT));
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Failed to send heartbeat to userId: {}. Marking for removal.", connection.getUniqueId());
+            evict(connection, EVICT_WRITE_ERROR);
+            return;
+        }
+        if (onAlive != null) {
+            onAlive.accept(connection);
+        }
+    }
+
+    private void evict(SseConnection connection, String reason) {
+        Counter.builder("sse.evictions")
+                .description("heartbeat 로 정리한 SSE 연결 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        if (onEvict == null) {
+            return;
+        }
+        try {
+            evictExecutor.execute(() -> onEvict.accept(connection, reason));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+}
@@ -1,42 +1,103 @@
 package com.kkulmoo.rebirth.payment.application.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkulmoo.rebirth.common.cluster.ServerInstance;
+import com.kkulmoo.rebirth.payment.domain.SseEvent;
+import com.kkulmoo.rebirth.payment.domain.repository.SseEventRepository;
+import com.kkulmoo.rebirth.payment.domain.repository.SseRouteRepository;
 import com.kkulmoo.rebirth.payment.domain.repository.SseUUIDRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * SSE 연결 관리 / 결제 이벤트 전송
+ * - emitter 는 연결을 받은 인스턴스 메모리에만 있으므로, 연결 소유 인스턴스를 Redis(SSE:OWNER:{uniqueId})에 등록한다.
+ * - 다른 인스턴스에 붙은 연결로 보낼 때는 소유 인스턴스의 pending hash 에 이벤트를 적재한 뒤 인스턴스 채널로 publish 하고,
+ *   소유 인스턴스가 emitter 로 전송한 뒤 pending 에서 지운다(ack).
+ * - pub/sub 은 유실될 수 있으므로 소유 인스턴스가 주기적으로 오래된 pending 을 다시 전송한다(at-least-once, 클라이언트는 event id 로 중복 제거).
+ * - heartbeat 와 죽은 연결 정리는 SseHeartbeatScheduler 가 연결 단위로 처리한다.
+ * - 결제 이벤트는 유저별 시퀀스 id 를 붙여 Redis 링버퍼(SSE:EVENTS:{userId})에 남기고, 재연결 시 Last-Event-ID 이후 이벤트를 재전송한다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SseService {
 
+    private static final String PAYMENT_EVENT_NAME = "결제중";
+
     private final SseUUIDRepository sseUUIDRepository;
+    private final SseRouteRepository sseRouteRepository;
+    private final SseEventRepository sseEventRepository;
+    private final ServerInstance serverInstance;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final SseHeartbeatScheduler sseHeartbeatScheduler;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sse.route.owner-ttl-seconds}")
+    private long ownerTtlSeconds;
+
+    @Value("${sse.route.redelivery-millis}")
+    private long redeliveryMillis;
+
+    @Value("${sse.route.pending-max-age-millis}")
+    private long pendingMaxAgeMillis;
+
+    @Value("${sse.replay.buffer-size}")
+    private int replayBufferSize;
 
-    private final Map<String, SseEmitter> emitterMap = new ConcurrentHashMap<>();
+    @Value("${sse.replay.ttl-seconds}")
+    private long replayTtlSeconds;
+
+    // uniqueId -> 이 인스턴스에 붙은 연결
+    private final Map<String, SseConnection> connections = new ConcurrentHashMap<>();
     private static final long TIMEOUT = 1200 * 1000;
     private static final long RECONNECTION_TIMEOUT = 1000L;
-    private static final long HEARTBEAT_INTERVAL = 10 * 1000; // 30초
 
+    // 인스턴스 간 이벤트 재전송용
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
-    public SseService(SseUUIDRepository sseUUIDRepository) {
-        this.sseUUIDRepository = sseUUIDRepository;
-    }
-
     @PostConstruct
     public void init() {
-        // 30초마다 heartbeat를 전송하는 스케줄러 설정
-        scheduler.scheduleAtFixedRate(this::sendHeartbeatToAll, HEARTBEAT_INTERVAL, HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+        // heartbeat 는 연결마다 타이머 휠에 예약 (SseHeartbeatScheduler)
+        sseHeartbeatScheduler.listen(connection -> renewOwner(connection.getUniqueId()), this::evict);
+        // ack 되지 않은 인스턴스 간 이벤트 재전송
+        scheduler.scheduleAtFixedRate(this::redeliverPending, redeliveryMillis, redeliveryMillis, TimeUnit.MILLISECONDS);
+        // 이 인스턴스 채널로 들어오는 이벤트 구독
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onRoutedEvent(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(sseRouteRepository.channelOf(serverInstance.getInstanceId())));
+
+        Gauge.builder("sse.connections", connections, Map::size)
+                .description("이 인스턴스의 SSE 연결 수")
+                .tag("state", "active")
+                .register(meterRegistry);
+        // complete / timeout / error 콜백을 받고도 맵에 남아 있는 연결 (0 이어야 정상)
+        Gauge.builder("sse.connections", this, SseService::countLeaked)
+                .description("이 인스턴스의 SSE 연결 수")
+                .tag("state", "leaked")
+                .register(meterRegistry);
     }
 
     @PreDestroy
@@ -44,135 +105,309 @@ public class SseService {
         scheduler.shutdown();
     }
 
-    public SseEmitter subscribe(int userId, String uniqueId) {
+    // lastEventId: 재연결 시 브라우저 / 앱이 보내는 Last-Event-ID (마지막으로 받은 이벤트 시퀀스)
+    public SseEmitter subscribe(int userId, String uniqueId, String lastEventId) {
         SseEmitter emitter = createEmitter();
+        SseConnection connection = new SseConnection(uniqueId, userId, emitter);
 
-        // SseEmitter를 userId와 매핑하여 emitterMap에 저장
-        emitterMap.put(uniqueId, emitter);
+        // uniqueId로 연결 저장. 같은 uniqueId로 재연결하면 이전 연결은 닫는다.
+        SseConnection previous = connections.put(uniqueId, connection);
+        if (previous != null) {
+            previous.markClosed();
+            previous.getEmitter().complete();
+        }
 
         // redis에 맵핑해서 저장하기
         sseUUIDRepository.saveUuid(String.valueOf(userId),uniqueId);
+        // 이 연결을 가진 인스턴스 등록 (heartbeat 마다 연장)
+        sseRouteRepository.saveOwner(uniqueId, serverInstance.getInstanceId(), ownerTtl());
 
         // 연결 세션 timeout 이벤트 핸들러 등록
         emitter.onTimeout(() -> {
             log.info("server sent event timed out : userId={}", userId);
-            emitterMap.remove(userId);
-            sseUUIDRepository.deleteUuid(String.valueOf(userId));
+            close(connection);
             emitter.complete();
         });
 
         // 에러 핸들러 등록
         emitter.onError(e -> {
             log.info("server sent event error occurred : userId={}, message={}", userId, e.getMessage());
-            emitterMap.remove(userId);
-            sseUUIDRepository.deleteUuid(String.valueOf(userId));
+            close(connection);
             emitter.complete();
         });
 
         // SSE complete 핸들러 등록
         emitter.onCompletion(() -> {
-            if (emitterMap.remove(userId) != null) {
+            if (close(connection)) {
                 log.info("server sent event removed in emitter cache: userId={}", userId);
             }
-            sseUUIDRepository.deleteUuid(String.valueOf(userId));
-
             log.info("disconnected by completed server sent event: userId={}", userId);
         });
 
+        // 끊긴 사이의 이벤트를 먼저 재전송하고 연결 이벤트를 보낸다.
+        // 연결 이벤트 id 가 먼저 나가면 Last-Event-ID 가 아직 받지 못한 이벤트를 앞질러, 재전송 중에 끊겼을 때 그 이벤트를 다시 요청하지 못한다.
+        long currentSequence = sseEventRepository.currentSequence(userId);
+        long deliveredSequence = replayMissedEvents(connection, lastEventId, currentSequence);
+        if (deliveredSequence < 0) {
+            return emitter;
+        }
+
         // 초기 연결시에 응답 데이터를 전송할 수도 있다.
+        // id 를 현재 시퀀스로 보내 두면 이후 끊겼다 재연결할 때 그 사이 이벤트를 Last-Event-ID 로 찾을 수 있다.
         try {
             SseEmitter.SseEventBuilder event = SseEmitter.event()
                     .name("결제이벤트")
-                    .id(String.valueOf("id-1"))
+                    .id(String.valueOf(Math.max(currentSequence, deliveredSequence)))
                     .data("SSE 최초 연결 서버에서 보내는 메시지")
                     .reconnectTime(RECONNECTION_TIMEOUT);
-            emitter.send(event);
+            connection.send(event);
         } catch (IOException e) {
             log.error("failure send media position data, userId={}, {}", userId, e.getMessage());
-            emitterMap.remove(userId); // 초기 메시지 전송 실패 시 emitter 제거
+            close(connection); // 초기 메시지 전송 실패 시 emitter 제거
             emitter.complete();
+            return emitter;
         }
 
+        sseHeartbeatScheduler.register(connection);
         return emitter;
     }
 
-    public void sendToUser(String uniqueId, String message) {
-        log.info("유저한테 sse 보내는중: {}", uniqueId);
-        SseEmitter emitter = emitterMap.get(uniqueId);
-        if (emitter != null) {
+    // Last-Event-ID 이후 링버퍼에 남아 있는 이벤트를 순서대로 재전송
+    // 마지막으로 보낸 이벤트 시퀀스(보낸 것이 없으면 0)를 반환하고, 전송 실패로 연결을 정리했으면 -1
+    private long replayMissedEvents(SseConnection connection, String lastEventId, long currentSequence) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            // 이전 형식 id (id-1 등)
+            return 0;
+        }
+        // 시퀀스 키가 초기화된 경우 (Redis 재시작 등) 남아 있는 이벤트 전체
+        if (lastSequence > currentSequence) {
+            lastSequence = 0;
+        }
+
+        List<String> recent = sseEventRepository.findRecent(connection.getUserId());
+        int replayed = 0;
+        long deliveredSequence = 0;
+        // 링버퍼는 최신순이므로 뒤에서부터(오래된 것부터) 전송
+        for (int i = recent.size() - 1; i >= 0; i--) {
             try {
-                SseEmitter.SseEventBuilder event = SseEmitter.event()
-                        .name("결제중")
-                        .id(String.valueOf(System.currentTimeMillis())) // 고유한 ID 생성
-                        .data(message)
-                        .reconnectTime(RECONNECTION_TIMEOUT);
-                emitter.send(event);
-                log.debug("메시지 전송 성공: userId={}", uniqueId);
+                SseEvent event = objectMapper.readValue(recent.get(i), SseEvent.class);
+                long sequence = Long.parseLong(event.getEventId());
+                if (sequence <= lastSequence) {
+                    continue;
+                }
+                connection.send(SseEmitter.event()
+                        .name(event.getName())
+                        .id(event.getEventId())
+                        .data(event.getData())
+                        .reconnectTime(RECONNECTION_TIMEOUT));
+                replayed++;
+                deliveredSequence = Math.max(deliveredSequence, sequence);
             } catch (IOException e) {
-                log.error("메시지 전송 실패, userId={}, error={}", uniqueId, e.getMessage());
-                // 연결이 끊어진 것으로 판단
-                removeEmitter(uniqueId);
+                log.warn("SSE 이벤트 재전송 실패 - userId: {}, {}", connection.getUserId(), e.getMessage());
+                evict(connection, SseHeartbeatScheduler.EVICT_WRITE_ERROR);
+                return -1;
+            } catch (RuntimeException e) {
+                log.warn("SSE 링버퍼 이벤트 파싱 실패 - userId: {}", connection.getUserId(), e);
             }
-        } else {
-            log.warn("해당 userId에 대한 emitter를 찾을 수 없음: {}", uniqueId);
         }
+        if (replayed > 0) {
+            log.info("SSE 누락 이벤트 재전송 - userId: {}, lastEventId: {}, count: {}", connection.getUserId(), lastEventId, replayed);
+        }
+        return deliveredSequence;
     }
-    private void removeEmitter(String uniqueId) {
-        SseEmitter emitter = emitterMap.remove(uniqueId);
-        if (emitter != null) {
-            try {
-                emitter.complete();
-                log.info("Emitter removed for userId: {}", uniqueId);
-            } catch (Exception e) {
-                log.error("Error while completing emitter for userId: {}", uniqueId, e);
+
+    // 연결을 맵에서 제거하고 소유 등록 해제. 이미 다른 연결로 교체된 경우 새 연결은 건드리지 않는다.
+    // 유저 -> uniqueId 매핑도 이 연결을 가리킬 때만 지운다. (다른 인스턴스에 재연결하며 덮어쓴 매핑 보존)
+    private boolean close(SseConnection connection) {
+        connection.markClosed();
+        boolean removed = connections.remove(connection.getUniqueId(), connection);
+        if (removed) {
+            sseUUIDRepository.deleteUuid(String.valueOf(connection.getUserId()), connection.getUniqueId());
+            releaseOwner(connection.getUniqueId());
+        }
+        return removed;
+    }
+
+    // heartbeat 실패 / 멈춤 / 누수로 정리
+    private void evict(SseConnection connection, String reason) {
+        close(connection);
+        try {
+            connection.getEmitter().complete();
+        } catch (Exception e) {
+            log.debug("Error while completing emitter for userId: {}", connection.getUniqueId(), e);
+        }
+        log.info("Removed dead emitter for userId: {}, reason: {}", connection.getUniqueId(), reason);
+    }
+
+    private double countLeaked() {
+        long leaked = 0;
+        for (SseConnection connection : connections.values()) {
+            if (connection.isClosed()) {
+                leaked++;
             }
         }
+        return leaked;
     }
 
-    /**
-     * 모든 연결된 클라이언트에게 heartbeat 메시지를 전송
-     */
-    private void sendHeartbeatToAll() {
-        log.debug("Sending heartbeat to all connected clients. Current connections: {}", emitterMap.size());
+    public void sendToUser(int userId, String uniqueId, String message) {
+        log.info("유저한테 sse 보내는중: {}", uniqueId);
+        SseEvent event = SseEvent.builder()
+                .eventId(String.valueOf(sseEventRepository.nextSequence(userId)))
+                .userId(userId)
+                .uniqueId(uniqueId)
+                .name(PAYMENT_EVENT_NAME)
+                .data(message)
+                .createdAt(System.currentTimeMillis())
+                .build();
 
-        // ConcurrentModificationException 방지를 위해 복사본 사용
-        List<String> deadEmitters = new ArrayList<>();
+        // 연결이 끊겨 있어도 재연결 시 재전송할 수 있도록 먼저 링버퍼에 저장
+        try {
+            sseEventRepository.append(userId, objectMapper.writeValueAsString(event),
+                    replayBufferSize, Duration.ofSeconds(replayTtlSeconds));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("SSE 이벤트 직렬화 실패", e);
+        }
 
-        emitterMap.forEach((uniqueId, emitter) -> {
-            try {
-                SseEmitter.SseEventBuilder event = SseEmitter.event()
-                        .name("heartbeat")
-                        .data("ping")
-                        .reconnectTime(RECONNECTION_TIMEOUT);
-                emitter.send(event);
-                log.debug("Heartbeat sent to userId: {}", uniqueId);
-            } catch (IOException e) {
-                log.warn("Failed to send heartbeat to userId: {}. Marking for removal.", uniqueId);
-                deadEmitters.add(uniqueId);
-            }
-        });
+        // 연결이 이 인스턴스에 있으면 바로 전송
+        if (uniqueId != null && connections.containsKey(uniqueId)) {
+            sendLocal(event);
+            return;
+        }
 
-        // 실패한 emitter 정리
-        for (String uniqueId : deadEmitters) {
-            SseEmitter emitter = emitterMap.remove(uniqueId);
-            if (emitter != null) {
-                emitter.complete();
-                log.info("Removed dead emitter for userId: {}",uniqueId);
+        String owner = uniqueId != null ? sseRouteRepository.findOwner(uniqueId) : null;
+        if (owner == null) {
+            log.warn("해당 userId에 대한 emitter를 찾을 수 없음: {}", uniqueId);
+            return;
+        }
+        if (owner.equals(serverInstance.getInstanceId())) {
+            // 이 인스턴스 소유로 남아 있지만 emitter 가 이미 정리된 경우
+            log.warn("해당 userId에 대한 emitter를 찾을 수 없음: {}", uniqueId);
+            releaseOwner(uniqueId);
+            return;
+        }
+
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            // 먼저 pending 에 적재해야 publish 유실 시에도 소유 인스턴스가 재전송할 수 있다.
+            sseRouteRepository.savePending(owner, event.pendingKey(), payload, Duration.ofMillis(pendingMaxAgeMillis));
+            sseRouteRepository.publish(owner, payload);
+            log.debug("SSE 이벤트 라우팅: uniqueId={}, owner={}, eventId={}", uniqueId, owner, event.getEventId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("SSE 이벤트 직렬화 실패", e);
+        }
+    }
+
+    // 이 인스턴스의 emitter 로 전송. 연결이 없거나 전송에 실패하면 false
+    private boolean sendLocal(SseEvent sseEvent) {
+        String uniqueId = sseEvent.getUniqueId();
+        SseConnection connection = connections.get(uniqueId);
+        if (connection == null) {
+            return false;
+        }
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name(sseEvent.getName())
+                    .id(sseEvent.getEventId())
+                    .data(sseEvent.getData())
+                    .reconnectTime(RECONNECTION_TIMEOUT);
+            connection.send(event);
+            log.debug("메시지 전송 성공: userId={}", uniqueId);
+            return true;
+        } catch (IOException e) {
+            log.error("메시지 전송 실패, userId={}, error={}", uniqueId, e.getMessage());
+            // 연결이 끊어진 것으로 판단
+            evict(connection, SseHeartbeatScheduler.EVICT_WRITE_ERROR);
+            return false;
+        }
+    }
+
+    // 다른 인스턴스가 이 인스턴스 채널로 보낸 이벤트
+    private void onRoutedEvent(String payload) {
+        try {
+            deliverRouted(objectMapper.readValue(payload, SseEvent.class));
+        } catch (Exception e) {
+            log.error("SSE 라우팅 이벤트 처리 실패: {}", payload, e);
+        }
+    }
+
+    // 전송 성공 또는 연결이 없어 더 보낼 곳이 없으면 pending 에서 제거(ack)
+    private void deliverRouted(SseEvent event) {
+        if (!sendLocal(event)) {
+            log.warn("라우팅된 SSE 이벤트의 연결 없음 - uniqueId: {}, eventId: {}", event.getUniqueId(), event.getEventId());
+        }
+        sseRouteRepository.deletePending(serverInstance.getInstanceId(), event.pendingKey());
+    }
+
+    // pub/sub 으로 받지 못한(ack 되지 않은) 이벤트 재전송, 너무 오래된 이벤트는 폐기
+    private void redeliverPending() {
+        try {
+            long now = System.currentTimeMillis();
+            Map<String, String> pending = sseRouteRepository.findPending(serverInstance.getInstanceId());
+            for (Map.Entry<String, String> entry : pending.entrySet()) {
+                SseEvent event = objectMapper.readValue(entry.getValue(), SseEvent.class);
+                long age = now - event.getCreatedAt();
+                if (age > pendingMaxAgeMillis) {
+                    log.warn("SSE 이벤트 폐기(만료) - uniqueId: {}, eventId: {}", event.getUniqueId(), event.getEventId());
+                    sseRouteRepository.deletePending(serverInstance.getInstanceId(), entry.getKey());
+                } else if (age > redeliveryMillis) {
+                    log.info("SSE 이벤트 재전송 - uniqueId: {}, eventId: {}", event.getUniqueId(), event.getEventId());
+                    deliverRouted(event);
+                }
             }
+        } catch (Exception e) {
+            log.error("SSE pending 이벤트 재전송 실패", e);
         }
     }
 
+    private void renewOwner(String uniqueId) {
+        try {
+            sseRouteRepository.renewOwner(uniqueId, serverInstance.getInstanceId(), ownerTtl());
+        } catch (Exception e) {
+            log.warn("SSE 소유 인스턴스 연장 실패 - uniqueId: {}", uniqueId, e);
+        }
+    }
+
+    private void releaseOwner(String uniqueId) {
+        try {
+            sseRouteRepository.deleteOwner(uniqueId, serverInstance.getInstanceId());
+        } catch (Exception e) {
+            log.warn("SSE 소유 인스턴스 해제 실패 - uniqueId: {}", uniqueId, e);
+        }
+    }
+
+    private Duration ownerTtl() {
+        return Duration.ofSeconds(ownerTtlSeconds);
+    }
+
     /**
      * 현재 연결된 클라이언트 수 반환
      */
     public int getActiveConnectionCount() {
-        return emitterMap.size();
+        return connections.size();
     }
 
     private SseEmitter createEmitter() {
         return new SseEmitter(TIMEOUT);
     }
 
+    // 결제 화면 bootstrap: 서버에서 구독 ID를 발급하고 userId 매핑을 미리 저장 (앱은 이 ID로 subscribe)
+    public String reserveSubscription(int userId) {
+        String uniqueId = UUID.randomUUID().toString();
+        sseUUIDRepository.saveUuid(String.valueOf(userId), uniqueId);
+        return uniqueId;
+    }
+
+    // 지금까지 발급된 마지막 결제 이벤트 id (구독 시 Last-Event-ID 로 사용)
+    public String currentEventId(int userId) {
+        return String.valueOf(sseEventRepository.currentSequence(userId));
+    }
+
     public String getUniqueId(String userId){
         return sseUUIDRepository.findById(userId);
     }
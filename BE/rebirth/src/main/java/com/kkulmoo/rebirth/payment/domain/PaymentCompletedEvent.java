@@ -0,0 +1,39 @@
+package com.kkulmoo.rebirth.payment.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 카드사 승인 이후 비동기로 처리할 후속 작업(혜택 현황, 결제 피드백, 마이데이터, 리포트)에 필요한 정보
+// BenefitType은 객체 형태로 직렬화되므로 enum 이름(String)으로 보관한다.
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentCompletedEvent {
+    private String eventId;
+    private Integer userId;
+    // 실제 결제된 카드
+    private Integer cardId;
+    private Integer benefitId;
+    private Integer benefitAmount;
+    private Integer amount;
+    private String merchantName;
+    private LocalDateTime createdAt;
+
+    // 결제 피드백(PreBenefit) 저장 여부 - 실시간 결제일 때만 저장
+    private boolean recordPreBenefit;
+    private Integer paymentCardId;
+    private Integer recommendedCardId;
+    private String ifBenefitType;
+    private Integer ifBenefitAmount;
+    private String realBenefitType;
+    private Integer realBenefitAmount;
+
+    // 리포트 증분 반영 정보 - 가맹점 카테고리 / 카드사 승인 금액(거절이면 null)
+    private Integer categoryId;
+    private Integer approvedAmount;
+}
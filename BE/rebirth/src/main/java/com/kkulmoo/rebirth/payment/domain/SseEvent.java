@@ -0,0 +1,27 @@
+package com.kkulmoo.rebirth.payment.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 결제 SSE 이벤트 (유저별 링버퍼, 인스턴스 간 pub/sub / pending hash 에 JSON 으로 저장)
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SseEvent {
+    // 유저별 단조 증가 시퀀스 (SSE id, 재연결 시 Last-Event-ID 로 돌아온다)
+    private String eventId;
+    private int userId;
+    private String uniqueId;
+    private String name;
+    private String data;
+    // 발행 시각(epoch millis). 재전송 / 폐기 판단에 사용
+    private long createdAt;
+
+    // 인스턴스 pending hash 필드 (eventId 는 유저별 시퀀스이므로 연결과 묶어서 구분)
+    public String pendingKey() {
+        return uniqueId + ":" + eventId;
+    }
+}
@@ -4,11 +4,16 @@ import com.kkulmoo.rebirth.payment.domain.CardTemplate;
 import com.kkulmoo.rebirth.recommend.domain.dto.request.SearchParameterDTO;
 import com.kkulmoo.rebirth.shared.entity.CardTemplateEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CardTemplateRepository {
 
     CardTemplate getCardTemplate(int cardTemplateId);
 
+    // 카드 템플릿 ID → 카드 템플릿 (한 번의 조회)
+    Map<Integer, CardTemplate> getCardTemplates(Collection<Integer> cardTemplateIds);
+
     List<CardTemplateEntity> searchCard(SearchParameterDTO searchParameterDTO);
 }
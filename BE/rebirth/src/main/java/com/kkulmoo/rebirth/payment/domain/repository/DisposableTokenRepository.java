@@ -1,7 +1,7 @@
 package com.kkulmoo.rebirth.payment.domain.repository;
 
 public interface DisposableTokenRepository {
-    String findById(String token);
-    void saveToken(String id, String token);
+    // 단축 토큰으로 실제 토큰을 조회하면서 삭제 (한 번만 사용 가능)
+    // 압축 토큰 도입 전에 발급된 단축 토큰 호환용
+    String consume(String id);
 }
-
@@ -0,0 +1,14 @@
+package com.kkulmoo.rebirth.payment.domain.repository;
+
+import java.time.Duration;
+import java.util.List;
+
+// 유저별 결제 이벤트 시퀀스 / 최근 이벤트 링버퍼 (재연결 시 Last-Event-ID 이후 이벤트 재전송용)
+public interface SseEventRepository {
+    long nextSequence(int userId);
+    long currentSequence(int userId);
+    // 최근 maxSize 개만 남기고 ttl 동안 보관
+    void append(int userId, String payload, int maxSize, Duration ttl);
+    // 최신 이벤트부터
+    List<String> findRecent(int userId);
+}
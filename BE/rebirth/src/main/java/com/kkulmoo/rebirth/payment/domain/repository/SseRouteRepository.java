@@ -0,0 +1,21 @@
+package com.kkulmoo.rebirth.payment.domain.repository;
+
+import java.time.Duration;
+import java.util.Map;
+
+// SSE 연결(uniqueId)이 어느 서버 인스턴스에 붙어 있는지, 인스턴스별 미확인(ack 전) 이벤트를 관리
+public interface SseRouteRepository {
+    void saveOwner(String uniqueId, String instanceId, Duration ttl);
+    // 비어 있거나 이미 instanceId 소유일 때만 연장 (다른 인스턴스로 재연결된 경우 덮어쓰지 않음)
+    boolean renewOwner(String uniqueId, String instanceId, Duration ttl);
+    String findOwner(String uniqueId);
+    // 소유자가 instanceId 일 때만 삭제 (재연결로 다른 인스턴스가 가져간 경우 유지)
+    boolean deleteOwner(String uniqueId, String instanceId);
+
+    void savePending(String instanceId, String eventId, String payload, Duration ttl);
+    Map<String, String> findPending(String instanceId);
+    void deletePending(String instanceId, String eventId);
+
+    void publish(String instanceId, String payload);
+    String channelOf(String instanceId);
+}
@@ -3,5 +3,6 @@ package com.kkulmoo.rebirth.payment.domain.repository;
 public interface SseUUIDRepository {
     String findById(String id);
     void saveUuid(String id, String uuid);
-    boolean deleteUuid(String id);
+    // 매핑이 아직 uuid 를 가리킬 때만 삭제 (다른 연결로 교체된 매핑은 그대로)
+    boolean deleteUuid(String id, String uuid);
 }
\ No newline at end of file
@@ -7,7 +7,10 @@ import com.kkulmoo.rebirth.shared.entity.CardTemplateEntity;
 import com.kkulmoo.rebirth.payment.infrastructure.mapper.CardTemplateEntityMapper;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -31,6 +34,17 @@ public class CardTemplateRepositoryImpl implements CardTemplateRepository {
         return cardTemplateEntityMapper.toCardTemplate(cardTemplateEntity.orElseThrow());
     }
 
+    @Override
+    public Map<Integer, CardTemplate> getCardTemplates(Collection<Integer> cardTemplateIds) {
+        Map<Integer, CardTemplate> cardTemplates = new HashMap<>();
+        if (cardTemplateIds.isEmpty()) return cardTemplates;
+
+        for (CardTemplateEntity cardTemplateEntity : cardsTemplateJpaRepository.findAllById(cardTemplateIds)) {
+            cardTemplates.put(cardTemplateEntity.getCardTemplateId(), cardTemplateEntityMapper.toCardTemplate(cardTemplateEntity));
+        }
+        return cardTemplates;
+    }
+
     @Override
     public List<CardTemplateEntity> searchCard(SearchParameterDTO searchParameterDTO) {
         return cardsTemplateJpaRepository.searchCards(searchParameterDTO.getBenefitType(),
@@ -6,8 +6,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.util.concurrent.TimeUnit;
-
 // 일회용 토큰 redis 저장용도
 @Repository
 public class DisposableTokenRepositoryImpl implements DisposableTokenRepository {
@@ -16,14 +14,8 @@ public class DisposableTokenRepositoryImpl implements DisposableTokenRepository
     private RedisTemplate<String, String> redisTemplate;
 
     @Override
-    public String findById(String id) {
-        // 토큰을 key로 사용하여 id 조회
-        return redisTemplate.opsForValue().get(id);
-    }
-
-    @Override
-    public void saveToken(String id, String token) {
-        // 토큰을 key로, id를 value로 저장 (30분 후 자동 삭제)
-        redisTemplate.opsForValue().set(id, token,5, TimeUnit.MINUTES);
+    public String consume(String id) {
+        // GETDEL: 같은 토큰으로 두 번 결제되지 않도록 조회와 삭제를 원자적으로 처리
+        return redisTemplate.opsForValue().getAndDelete(id);
     }
-}
\ No newline at end of file
+}
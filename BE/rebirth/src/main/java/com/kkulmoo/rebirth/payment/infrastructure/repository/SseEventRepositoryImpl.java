@@ -0,0 +1,56 @@
+package com.kkulmoo.rebirth.payment.infrastructure.repository;
+
+import com.kkulmoo.rebirth.payment.domain.repository.SseEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SseEventRepositoryImpl implements SseEventRepository {
+
+    private static final String SEQUENCE_PREFIX = "SSE:SEQ:";
+    private static final String EVENTS_PREFIX = "SSE:EVENTS:";
+
+    // LPUSH + LTRIM + PEXPIRE 를 한 번에 (중간 상태가 보이지 않도록)
+    private static final DefaultRedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('lpush', KEYS[1], ARGV[1]) " +
+                    "redis.call('ltrim', KEYS[1], 0, tonumber(ARGV[2]) - 1) " +
+                    "redis.call('pexpire', KEYS[1], ARGV[3]) " +
+                    "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public long nextSequence(int userId) {
+        Long sequence = redisTemplate.opsForValue().increment(SEQUENCE_PREFIX + userId);
+        if (sequence == null) {
+            throw new IllegalStateException("SSE 이벤트 시퀀스 발급 실패 - userId: " + userId);
+        }
+        return sequence;
+    }
+
+    @Override
+    public long currentSequence(int userId) {
+        String sequence = redisTemplate.opsForValue().get(SEQUENCE_PREFIX + userId);
+        return sequence != null ? Long.parseLong(sequence) : 0L;
+    }
+
+    @Override
+    public void append(int userId, String payload, int maxSize, Duration ttl) {
+        redisTemplate.execute(APPEND_SCRIPT, Collections.singletonList(EVENTS_PREFIX + userId),
+                payload, String.valueOf(maxSize), String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public List<String> findRecent(int userId) {
+        List<String> events = redisTemplate.opsForList().range(EVENTS_PREFIX + userId, 0, -1);
+        return events != null ? events : Collections.emptyList();
+    }
+}
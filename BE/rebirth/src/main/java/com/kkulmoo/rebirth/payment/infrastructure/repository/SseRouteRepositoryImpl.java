@@ -0,0 +1,90 @@
+package com.kkulmoo.rebirth.payment.infrastructure.repository;
+
+import com.kkulmoo.rebirth.payment.domain.repository.SseRouteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class SseRouteRepositoryImpl implements SseRouteRepository {
+
+    private static final String OWNER_PREFIX = "SSE:OWNER:";
+    private static final String PENDING_PREFIX = "SSE:PENDING:";
+    private static final String CHANNEL_PREFIX = "SSE:CHANNEL:";
+
+    // 소유자일 때만 삭제
+    private static final DefaultRedisScript<Long> DELETE_IF_OWNER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    // 비어 있거나 소유자일 때만 연장
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "local owner = redis.call('get', KEYS[1]) " +
+                    "if owner == false or owner == ARGV[1] then redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) return 1 end " +
+                    "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public void saveOwner(String uniqueId, String instanceId, Duration ttl) {
+        redisTemplate.opsForValue().set(OWNER_PREFIX + uniqueId, instanceId, ttl);
+    }
+
+    @Override
+    public boolean renewOwner(String uniqueId, String instanceId, Duration ttl) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT,
+                Collections.singletonList(OWNER_PREFIX + uniqueId), instanceId, String.valueOf(ttl.toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    @Override
+    public String findOwner(String uniqueId) {
+        return redisTemplate.opsForValue().get(OWNER_PREFIX + uniqueId);
+    }
+
+    @Override
+    public boolean deleteOwner(String uniqueId, String instanceId) {
+        Long deleted = redisTemplate.execute(DELETE_IF_OWNER_SCRIPT,
+                Collections.singletonList(OWNER_PREFIX + uniqueId), instanceId);
+        return deleted != null && deleted == 1L;
+    }
+
+    @Override
+    public void savePending(String instanceId, String eventId, String payload, Duration ttl) {
+        String key = PENDING_PREFIX + instanceId;
+        redisTemplate.opsForHash().put(key, eventId, payload);
+        // 인스턴스가 죽으면 남은 이벤트는 ttl 뒤에 정리된다.
+        redisTemplate.expire(key, ttl);
+    }
+
+    @Override
+    public Map<String, String> findPending(String instanceId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(PENDING_PREFIX + instanceId);
+        Map<String, String> pending = new LinkedHashMap<>(entries.size());
+        entries.forEach((eventId, payload) -> pending.put((String) eventId, (String) payload));
+        return pending;
+    }
+
+    @Override
+    public void deletePending(String instanceId, String eventId) {
+        redisTemplate.opsForHash().delete(PENDING_PREFIX + instanceId, eventId);
+    }
+
+    @Override
+    public void publish(String instanceId, String payload) {
+        redisTemplate.convertAndSend(channelOf(instanceId), payload);
+    }
+
+    @Override
+    public String channelOf(String instanceId) {
+        return CHANNEL_PREFIX + instanceId;
+    }
+}
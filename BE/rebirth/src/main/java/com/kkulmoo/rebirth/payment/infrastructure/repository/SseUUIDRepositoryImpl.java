@@ -4,12 +4,20 @@ import com.kkulmoo.rebirth.payment.domain.repository.DisposableTokenRepository;
 import com.kkulmoo.rebirth.payment.domain.repository.SseUUIDRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 @Repository
 public class SseUUIDRepositoryImpl implements SseUUIDRepository {
+
+    // 매핑된 uuid 가 같을 때만 삭제
+    private static final DefaultRedisScript<Long> DELETE_IF_MATCH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
@@ -25,8 +33,9 @@ public class SseUUIDRepositoryImpl implements SseUUIDRepository {
     }
 
     @Override
-    public boolean deleteUuid(String id) {
-        return redisTemplate.delete(id);
+    public boolean deleteUuid(String id, String uuid) {
+        Long deleted = redisTemplate.execute(DELETE_IF_MATCH_SCRIPT, Collections.singletonList(id), uuid);
+        return deleted != null && deleted == 1L;
     }
 
 
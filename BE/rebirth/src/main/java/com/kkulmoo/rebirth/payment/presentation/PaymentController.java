@@ -2,12 +2,15 @@ package com.kkulmoo.rebirth.payment.presentation;
 
 import com.kkulmoo.rebirth.common.ApiResponseDTO.ApiResponseDTO;
 import com.kkulmoo.rebirth.common.annotation.JwtUserId;
+import com.kkulmoo.rebirth.payment.application.service.PayScreenService;
 import com.kkulmoo.rebirth.payment.application.service.PaymentTokenService;
 import com.kkulmoo.rebirth.payment.application.service.PaymentTransactionService;
 import com.kkulmoo.rebirth.payment.presentation.request.OnlinePayDTO;
+import com.kkulmoo.rebirth.payment.presentation.request.PayScreenBootstrapRequestDTO;
 import com.kkulmoo.rebirth.payment.presentation.request.PermanentTokenRequestToCardsaDTO;
 import com.kkulmoo.rebirth.payment.presentation.response.CardTransactionDTO;
 import com.kkulmoo.rebirth.payment.presentation.response.OnlinePayResponseDTO;
+import com.kkulmoo.rebirth.payment.presentation.response.PayScreenBootstrapResponseDTO;
 import com.kkulmoo.rebirth.payment.presentation.response.PaymentTokenResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +30,8 @@ public class PaymentController {
     private final PaymentTokenService paymentTokenService;
     // 결제 처리를 담당하는 서비스
     private final PaymentTransactionService paymentTransactionService;
+    // 결제 화면 진입 정보 일괄 발급 서비스
+    private final PayScreenService payScreenService;
 
     // 카드 등록 엔드포인트 (추후 상세 구현)
     @PostMapping("/registpaymentcard")
@@ -38,6 +43,16 @@ public class PaymentController {
         return ResponseEntity.ok(apiResponseDTO);
     }
 
+    // 결제 화면 진입 엔드포인트 (SSE 구독 ID + 일회용 토큰 + 선택적으로 온라인 토큰 / QR 토큰)
+    // 기존 /disposabletoken, /onlinedisposabletoken, /generateqr 는 그대로 유지
+    @PostMapping("/bootstrap")
+    public ResponseEntity<?> bootstrapPayScreen(@JwtUserId Integer userId,
+                                                @RequestBody(required = false) PayScreenBootstrapRequestDTO request) throws Exception {
+        PayScreenBootstrapResponseDTO bootstrap = payScreenService.bootstrap(userId, request);
+        ApiResponseDTO apiResponseDTO = new ApiResponseDTO(true, "결제 화면 정보 발급", bootstrap);
+        return ResponseEntity.ok(apiResponseDTO);
+    }
+
     // 오프라인 일회용 토큰 생성 엔드포인트
     @GetMapping("/disposabletoken")
     public ResponseEntity<?> getDisposableToken(@JwtUserId Integer userId) throws Exception {
@@ -2,18 +2,23 @@ package com.kkulmoo.rebirth.payment.presentation;
 
 import com.kkulmoo.rebirth.common.ApiResponseDTO.ApiResponseDTO;
 import com.kkulmoo.rebirth.common.annotation.JwtUserId;
+import com.kkulmoo.rebirth.payment.application.service.PaymentImportService;
 import com.kkulmoo.rebirth.payment.application.service.PaymentTokenService;
 import com.kkulmoo.rebirth.payment.application.service.PaymentTransactionService;
 import com.kkulmoo.rebirth.payment.application.service.SseService;
 import com.kkulmoo.rebirth.payment.presentation.request.CreateTransactionRequestDTO;
 import com.kkulmoo.rebirth.payment.presentation.response.CardTransactionDTO;
+import com.kkulmoo.rebirth.payment.presentation.response.PaymentImportResultDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+
 @Slf4j
 @CrossOrigin("*")
 @RestController
@@ -27,24 +32,29 @@ public class SseController {
     private final PaymentTransactionService paymentTransactionService;
     // 토큰 관련 기능을 제공하는 서비스
     private final PaymentTokenService paymentTokenService;
+    // 과거 결제 대량 적재 서비스
+    private final PaymentImportService paymentImportService;
 
 
     // 특정 유저의 SSE 구독 엔드포인트
     @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public ResponseEntity<SseEmitter> subscribe(@JwtUserId Integer userId,@RequestParam("uniqueId") String uniqueId) {
-        log.info("SSE 연결 요청 - userId: {}", uniqueId);
+    public ResponseEntity<SseEmitter> subscribe(@JwtUserId Integer userId, @RequestParam("uniqueId") String uniqueId,
+                                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("SSE 연결 요청 - userId: {}, lastEventId: {}", uniqueId, lastEventId);
         // SSE 구독 생성 - 서비스에서 이미 모든 핸들러 설정 및 관리를 담당
-        SseEmitter emitter = sseService.subscribe(userId,uniqueId);
+        // 재연결이면 Last-Event-ID 이후 놓친 결제 이벤트를 먼저 재전송
+        SseEmitter emitter = sseService.subscribe(userId, uniqueId, lastEventId);
         return ResponseEntity.ok(emitter);
     }
 
     // 오프라인 결제(포스기) 진행 엔드포인트
     @PostMapping("/progresspay")
     public ResponseEntity<?> progressPay(@RequestBody CreateTransactionRequestDTO createTransactionRequestDTO) throws Exception {
-        // 클라이언트로부터 받은 짧은 토큰으로 실제 토큰 복원
-        String realToken = paymentTokenService.getRealDisposableToken(createTransactionRequestDTO.getToken());
-        // 복원된 토큰을 검증하여 결제 정보 추출
-        String[] tokenInfo = paymentTokenService.validateOneTimeToken(realToken);
+        // 포스기에서 받은 일회용 토큰을 검증하여 결제 정보 추출 (영구토큰, userId)
+        String[] tokenInfo = paymentTokenService.resolveOfflineToken(createTransactionRequestDTO.getToken());
+        if (tokenInfo == null) {
+            throw new IllegalArgumentException("유효하지 않은 결제 토큰입니다.");
+        }
         String permanentToken = tokenInfo[0];
         int userId = Integer.parseInt(tokenInfo[1]);
         String merchantName = createTransactionRequestDTO.getMerchantName();
@@ -53,11 +63,11 @@ public class SseController {
         String uniqueId = sseService.getUniqueId(String.valueOf(userId));
 
         // 결제 시작 알림을 SSE를 통해 전송
-        sseService.sendToUser(uniqueId, "결제시작");
+        sseService.sendToUser(userId, uniqueId, "결제시작");
         // 결제 처리 서비스 호출
         CardTransactionDTO cardTransactionDTO = paymentTransactionService.processPayment(userId, permanentToken, merchantName, amount);
         // 결제 결과 알림을 SSE를 통해 전송
-        sseService.sendToUser(uniqueId, cardTransactionDTO.getApprovalCode());
+        sseService.sendToUser(userId, uniqueId, cardTransactionDTO.getApprovalCode());
         // 응답 객체 생성 후 반환
         ApiResponseDTO apiResponseDTO = new ApiResponseDTO(true, "결제 응답", cardTransactionDTO);
         return ResponseEntity.ok(apiResponseDTO);
@@ -66,10 +76,11 @@ public class SseController {
     // 오프라인 결제(포스기) 진행 엔드포인트
     @PostMapping("/insert-paydata")
     public ResponseEntity<?> insertPayData(@RequestBody CreateTransactionRequestDTO createTransactionRequestDTO) throws Exception {
-        // 클라이언트로부터 받은 짧은 토큰으로 실제 토큰 복원
-        String realToken = paymentTokenService.getRealDisposableToken(createTransactionRequestDTO.getToken());
-        // 복원된 토큰을 검증하여 결제 정보 추출
-        String[] tokenInfo = paymentTokenService.validateOneTimeToken(realToken);
+        // 포스기에서 받은 일회용 토큰을 검증하여 결제 정보 추출 (영구토큰, userId)
+        String[] tokenInfo = paymentTokenService.resolveOfflineToken(createTransactionRequestDTO.getToken());
+        if (tokenInfo == null) {
+            throw new IllegalArgumentException("유효하지 않은 결제 토큰입니다.");
+        }
         String permanentToken = tokenInfo[0];
         int userId = Integer.parseInt(tokenInfo[1]);
         String merchantName = createTransactionRequestDTO.getMerchantName();
@@ -81,6 +92,20 @@ public class SseController {
         return ResponseEntity.ok(apiResponseDTO);
     }
 
+    // 과거 결제 대량 적재 엔드포인트 (Content-Type: application/x-ndjson 또는 text/csv)
+    // 행 형식: userId, token(영구토큰 또는 rebirth), merchantName, amount, createdAt
+    @PostMapping(value = "/insert-paydata/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<?> insertPayDataBulk(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                               InputStream body) throws Exception {
+        PaymentImportService.Format format = contentType.startsWith("text/csv")
+                ? PaymentImportService.Format.CSV
+                : PaymentImportService.Format.NDJSON;
+        PaymentImportResultDTO result = paymentImportService.importPayments(body, format);
+        // 응답 객체 생성 후 반환
+        ApiResponseDTO apiResponseDTO = new ApiResponseDTO(true, "결제 대량 적재 결과", result);
+        return ResponseEntity.ok(apiResponseDTO);
+    }
+
     @PostMapping("/test")
     public ResponseEntity<?> insertPayDataa(
             @RequestParam Integer userId,
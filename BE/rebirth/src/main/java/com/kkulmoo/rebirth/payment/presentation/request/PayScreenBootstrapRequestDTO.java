@@ -0,0 +1,17 @@
+package com.kkulmoo.rebirth.payment.presentation.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 결제 화면 진입 요청. 모든 필드는 선택
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PayScreenBootstrapRequestDTO {
+    // 온라인 결제: 스캔한 가맹점 QR 토큰 (있으면 온라인 일회용 토큰도 발급)
+    String qrToken;
+    // 가맹점 QR 생성용 (둘 다 있으면 QR 토큰도 발급)
+    String merchantName;
+    Integer amount;
+}
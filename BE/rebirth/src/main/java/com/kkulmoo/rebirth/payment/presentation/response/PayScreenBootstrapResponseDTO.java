@@ -0,0 +1,28 @@
+package com.kkulmoo.rebirth.payment.presentation.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayScreenBootstrapResponseDTO {
+
+    // SSE 구독 ID (/api/payment/sse/subscribe?uniqueId= 로 연결)
+    String uniqueId;
+    // 구독 시 Last-Event-ID 로 보내면 지금 이후 결제 이벤트를 놓치지 않는다.
+    String lastEventId;
+    // 오프라인(포스기) 일회용 토큰
+    List<PaymentTokenResponseDTO> offlineTokens;
+    // 온라인 일회용 토큰 (qrToken 요청 시)
+    OnlinePayResponseDTO online;
+    // 가맹점 QR 토큰 (merchantName, amount 요청 시)
+    String qrToken;
+}
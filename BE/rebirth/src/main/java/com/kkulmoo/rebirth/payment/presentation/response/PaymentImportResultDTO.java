@@ -0,0 +1,21 @@
+package com.kkulmoo.rebirth.payment.presentation.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 과거 결제 대량 적재 결과
+@Getter
+@Builder
+public class PaymentImportResultDTO {
+    private long total;
+    private long approved;
+    private long rejected;
+    private long failed;
+    // 유저-월 단위로 한 번씩 처리한 마이데이터 / 리포트 갱신 횟수
+    private long monthlyRefreshes;
+    private long elapsedMillis;
+    // 실패한 행 (최대 payment.import.max-reported-errors 건)
+    private List<String> errors;
+}
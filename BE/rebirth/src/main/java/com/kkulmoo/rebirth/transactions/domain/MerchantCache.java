@@ -1,6 +1,7 @@
 package com.kkulmoo.rebirth.transactions.domain;
 
-import com.kkulmoo.rebirth.transactions.infrastructure.entity.MerchantEntity;
+import com.kkulmoo.rebirth.payment.domain.repository.MerchantJoinRepository;
+import com.kkulmoo.rebirth.payment.infrastructure.dto.MerchantJoinDto;
 import com.kkulmoo.rebirth.transactions.infrastructure.repository.MerchantJpaRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -8,43 +9,130 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class MerchantCache {
+    // 커밋이 늦게 반영된 행을 놓치지 않도록 기준 시각보다 조금 앞에서부터 다시 조회 (중복 반영은 무해함)
+    private static final long WATERMARK_OVERLAP_MINUTES = 5;
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final MerchantJpaRepository merchantJpaRepository;
-    private Map<String, Integer> merchantNameToIdMap = new ConcurrentHashMap<>();
+    private final MerchantJoinRepository merchantJoinRepository;
+
+    // 가맹점명 → (가맹점, 서브카테고리, 카테고리) 테이블. 갱신 시 복사본을 만들어 통째로 교체한다.
+    private volatile MerchantTable merchantTable = new MerchantTable(0);
+    // 마지막으로 반영한 created_at / deleted_at 중 가장 늦은 시각
+    private LocalDateTime watermark;
+    // 전체 / 증분 갱신 직렬화. DB 조회를 잡고 있으므로 synchronized 대신 사용 (가상 스레드 pinning 방지)
+    private final ReentrantLock refreshLock = new ReentrantLock();
 
     @PostConstruct
     public void init() {
-        refreshCache();
+        reloadCache();
+    }
+
+    // 하루 한 번은 전체 재적재 (서브카테고리 변경 등 증분으로 잡히지 않는 변경 반영)
+    @Scheduled(cron = "0 0 4 * * *")
+    public void reloadCache() {
+        refreshLock.lock();
+        try {
+            reload();
+        } finally {
+            refreshLock.unlock();
+        }
     }
 
-    @Scheduled(fixedRate = 3600000) // 1시간마다 갱신
+    @Scheduled(fixedDelayString = "${merchant.cache.refresh-millis}", initialDelayString = "${merchant.cache.refresh-millis}")
     public void refreshCache() {
-        log.info("가맹점 캐시 갱신 시작");
+        refreshLock.lock();
+        try {
+            refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void reload() {
+        log.info("가맹점 캐시 전체 적재 시작");
         long startTime = System.currentTimeMillis();
 
-        List<MerchantEntity> merchants = merchantJpaRepository.findAll();
-        Map<String, Integer> newMap = merchants.stream()
-                .collect(Collectors.toConcurrentMap(
-                        MerchantEntity::getMerchantName,
-                        MerchantEntity::getMerchantId,
-                        (v1, v2) -> v1 // 중복 시 처리
-                ));
+        List<MerchantCacheRow> rows = merchantJpaRepository.findAllActiveMerchantCacheRows();
+        MerchantTable newTable = new MerchantTable(rows.size());
+        LocalDateTime newWatermark = INITIAL_WATERMARK;
+        for (MerchantCacheRow row : rows) {
+            if (row.getMerchantName() != null) {
+                newTable.putIfAbsent(row.getMerchantName(), row.getMerchantId(), row.getSubcategoryId(), row.getCategoryId());
+            }
+            newWatermark = latest(newWatermark, row);
+        }
 
-        merchantNameToIdMap = newMap;
+        merchantTable = newTable;
+        watermark = newWatermark;
 
         long endTime = System.currentTimeMillis();
-        log.info("가맹점 캐시 갱신 완료. 소요시간: {}ms, 가맹점 수: {}", (endTime - startTime), merchants.size());
+        log.info("가맹점 캐시 전체 적재 완료. 소요시간: {}ms, 가맹점 수: {}", (endTime - startTime), newTable.size());
+    }
+
+    private void refresh() {
+        LocalDateTime since = watermark.minusMinutes(WATERMARK_OVERLAP_MINUTES);
+        List<MerchantCacheRow> changes = merchantJpaRepository.findMerchantCacheRowsChangedSince(since);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        MerchantTable newTable = merchantTable.copy();
+        LocalDateTime newWatermark = watermark;
+        for (MerchantCacheRow row : changes) {
+            if (row.getMerchantName() != null) {
+                if (row.getDeletedAt() != null) {
+                    newTable.remove(row.getMerchantName(), row.getMerchantId());
+                } else {
+                    newTable.putIfAbsent(row.getMerchantName(), row.getMerchantId(), row.getSubcategoryId(), row.getCategoryId());
+                }
+            }
+            newWatermark = latest(newWatermark, row);
+        }
+
+        merchantTable = newTable;
+        watermark = newWatermark;
+        log.info("가맹점 캐시 증분 갱신 - 변경 건수: {}, 가맹점 수: {}", changes.size(), newTable.size());
     }
 
     public Integer getMerchantIdByName(String name) {
-        return merchantNameToIdMap.get(name);
+        if (name == null) {
+            return null;
+        }
+        MerchantTable table = merchantTable;
+        int index = table.indexOf(name);
+        return index < 0 ? null : table.merchantIdAt(index);
+    }
+
+    // 캐시에 없으면 (아직 증분 갱신 전인 신규 가맹점) DB 조회
+    public MerchantJoinDto getMerchantJoinDataByName(String name) {
+        if (name != null) {
+            MerchantTable table = merchantTable;
+            int index = table.indexOf(name);
+            if (index >= 0) {
+                return new MerchantJoinDto(table.merchantIdAt(index), table.subcategoryIdAt(index), table.categoryIdAt(index));
+            }
+        }
+        log.info("가맹점 캐시 미스 - merchantName: {}", name);
+        return merchantJoinRepository.findMerchantJoinDataByMerchantName(name);
+    }
+
+    private LocalDateTime latest(LocalDateTime current, MerchantCacheRow row) {
+        LocalDateTime result = current;
+        if (row.getCreatedAt() != null && row.getCreatedAt().isAfter(result)) {
+            result = row.getCreatedAt();
+        }
+        if (row.getDeletedAt() != null && row.getDeletedAt().isAfter(result)) {
+            result = row.getDeletedAt();
+        }
+        return result;
     }
 }
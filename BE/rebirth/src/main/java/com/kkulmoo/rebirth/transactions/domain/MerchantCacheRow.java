@@ -0,0 +1,18 @@
+package com.kkulmoo.rebirth.transactions.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 가맹점 캐시 갱신용 조회 결과 (가맹점 + 서브카테고리 + 카테고리)
+@Getter
+@AllArgsConstructor
+public class MerchantCacheRow {
+    private String merchantName;
+    private Integer merchantId;
+    private Integer subcategoryId;
+    private Integer categoryId;
+    private LocalDateTime createdAt;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,145 @@
+package com.kkulmoo.rebirth.transactions.domain;
+
+/**
+ * 가맹점명 → (merchantId, subcategoryId, categoryId) open addressing 해시 테이블
+ * 키는 String 배열, 값은 int 배열로만 들고 있어 엔트리마다 객체를 만들지 않는다.
+ * 조회 중인 테이블은 수정하지 않고, copy()로 복사본을 만들어 갱신한 뒤 교체한다.
+ */
+class MerchantTable {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] names;
+    private int[] merchantIds;
+    private int[] subcategoryIds;
+    private int[] categoryIds;
+    private int size;
+
+    MerchantTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private MerchantTable(MerchantTable source) {
+        this.names = source.names.clone();
+        this.merchantIds = source.merchantIds.clone();
+        this.subcategoryIds = source.subcategoryIds.clone();
+        this.categoryIds = source.categoryIds.clone();
+        this.size = source.size;
+    }
+
+    MerchantTable copy() {
+        return new MerchantTable(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 없으면 -1
+    int indexOf(String name) {
+        int mask = names.length - 1;
+        for (int i = hash(name) & mask; ; i = (i + 1) & mask) {
+            String current = names[i];
+            if (current == null) {
+                return -1;
+            }
+            if (current.equals(name)) {
+                return i;
+            }
+        }
+    }
+
+    int merchantIdAt(int index) {
+        return merchantIds[index];
+    }
+
+    int subcategoryIdAt(int index) {
+        return subcategoryIds[index];
+    }
+
+    int categoryIdAt(int index) {
+        return categoryIds[index];
+    }
+
+    // 같은 이름이 이미 있으면 덮어쓰지 않는다. (기존 캐시와 동일하게 먼저 들어온 가맹점 유지)
+    void putIfAbsent(String name, int merchantId, int subcategoryId, int categoryId) {
+        if ((size + 1) * 2 > names.length) {
+            resize(names.length * 2);
+        }
+        int mask = names.length - 1;
+        int i = hash(name) & mask;
+        while (names[i] != null) {
+            if (names[i].equals(name)) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        names[i] = name;
+        merchantIds[i] = merchantId;
+        subcategoryIds[i] = subcategoryId;
+        categoryIds[i] = categoryId;
+        size++;
+    }
+
+    // 해당 이름이 같은 merchantId로 들어있을 때만 삭제 (backward shift 방식으로 빈 칸을 메운다)
+    void remove(String name, int merchantId) {
+        int index = indexOf(name);
+        if (index < 0 || merchantIds[index] != merchantId) {
+            return;
+        }
+        int mask = names.length - 1;
+        int hole = index;
+        int i = (hole + 1) & mask;
+        while (names[i] != null) {
+            int home = hash(names[i]) & mask;
+            // home이 (hole, i] 구간 밖이면 hole로 당겨와도 탐색 경로가 유지된다.
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                names[hole] = names[i];
+                merchantIds[hole] = merchantIds[i];
+                subcategoryIds[hole] = subcategoryIds[i];
+                categoryIds[hole] = categoryIds[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        names[hole] = null;
+        size--;
+    }
+
+    private void resize(int newCapacity) {
+        String[] oldNames = names;
+        int[] oldMerchantIds = merchantIds;
+        int[] oldSubcategoryIds = subcategoryIds;
+        int[] oldCategoryIds = categoryIds;
+
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                putIfAbsent(oldNames[i], oldMerchantIds[i], oldSubcategoryIds[i], oldCategoryIds[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        names = new String[capacity];
+        merchantIds = new int[capacity];
+        subcategoryIds = new int[capacity];
+        categoryIds = new int[capacity];
+    }
+
+    // load factor 0.5 이하를 유지하는 2의 제곱수
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,7 +1,32 @@
 package com.kkulmoo.rebirth.transactions.infrastructure.repository;
 
+import com.kkulmoo.rebirth.transactions.domain.MerchantCacheRow;
 import com.kkulmoo.rebirth.transactions.infrastructure.entity.MerchantEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface MerchantJpaRepository extends JpaRepository<MerchantEntity,Integer> {
+
+    // 가맹점 캐시 전체 적재
+    @Query("SELECT new com.kkulmoo.rebirth.transactions.domain.MerchantCacheRow(" +
+            "m.merchantName, m.merchantId, s.subcategoryId, c.categoryId, m.createdAt, m.deletedAt) " +
+            "FROM MerchantEntity m " +
+            "JOIN m.subcategory s " +
+            "JOIN s.category c " +
+            "WHERE m.deletedAt IS NULL " +
+            "ORDER BY m.merchantId")
+    List<MerchantCacheRow> findAllActiveMerchantCacheRows();
+
+    // 가맹점 캐시 증분 갱신 (기준 시각 이후 추가 / 삭제된 가맹점)
+    @Query("SELECT new com.kkulmoo.rebirth.transactions.domain.MerchantCacheRow(" +
+            "m.merchantName, m.merchantId, s.subcategoryId, c.categoryId, m.createdAt, m.deletedAt) " +
+            "FROM MerchantEntity m " +
+            "JOIN m.subcategory s " +
+            "JOIN s.category c " +
+            "WHERE m.createdAt >= :since OR m.deletedAt >= :since " +
+            "ORDER BY m.merchantId")
+    List<MerchantCacheRow> findMerchantCacheRowsChangedSince(LocalDateTime since);
 }
@@ -0,0 +1,7 @@
+package com.kkulmoo.rebirth.user.application;
+
+// 문자 발송 게이트웨이 (sms.provider 로 구현체 선택: coolsms / fake)
+public interface SmsPort {
+    // 실패 시 예외를 던지면 Outbox 에서 재시도한다.
+    void send(String to, String text) throws Exception;
+}
@@ -4,7 +4,6 @@ package com.kkulmoo.rebirth.user.application.service;
 import com.kkulmoo.rebirth.auth.AuthenticationResult;
 import com.kkulmoo.rebirth.auth.jwt.JwtProvider;
 import com.kkulmoo.rebirth.common.exception.UserCreationException;
-import com.kkulmoo.rebirth.common.util.PasswordUtils;
 import com.kkulmoo.rebirth.transactions.application.BankPort;
 import com.kkulmoo.rebirth.user.application.command.CreateUserCommand;
 import com.kkulmoo.rebirth.user.domain.User;
@@ -12,6 +11,7 @@ import com.kkulmoo.rebirth.user.domain.UserId;
 import com.kkulmoo.rebirth.user.domain.UserRepository;
 import com.kkulmoo.rebirth.user.presentation.requestDTO.UserCIRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -20,15 +20,20 @@ import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
+    private static final String TYPE_PIN = "PIN";
+    private static final String TYPE_PATTERN = "PATTERN";
+
     private final UserRepository userRepository;
     private final BankPort bankPort;
     private final JwtProvider jwtProvider;
+    private final PinVerifier pinVerifier;
 
 
     public User createUser(CreateUserCommand command) {
         // PIN 번호 암호화
-        String hashedPinNumber = PasswordUtils.encodePassword(command.getPinNumber());
+        String hashedPinNumber = pinVerifier.hash(command.getPinNumber());
 
         // 사용자 객체 생성
         User newUser = User.builder()
@@ -56,9 +61,7 @@ public class AuthService {
     public void createPatternNum(int userId, String patternNumbers) {
 
         // Pattern 번호 암호화
-        String hashedPatternNumber = PasswordUtils.encodePassword(patternNumbers);
-        System.out.println("원본 : " + patternNumbers);
-        System.out.println("바뀐거" + hashedPatternNumber);
+        String hashedPatternNumber = pinVerifier.hash(patternNumbers);
         User user = userRepository.findByUserId(new UserId(userId));
 
         userRepository.update(User.builder()
@@ -72,6 +75,7 @@ public class AuthService {
                 .bankAccounts(user.getBankAccounts())
                 .hashedPatternNumber(hashedPatternNumber)
                 .build());
+        pinVerifier.evict(verifyScope(user, TYPE_PATTERN));
 
     }
 
@@ -86,25 +90,8 @@ public class AuthService {
 
         if (user == null) return AuthenticationResult.failure();
 
-        //핀 일 경우
-        if (type.equals("PIN")) {
-            String hashedPinNumber = PasswordUtils.encodePassword(number);
-            if (user.getHashedPinNumber().equals(hashedPinNumber)) {
-                return AuthenticationResult.success(user);
-            }
-        } else if (type.equals("PATTERN")) {
-
-            System.out.println("비교할 원본 암호 : " + number);
-
-
-            String hashedPatternNumber = PasswordUtils.encodePassword(number);
-
-            System.out.println("바뀐 암호 : " + hashedPatternNumber);
-
-            System.out.println("패턴" + " " + hashedPatternNumber +"원래 유저거 > "+ user.getHashedPatternNumber()) ;
-            if (user.getHashedPatternNumber().equals(hashedPatternNumber)) {
-                return AuthenticationResult.success(user);
-            }
+        if (matchesNumber(user, number, type)) {
+            return AuthenticationResult.success(user);
         }
         return AuthenticationResult.failure();
 
@@ -128,25 +115,8 @@ public class AuthService {
 
         if (user == null) return AuthenticationResult.failure();
 
-        //핀 일 경우
-        if (type.equals("PIN")) {
-            String hashedPinNumber = PasswordUtils.encodePassword(number);
-            if (user.getHashedPinNumber().equals(hashedPinNumber)) {
-                return AuthenticationResult.success(user);
-            }
-        } else if (type.equals("PATTERN")) {
-
-            System.out.println("비교할 원본 암호 : " + number);
-
-
-            String hashedPatternNumber = PasswordUtils.encodePassword(number);
-
-            System.out.println("바뀐 암호 : " + hashedPatternNumber);
-
-            System.out.println("패턴" + " " + hashedPatternNumber +"원래 유저거 > "+ user.getHashedPatternNumber()) ;
-            if (user.getHashedPatternNumber().equals(hashedPatternNumber)) {
-                return AuthenticationResult.success(user);
-            }
+        if (matchesNumber(user, number, type)) {
+            return AuthenticationResult.success(user);
         }
         return AuthenticationResult.failure();
 
@@ -168,4 +138,41 @@ public class AuthService {
     public String generateAccessToken(UserId userId) {
         return jwtProvider.generateAccessToken(userId);
     }
+
+    // PIN / 패턴 검증. 기존 SHA-256 해시와 일치하면 이번 로그인에서 Argon2id 로 교체한다.
+    private boolean matchesNumber(User user, String number, String type) {
+        String storedHash;
+        if (TYPE_PIN.equals(type)) {
+            storedHash = user.getHashedPinNumber();
+        } else if (TYPE_PATTERN.equals(type)) {
+            storedHash = user.getHashedPatternNumber();
+        } else {
+            return false;
+        }
+
+        PinVerifier.Result result = pinVerifier.verify(verifyScope(user, type), number, storedHash);
+        if (result == PinVerifier.Result.NEEDS_UPGRADE) {
+            upgradeHash(user, number, type, storedHash);
+        }
+        return result.isMatched();
+    }
+
+    private void upgradeHash(User user, String number, String type, String previousHash) {
+        try {
+            String newHash = pinVerifier.hash(number);
+            boolean upgraded = TYPE_PIN.equals(type)
+                    ? userRepository.upgradeHashedPinNumber(user.getUserId(), previousHash, newHash)
+                    : userRepository.upgradeHashedPatternNumber(user.getUserId(), previousHash, newHash);
+            if (upgraded) {
+                log.info("{} 해시 Argon2id 전환 - userId: {}", type, user.getUserId().getValue());
+            }
+        } catch (RuntimeException e) {
+            // 전환 실패는 로그인 결과에 영향을 주지 않는다. (다음 로그인에서 재시도)
+            log.warn("{} 해시 Argon2id 전환 실패 - userId: {}", type, user.getUserId().getValue(), e);
+        }
+    }
+
+    private static String verifyScope(User user, String type) {
+        return user.getUserId().getValue() + ":" + type;
+    }
 }
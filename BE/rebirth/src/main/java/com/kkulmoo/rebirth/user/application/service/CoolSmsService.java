@@ -1,63 +1,102 @@
 package com.kkulmoo.rebirth.user.application.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkulmoo.rebirth.common.outbox.OutboxTopic;
+import com.kkulmoo.rebirth.common.outbox.RedisStreamOutbox;
+import com.kkulmoo.rebirth.common.ratelimit.TokenBucket;
+import com.kkulmoo.rebirth.user.application.SmsPort;
+import com.kkulmoo.rebirth.user.domain.SmsMessage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import net.nurigo.java_sdk.api.Message;
-import net.nurigo.java_sdk.exceptions.CoolsmsException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Random;
+import java.security.SecureRandom;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+// 인증번호는 Redis에 저장한 뒤 바로 응답하고, 문자 발송은 Outbox 워커가 속도 제한을 지키며 처리한다.
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CoolSmsService {
 
-    @Value("${coolsms.api.key}")
-    private String apiKey;
-
-    @Value("${coolsms.api.secret}")
-    private String apiSecret;
-
-    @Value("${coolsms.api.number}")
-    private String fromPhoneNumber;
-
     // todo: 이름바꾸기
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisStreamOutbox redisStreamOutbox;
+    private final ObjectMapper objectMapper;
+    private final SmsPort smsPort;
 
     private static final long VERIFICATION_EXPIRE_TIME = 5;
     private static final String SMS_PREFIX = "SMS:VERIFICATION:";
 
+    private static final SecureRandom RANDOM = new SecureRandom();
 
+    @Value("${sms.outbox.shards}")
+    private int shards;
 
-    public String sendSms(String to) throws CoolsmsException {
-        try {
-            // 랜덤한 4자리 인증번호 생성
-            String verificationCode  = generateRandomNumber();
+    @Value("${sms.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${sms.rate.permits-per-second}")
+    private double permitsPerSecond;
 
-            Message coolsms = new Message(apiKey, apiSecret); // 생성자를 통해 API 키와 API 시크릿 전달
+    @Value("${sms.rate.burst}")
+    private int burst;
 
-            HashMap<String, String> params = new HashMap<>();
-            params.put("to", to);    // 수신 전화번호
-            params.put("from", fromPhoneNumber);    // 발신 전화번호
-            params.put("type", "sms");
-            params.put("text", "[RE:BIRTH]의 인증번호는 [" + verificationCode + "] 입니다.");
+    private OutboxTopic topic;
+    private TokenBucket rateLimiter;
 
-            // 메시지 전송
-            coolsms.send(params);
+    @PostConstruct
+    public void init() {
+        topic = new OutboxTopic("sms", shards, maxAttempts);
+        rateLimiter = new TokenBucket(burst, permitsPerSecond);
+        redisStreamOutbox.subscribe(topic, payload ->
+                deliver(objectMapper.readValue(payload, SmsMessage.class)));
+    }
 
-            String redisKey = SMS_PREFIX + to;
-            redisTemplate.opsForValue().set(redisKey, verificationCode, VERIFICATION_EXPIRE_TIME, TimeUnit.MINUTES);
+    public String sendSms(String to) {
+        // 랜덤한 6자리 인증번호 생성
+        String verificationCode = generateRandomNumber();
 
-            return verificationCode; // 생성된 인증번호 반환
+        String redisKey = SMS_PREFIX + to;
+        redisTemplate.opsForValue().set(redisKey, verificationCode, VERIFICATION_EXPIRE_TIME, TimeUnit.MINUTES);
 
-        } catch (Exception e) {
-            throw new CoolsmsException("SMS 전송 실패: " + e.getMessage(), -1);
+        SmsMessage message = SmsMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .to(to)
+                .text("[RE:BIRTH]의 인증번호는 [" + verificationCode + "] 입니다.")
+                .expiresAt(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(VERIFICATION_EXPIRE_TIME))
+                .build();
+        try {
+            redisStreamOutbox.append(topic, to, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("SMS 메시지 직렬화 실패", e);
         }
+        log.info("SMS 발송 적재 - messageId: {}", message.getMessageId());
+
+        return verificationCode; // 생성된 인증번호 반환
     }
 
+    // Outbox 워커: 예외가 나면 Outbox가 backoff 재시도 후 DLQ로 옮긴다. (InterruptedException 제외)
+    private void deliver(SmsMessage message) throws Exception {
+        if (System.currentTimeMillis() > message.getExpiresAt()) {
+            log.warn("만료된 인증번호 SMS 폐기 - messageId: {}", message.getMessageId());
+            return;
+        }
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            // 종료 중: 발송 실패가 아니므로 그대로 던져 Outbox 가 ack 없이 PEL에 남기게 한다.
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        smsPort.send(message.getTo(), message.getText());
+        log.info("SMS 발송 완료 - messageId: {}", message.getMessageId());
+    }
 
     public boolean verifyCode(String phoneNumber, String code) {
         String redisKey = SMS_PREFIX + phoneNumber;
@@ -74,10 +113,9 @@ public class CoolSmsService {
     }
 
     private String generateRandomNumber() {
-        Random rand = new Random();
         StringBuilder numStr = new StringBuilder();
         for (int i = 0; i < 6; i++) {
-            numStr.append(rand.nextInt(10));
+            numStr.append(RANDOM.nextInt(10));
         }
         return numStr.toString();
     }
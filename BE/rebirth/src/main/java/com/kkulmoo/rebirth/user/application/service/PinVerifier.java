@@ -0,0 +1,224 @@
+package com.kkulmoo.rebirth.user.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
+import com.kkulmoo.rebirth.common.util.PasswordUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * PIN / 패턴 검증기
+ * - 신규 해시는 Argon2id (유저별 랜덤 salt 포함 인코딩 문자열: $argon2id$v=19$m=...,t=...,p=...$salt$hash)
+ * - 기존 SHA-256 해시는 검증만 하고, 일치하면 NEEDS_UPGRADE 로 알려 로그인 시 Argon2id 로 교체한다.
+ * - KDF 는 메모리를 많이 쓰므로 전용 풀에서만 실행해 동시 실행 수(= 메모리 사용량)를 제한하고 요청 스레드를 붙잡지 않는다.
+ * - 검증에 성공한 (유저, 종류, 입력값) 은 짧은 시간 캐시해 같은 앱 세션의 재잠금 해제는 KDF 없이 통과시킨다.
+ *   캐시에는 원문 대신 서버 메모리에만 있는 키로 만든 HMAC 만 보관한다. 틀린 입력은 항상 KDF 를 거친다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PinVerifier {
+
+    public static final String SCHEME_ARGON2 = "argon2";
+    public static final String SCHEME_LEGACY = "legacy";
+    public static final String SCHEME_CACHE = "cache";
+
+    private static final String ARGON2_PREFIX = "$argon2";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final WorkerThreadFactory workerThreadFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.pin.argon2.memory-kib}")
+    private int memoryKib;
+
+    @Value("${auth.pin.argon2.iterations}")
+    private int iterations;
+
+    @Value("${auth.pin.argon2.parallelism}")
+    private int parallelism;
+
+    @Value("${auth.pin.verify.pool-size}")
+    private int poolSize;
+
+    @Value("${auth.pin.verify.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${auth.pin.verify.timeout-millis}")
+    private long timeoutMillis;
+
+    @Value("${auth.pin.verified-cache.ttl-seconds}")
+    private long verifiedCacheTtlSeconds;
+
+    @Value("${auth.pin.verified-cache.max-size}")
+    private long verifiedCacheMaxSize;
+
+    private Argon2PasswordEncoder encoder;
+    private ThreadPoolExecutor verifyExecutor;
+    private Cache<String, byte[]> verifiedCache;
+    private SecretKeySpec cacheKey;
+
+    @PostConstruct
+    public void init() {
+        encoder = new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, iterations);
+        verifyExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                workerThreadFactory.create("pin-verify-"),
+                // 대기열까지 가득 차면 요청 스레드에서 KDF 를 돌리지 않고 거절
+                new ThreadPoolExecutor.AbortPolicy());
+        verifyExecutor.allowCoreThreadTimeOut(true);
+
+        verifiedCache = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedCacheTtlSeconds))
+                .build();
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        cacheKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+
+        // 현재 파라미터의 해시 1회 비용을 실측해 남긴다. (= 공격자의 추측 1회 비용의 하한)
+        long startedAt = System.nanoTime();
+        encoder.encode("000000");
+        log.info("PIN 해시 Argon2id - m: {}KiB, t: {}, p: {}, 1회 해시: {}ms, 검증 풀: {}",
+                memoryKib, iterations, parallelism,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), poolSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verifyExecutor.shutdown();
+    }
+
+    // 신규 PIN / 패턴 해시 (가입, 패턴 등록)
+    public String hash(String rawNumber) {
+        return submit(() -> encoder.encode(rawNumber));
+    }
+
+    public boolean isLegacyHash(String storedHash) {
+        return storedHash != null && !storedHash.startsWith(ARGON2_PREFIX);
+    }
+
+    /**
+     * 입력값 검증
+     *
+     * @param cacheScope 검증 성공 캐시 구분값 (userId:PIN 등)
+     */
+    public Result verify(String cacheScope, String rawNumber, String storedHash) {
+        if (rawNumber == null || storedHash == null) {
+            return Result.MISMATCH;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String scheme = SCHEME_CACHE;
+        Result result;
+        try {
+            byte[] fingerprint = fingerprint(rawNumber, storedHash);
+            byte[] cached = verifiedCache.getIfPresent(cacheScope);
+            if (cached != null && MessageDigest.isEqual(cached, fingerprint)) {
+                result = Result.MATCHED;
+            } else if (isLegacyHash(storedHash)) {
+                scheme = SCHEME_LEGACY;
+                result = MessageDigest.isEqual(
+                        PasswordUtils.encodePassword(rawNumber).getBytes(StandardCharsets.US_ASCII),
+                        storedHash.getBytes(StandardCharsets.US_ASCII))
+                        ? Result.NEEDS_UPGRADE : Result.MISMATCH;
+            } else {
+                scheme = SCHEME_ARGON2;
+                result = submit(() -> encoder.matches(rawNumber, storedHash)) ? Result.MATCHED : Result.MISMATCH;
+            }
+
+            if (result == Result.MATCHED) {
+                verifiedCache.put(cacheScope, fingerprint);
+            }
+        } catch (IllegalStateException e) {
+            log.warn("PIN 검증 실패 - scope: {}, {}", cacheScope, e.getMessage());
+            result = Result.UNAVAILABLE;
+        }
+
+        sample.stop(Timer.builder("auth.pin.verify")
+                .description("PIN / 패턴 검증 소요 시간")
+                .tag("scheme", scheme)
+                .tag("outcome", result.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return result;
+    }
+
+    // PIN 변경 / 업그레이드 시 이전 검증 결과 제거
+    public void evict(String cacheScope) {
+        verifiedCache.invalidate(cacheScope);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = verifyExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("PIN 검증 대기열이 가득 찼습니다.", e);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("PIN 검증 중단", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("PIN 검증 시간 초과", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("PIN 검증 오류", e.getCause());
+        }
+    }
+
+    // 저장된 해시가 바뀌면(PIN 변경) 같은 입력이어도 캐시가 맞지 않도록 해시까지 묶는다.
+    private byte[] fingerprint(String rawNumber, String storedHash) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(cacheKey);
+            mac.update(storedHash.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawNumber.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 계산 실패", e);
+        }
+    }
+
+    public enum Result {
+        MATCHED,
+        // 기존 SHA-256 해시와 일치 -> Argon2id 로 교체 필요
+        NEEDS_UPGRADE,
+        MISMATCH,
+        // 검증 풀 포화 / 시간 초과
+        UNAVAILABLE;
+
+        public boolean isMatched() {
+            return this == MATCHED || this == NEEDS_UPGRADE;
+        }
+    }
+}
@@ -2,13 +2,21 @@ package com.kkulmoo.rebirth.user.application.service;
 
 import com.kkulmoo.rebirth.analysis.infrastructure.entity.ReportCardsEntity;
 import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardsJpaRepository;
+import com.kkulmoo.rebirth.card.domain.CardRepository;
 import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.common.exception.PaymentStageException;
 import com.kkulmoo.rebirth.transactions.application.dto.CardTransactionResponse;
+import com.kkulmoo.rebirth.user.domain.UserBenefitSnapshot;
 import com.kkulmoo.rebirth.user.domain.UserCardBenefit;
+import com.kkulmoo.rebirth.user.domain.UserId;
 import com.kkulmoo.rebirth.user.domain.repository.UserCardBenefitRepository;
+import com.kkulmoo.rebirth.user.infrastrucutre.repository.BenefitUsageEventJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -23,6 +31,11 @@ import java.util.stream.Collectors;
 public class UserCardBenefitService {
     private final UserCardBenefitRepository userCardBenefitRepository;
     private final ReportCardsJpaRepository reportCardsJpaRepository;
+    private final CardRepository cardRepository;
+    private final BenefitUsageEventJpaRepository benefitUsageEventJpaRepository;
+
+    @Value("${payment.benefit-events.retention-days}")
+    private long benefitEventRetentionDays;
 
     public void updateUseCardBenefit(List<CardTransactionResponse> cardTransactionResponses, List<MyCard> cards) {
         log.info("updateUserCardBenefit 실행, 거래내역 갯수: {}, 카드목록 갯수: {}", cardTransactionResponses.size(), cards.size());
@@ -84,6 +97,57 @@ public class UserCardBenefitService {
         userCardBenefitRepository.saveAll(list);
     }
 
+    // 결제 1건의 혜택 계산에 필요한 데이터를 카드 / 혜택 수와 무관하게 3번의 조회로 가져온다.
+    public UserBenefitSnapshot loadSnapshot(int userId, LocalDateTime createdAt) {
+        List<MyCard> cards = cardRepository.findByUserId(new UserId(userId));
+
+        // 결제 단계로 실행되므로 조회 사이마다 취소(시간 초과, 다른 단계 실패) 여부 확인
+        PaymentStageException.throwIfInterrupted("snapshot");
+        Map<Integer, UserCardBenefit> monthlyBenefits = new HashMap<>();
+        for (UserCardBenefit userCardBenefit : userCardBenefitRepository.findByUserIdAndYearAndMonth(
+                userId, createdAt.getYear(), createdAt.getMonthValue())) {
+            monthlyBenefits.putIfAbsent(userCardBenefit.getBenefitTemplateId(), userCardBenefit);
+        }
+
+        PaymentStageException.throwIfInterrupted("snapshot");
+        LocalDateTime lastMonthDate = createdAt.minusMonths(1);
+        Map<Integer, Short> lastMonthSpendingTiers = new HashMap<>();
+        for (ReportCardsEntity reportCard : reportCardsJpaRepository.getReportCardsByUserIdAndYearAndMonth(
+                userId, lastMonthDate.getYear(), lastMonthDate.getMonthValue())) {
+            if (reportCard.getSpendingTier() != null) {
+                lastMonthSpendingTiers.putIfAbsent(reportCard.getCardId(), reportCard.getSpendingTier());
+            }
+        }
+
+        log.info("혜택 스냅샷 조회 - userId: {}, 카드 수: {}, 이번 달 혜택 현황 수: {}, 지난 달 실적 카드 수: {}",
+                userId, cards.size(), monthlyBenefits.size(), lastMonthSpendingTiers.size());
+        return new UserBenefitSnapshot(userId, createdAt, cards, monthlyBenefits, lastMonthSpendingTiers);
+    }
+
+    // 결제 1건의 혜택 사용 횟수 / 금액 반영
+    // 이벤트 ID 기록과 혜택 현황 저장이 같은 트랜잭션이므로, 커밋 후 재전달된 이벤트는 더하지 않는다. (반영했으면 true)
+    @Transactional
+    public boolean applyBenefitUsage(String eventId, int userId, Integer benefitId, Integer cardId, int benefitAmount, LocalDateTime createdAt) {
+        if (benefitUsageEventJpaRepository.markApplied(eventId, userId) == 0) {
+            return false;
+        }
+        UserCardBenefit userCardBenefit = getUserCardBenefit(userId, benefitId, cardId, createdAt);
+        userCardBenefitRepository.save(
+                userCardBenefit.toBuilder()
+                        .benefitCount((short) (userCardBenefit.getBenefitCount() + 1))
+                        .benefitAmount(userCardBenefit.getBenefitAmount() + benefitAmount)
+                        .updateDate(createdAt)
+                        .build()
+        );
+        return true;
+    }
+
+    // 혜택 사용 반영 이벤트 기록 정리 (Outbox 재전달이 끝난 오래된 기록)
+    @Scheduled(cron = "0 40 3 * * ?")
+    public void purgeBenefitUsageEvents() {
+        benefitUsageEventJpaRepository.deleteAppliedBefore(LocalDateTime.now().minusDays(benefitEventRetentionDays));
+    }
+
     public UserCardBenefit getUserCardBenefit(int userId, Integer benefitId, Integer cardId, LocalDateTime createdAt) {
         Optional<UserCardBenefit> userCardBenefitOptional = userCardBenefitRepository.findByUserIdAndBenefitTemplateIdAndYearAndMonth(
                 userId,
@@ -97,18 +161,14 @@ public class UserCardBenefitService {
         }
 
 
-        int lastMonth = createdAt.getMonthValue() == 1 ?
-                12 : createdAt.getMonthValue();
-        int lastYear = createdAt.getMonthValue() == 1 ?
-                createdAt.getYear() - 1
-                : createdAt.getYear();
+        LocalDateTime lastMonthDate = createdAt.minusMonths(1);
 
-        // 실적 구간 조회
+        // 지난 달 실적 구간 조회
         Optional<ReportCardsEntity> reportCardsEntity = reportCardsJpaRepository.getByUserIdAndCardIdAndYearAndMonth(
                 userId,
                 cardId,
-                lastYear,
-                lastMonth);
+                lastMonthDate.getYear(),
+                lastMonthDate.getMonthValue());
 
         // 실적 구간 조회가 안되면 0으로 처리
         short spendingTier;
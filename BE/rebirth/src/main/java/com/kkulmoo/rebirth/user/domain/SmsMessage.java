@@ -0,0 +1,19 @@
+package com.kkulmoo.rebirth.user.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// SMS Outbox 메시지
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SmsMessage {
+    private String messageId;
+    private String to;
+    private String text;
+    // 인증번호 만료 시각(epoch millis). 이 시각이 지나면 보내지 않고 버린다.
+    private long expiresAt;
+}
@@ -0,0 +1,61 @@
+package com.kkulmoo.rebirth.user.domain;
+
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// 결제 1건의 혜택 계산에 필요한 유저 데이터 묶음
+// 보유 카드, 이번 달 혜택 사용 현황, 지난 달 카드별 실적 구간을 한 번에 조회해두고
+// 추천 카드 계산과 실제 카드 혜택 계산이 같이 사용한다.
+@Getter
+public class UserBenefitSnapshot {
+    private final int userId;
+    private final LocalDateTime createdAt;
+    private final List<MyCard> cards;
+    // benefitTemplateId : 이번 달 혜택 사용 현황
+    private final Map<Integer, UserCardBenefit> monthlyBenefits;
+    // cardId : 지난 달 실적 구간
+    private final Map<Integer, Short> lastMonthSpendingTiers;
+
+    public UserBenefitSnapshot(int userId, LocalDateTime createdAt, List<MyCard> cards,
+                               Map<Integer, UserCardBenefit> monthlyBenefits, Map<Integer, Short> lastMonthSpendingTiers) {
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.cards = cards;
+        this.monthlyBenefits = monthlyBenefits;
+        this.lastMonthSpendingTiers = lastMonthSpendingTiers;
+    }
+
+    public Optional<MyCard> findCardByPermanentToken(String permanentToken) {
+        if (permanentToken == null) {
+            return Optional.empty();
+        }
+        return cards.stream()
+                .filter(card -> permanentToken.equals(card.getPermanentToken()))
+                .findFirst();
+    }
+
+    // 혜택 계산용: 이번 달 혜택 현황이 있으면 그 실적 구간, 없으면 지난 달 실적 구간
+    public int spendingTierOf(Integer benefitId, Integer cardId) {
+        UserCardBenefit userCardBenefit = monthlyBenefits.get(benefitId);
+        if (userCardBenefit != null) {
+            return userCardBenefit.getSpendingTier();
+        }
+        Short spendingTier = lastMonthSpendingTiers.get(cardId);
+        return spendingTier != null ? spendingTier : 0;
+    }
+
+    public int benefitCountOf(Integer benefitId) {
+        UserCardBenefit userCardBenefit = monthlyBenefits.get(benefitId);
+        return userCardBenefit != null ? userCardBenefit.getBenefitCount() : 0;
+    }
+
+    public int usedBenefitAmountOf(Integer benefitId) {
+        UserCardBenefit userCardBenefit = monthlyBenefits.get(benefitId);
+        return userCardBenefit != null ? userCardBenefit.getBenefitAmount() : 0;
+    }
+}
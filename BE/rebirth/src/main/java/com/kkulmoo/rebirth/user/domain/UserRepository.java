@@ -6,4 +6,6 @@ public interface UserRepository{
 	User save(User user);
 	User findByPhoneSerialNumber(String phoneSerialNumber);
 	User findByPhoneSerialNumberAndHashedPinNumber(String phoneSerialNumber, String hashedPinNumber);
+	boolean upgradeHashedPinNumber(UserId userId, String previousHash, String newHash);
+	boolean upgradeHashedPatternNumber(UserId userId, String previousHash, String newHash);
 }
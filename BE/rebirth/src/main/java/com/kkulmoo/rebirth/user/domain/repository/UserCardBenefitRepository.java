@@ -9,6 +9,7 @@ import java.util.Optional;
 @Repository
 public interface UserCardBenefitRepository {
     Optional<UserCardBenefit> findByUserIdAndBenefitTemplateIdAndYearAndMonth(Integer userId, Integer benefitId, int year, int month);
+    List<UserCardBenefit> findByUserIdAndYearAndMonth(Integer userId, int year, int month);
     UserCardBenefit save(UserCardBenefit userCardBenefit);
     void saveAll(List<UserCardBenefit> userCardBenefits);
 }
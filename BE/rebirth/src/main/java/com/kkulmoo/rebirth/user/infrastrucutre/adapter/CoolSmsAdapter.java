@@ -0,0 +1,38 @@
+package com.kkulmoo.rebirth.user.infrastrucutre.adapter;
+
+import com.kkulmoo.rebirth.user.application.SmsPort;
+import net.nurigo.java_sdk.api.Message;
+import net.nurigo.java_sdk.exceptions.CoolsmsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+
+@Component
+@ConditionalOnProperty(name = "sms.provider", havingValue = "coolsms", matchIfMissing = true)
+public class CoolSmsAdapter implements SmsPort {
+
+    @Value("${coolsms.api.key}")
+    private String apiKey;
+
+    @Value("${coolsms.api.secret}")
+    private String apiSecret;
+
+    @Value("${coolsms.api.number}")
+    private String fromPhoneNumber;
+
+    @Override
+    public void send(String to, String text) throws CoolsmsException {
+        Message coolsms = new Message(apiKey, apiSecret); // 생성자를 통해 API 키와 API 시크릿 전달
+
+        HashMap<String, String> params = new HashMap<>();
+        params.put("to", to);    // 수신 전화번호
+        params.put("from", fromPhoneNumber);    // 발신 전화번호
+        params.put("type", "sms");
+        params.put("text", text);
+
+        // 메시지 전송
+        coolsms.send(params);
+    }
+}
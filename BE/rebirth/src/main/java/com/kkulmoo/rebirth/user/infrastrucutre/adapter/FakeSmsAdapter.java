@@ -0,0 +1,31 @@
+package com.kkulmoo.rebirth.user.infrastrucutre.adapter;
+
+import com.kkulmoo.rebirth.user.application.SmsPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 로컬 / 부하 테스트용 가짜 게이트웨이. 실제로 보내지 않고 지연과 실패율만 흉내낸다.
+@Component
+@ConditionalOnProperty(name = "sms.provider", havingValue = "fake")
+@Slf4j
+public class FakeSmsAdapter implements SmsPort {
+
+    @Value("${sms.fake.latency-millis}")
+    private long latencyMillis;
+
+    @Value("${sms.fake.failure-rate}")
+    private double failureRate;
+
+    @Override
+    public void send(String to, String text) throws Exception {
+        Thread.sleep(latencyMillis);
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("가짜 SMS 게이트웨이 전송 실패");
+        }
+        log.debug("가짜 SMS 전송 - to: {}, text: {}", to, text);
+    }
+}
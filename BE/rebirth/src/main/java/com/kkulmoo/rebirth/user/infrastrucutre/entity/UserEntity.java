@@ -31,10 +31,10 @@ public class UserEntity {
 	@Column(name = "user_name", nullable = false, length = 10)
 	private String userName;
 
-	@Column(name = "hashed_pin_number", nullable = false, length = 64)
+	@Column(name = "hashed_pin_number", nullable = false, length = 128)
 	private String hashedPinNumber;
 
-	@Column(name = "hashed_pattern_number", length = 64)
+	@Column(name = "hashed_pattern_number", length = 128)
 	private String hashedPatternNumber;
 
 	@Column(name = "birth" , length = 6)
@@ -0,0 +1,31 @@
+package com.kkulmoo.rebirth.user.infrastrucutre.repository;
+
+import com.kkulmoo.rebirth.user.infrastrucutre.entity.BenefitUsageEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BenefitUsageEventJpaRepository extends JpaRepository<BenefitUsageEventEntity, String> {
+
+    // 처음 반영하는 이벤트면 1, 이미 반영된 이벤트면 0
+    @Modifying
+    @Query(value = """
+    INSERT INTO benefit_usage_events (event_id, user_id, applied_at)
+    VALUES (:eventId, :userId, now())
+    ON CONFLICT (event_id) DO NOTHING
+    """, nativeQuery = true)
+    int markApplied(@Param("eventId") String eventId,
+                    @Param("userId") int userId);
+
+    // Outbox 재전달 기간이 지난 기록 정리
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM benefit_usage_events WHERE applied_at < :before", nativeQuery = true)
+    int deleteAppliedBefore(@Param("before") LocalDateTime before);
+}
@@ -4,6 +4,7 @@ package com.kkulmoo.rebirth.user.infrastrucutre.repository;
 import com.kkulmoo.rebirth.user.infrastrucutre.entity.UserCardBenefitEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserCardBenefitJpaRepository extends JpaRepository<UserCardBenefitEntity, Integer> {
@@ -13,4 +14,6 @@ public interface UserCardBenefitJpaRepository extends JpaRepository<UserCardBene
             int year,
             int month
     );
+
+    List<UserCardBenefitEntity> findByUserIdAndYearAndMonth(Integer userId, int year, int month);
 }
@@ -23,6 +23,15 @@ public class UserCardBenefitRepositoryImpl implements UserCardBenefitRepository
 
         return entityOptional.map(userCardBenefitEntityMapper::toUserCardBenefit);
     }
+
+    @Override
+    public List<UserCardBenefit> findByUserIdAndYearAndMonth(Integer userId, int year, int month) {
+        return userCardBenefitJpaRepository.findByUserIdAndYearAndMonth(userId, year, month)
+                .stream()
+                .map(userCardBenefitEntityMapper::toUserCardBenefit)
+                .toList();
+    }
+
     @Override
     public UserCardBenefit save(UserCardBenefit userCardBenefit) {
         UserCardBenefitEntity entity = userCardBenefitEntityMapper.toUserCardBenefitEntity(userCardBenefit);
@@ -1,6 +1,10 @@
 package com.kkulmoo.rebirth.user.infrastrucutre.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.kkulmoo.rebirth.user.infrastrucutre.entity.UserEntity;
 import org.springframework.data.jpa.repository.Query;
@@ -14,6 +18,22 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Integer> {
             "FROM UserEntity u " +
             "WHERE u.deletedAt is null")
     List<UserEntity> findAllAndDeletedAtIsNull();
+
+    // 배치 구간 나누기 / 구간 내 유저 순회 (ID 순)
+    @Query("SELECT MAX(u.userId) " +
+            "FROM UserEntity u " +
+            "WHERE u.deletedAt is null")
+    Integer findMaxActiveUserId();
+
+    @Query("SELECT u.userId " +
+            "FROM UserEntity u " +
+            "WHERE u.deletedAt is null " +
+            "AND u.userId > :afterUserId " +
+            "AND u.userId < :toUserId " +
+            "ORDER BY u.userId")
+    List<Integer> findActiveUserIdsInRange(@Param("afterUserId") int afterUserId,
+                                           @Param("toUserId") int toUserId,
+                                           Limit limit);
     Optional<UserEntity> findFirstByPhoneSerialNumberOrderByUserIdDesc(String phoneSerialNumber);
     Optional<UserEntity> findByPhoneSerialNumber(String phoneSerialNumber);
 
@@ -21,4 +41,23 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Integer> {
 
     Optional<UserEntity> findByPhoneSerialNumberAndHashedPinNumber(String phoneSerialNumber, String hashedPinNumber);
 
+    // 이전 해시가 그대로일 때만 교체 (동시 로그인 시 중복 업그레이드 방지)
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE UserEntity u " +
+            "SET u.hashedPinNumber = :newHash " +
+            "WHERE u.userId = :userId AND u.hashedPinNumber = :previousHash")
+    int updateHashedPinNumber(@Param("userId") Integer userId,
+                              @Param("previousHash") String previousHash,
+                              @Param("newHash") String newHash);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE UserEntity u " +
+            "SET u.hashedPatternNumber = :newHash " +
+            "WHERE u.userId = :userId AND u.hashedPatternNumber = :previousHash")
+    int updateHashedPatternNumber(@Param("userId") Integer userId,
+                                  @Param("previousHash") String previousHash,
+                                  @Param("newHash") String newHash);
+
 }
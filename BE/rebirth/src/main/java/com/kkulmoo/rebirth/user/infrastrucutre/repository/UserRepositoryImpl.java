@@ -55,5 +55,13 @@ public class UserRepositoryImpl implements UserRepository {
 		return userEntityMapper.toUser(userEntity);
 	}
 
+	@Override
+	public boolean upgradeHashedPinNumber(UserId userId, String previousHash, String newHash) {
+		return userJpaRepository.updateHashedPinNumber(userId.getValue(), previousHash, newHash) > 0;
+	}
 
+	@Override
+	public boolean upgradeHashedPatternNumber(UserId userId, String previousHash, String newHash) {
+		return userJpaRepository.updateHashedPatternNumber(userId.getValue(), previousHash, newHash) > 0;
+	}
 }
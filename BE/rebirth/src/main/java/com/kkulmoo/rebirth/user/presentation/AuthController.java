@@ -9,7 +9,6 @@ import com.kkulmoo.rebirth.user.application.service.CoolSmsService;
 import com.kkulmoo.rebirth.user.domain.User;
 import com.kkulmoo.rebirth.user.presentation.requestDTO.*;
 import lombok.RequiredArgsConstructor;
-import net.nurigo.java_sdk.exceptions.CoolsmsException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,7 +27,7 @@ public class AuthController {
 	private final CoolSmsService coolSmsService;
 
 	@PostMapping("/sms")
-	public ResponseEntity<ApiResponseDTO<?>> sendSMS(@RequestBody SendSmsRequest request) throws CoolsmsException {
+	public ResponseEntity<ApiResponseDTO<?>> sendSMS(@RequestBody SendSmsRequest request) {
 		String code = coolSmsService.sendSms(request.getPhoneNumber());
 		return ResponseEntity.ok(ApiResponseDTO.success("메시지 전송 성공",code));
 	}
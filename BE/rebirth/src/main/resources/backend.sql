@@ -20,6 +20,9 @@ DROP TABLE IF EXISTS transactions CASCADE;
 DROP TABLE IF EXISTS benefit_templates CASCADE;
 DROP TABLE IF EXISTS category CASCADE;
 DROP TABLE IF EXISTS pre_benefits CASCADE;
+DROP TABLE IF EXISTS batch_job_partitions CASCADE;
+DROP TABLE IF EXISTS report_delta_events CASCADE;
+DROP TABLE IF EXISTS benefit_usage_events CASCADE;
 
 --------------------------------------------------
 -- 2. 테이블 생성
@@ -96,7 +99,8 @@ CREATE TABLE report_cards
     month_benefit_amount  INT       NOT NULL,
     created_at            TIMESTAMP NOT NULL,
     spending_tier         SMALLINT,
-    CONSTRAINT PK_REPORT_CARDS PRIMARY KEY (report_card_id)
+    CONSTRAINT PK_REPORT_CARDS PRIMARY KEY (report_card_id),
+    CONSTRAINT UK_REPORT_CARDS_REPORT_CARD UNIQUE (report_id, card_id)
 );
 
 /* 소비 패턴 테이블 */
@@ -118,8 +122,9 @@ CREATE TABLE report_card_categories
     amount                  INT       NOT NULL,
     received_benefit_amount INT       NOT NULL,
     created_at              TIMESTAMP NOT NULL,
-    count                   VARCHAR(255),
-    CONSTRAINT PK_REPORT_CARD_CATEGORIES PRIMARY KEY (report_category_id)
+    count                   INT,
+    CONSTRAINT PK_REPORT_CARD_CATEGORIES PRIMARY KEY (report_category_id),
+    CONSTRAINT UK_REPORT_CARD_CATEGORIES_CARD_CATEGORY UNIQUE (report_card_id, category_id)
 );
 
 /* 은행 거래 테이블 */
@@ -140,7 +145,7 @@ CREATE TABLE users
     consumption_pattern_id VARCHAR(3),  -- 수정: SMALLINT → VARCHAR(3)
     user_name              VARCHAR(10) NOT NULL,
     user_email             VARCHAR(100),
-    hashed_pin_number      VARCHAR(64) NOT NULL,
+    hashed_pin_number      VARCHAR(128) NOT NULL, -- Argon2id 인코딩 문자열 ($argon2id$v=19$m=...)
     phone_number           VARCHAR(15) NOT NULL,
     phone_serial_number    VARCHAR(100),
     user_api_key           VARCHAR(40),
@@ -162,7 +167,8 @@ CREATE TABLE monthly_transaction_summary
     total_spending          INT       NOT NULL,
     received_benefit_amount INT       NOT NULL,
     created_at              TIMESTAMP NOT NULL,
-    CONSTRAINT PK_MONTHLY_TRANSACTION_SUMMARY PRIMARY KEY (report_id)
+    CONSTRAINT PK_MONTHLY_TRANSACTION_SUMMARY PRIMARY KEY (report_id),
+    CONSTRAINT UK_MONTHLY_TRANSACTION_SUMMARY_USER_MONTH UNIQUE (user_id, year, month)
 );
 
 /* 유저 카드 혜택 테이블 */
@@ -235,6 +241,45 @@ CREATE TABLE transactions
     CONSTRAINT PK_TRANSACTIONS PRIMARY KEY (transaction_id)
 );
 
+/* 배치 작업 구간 테이블 (체크포인트 / lease) */
+CREATE TABLE batch_job_partitions
+(
+    partition_id    SERIAL       NOT NULL,
+    job_name        VARCHAR(50)  NOT NULL,
+    run_key         VARCHAR(20)  NOT NULL,
+    partition_no    INT          NOT NULL,
+    from_user_id    INT          NOT NULL,
+    to_user_id      INT          NOT NULL,
+    status          VARCHAR(10)  NOT NULL,
+    last_user_id    INT          NOT NULL,
+    processed_count INT          NOT NULL,
+    failed_count    INT          NOT NULL,
+    attempts        INT          NOT NULL,
+    lease_owner     VARCHAR(100),
+    lease_until     TIMESTAMP,
+    updated_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT PK_BATCH_JOB_PARTITIONS PRIMARY KEY (partition_id),
+    CONSTRAINT UK_BATCH_JOB_PARTITIONS_JOB_RUN_PARTITION UNIQUE (job_name, run_key, partition_no)
+);
+
+/* 리포트 증분 반영 이벤트 테이블 (결제 이벤트 중복 반영 방지) */
+CREATE TABLE report_delta_events
+(
+    event_id   VARCHAR(36) NOT NULL,
+    user_id    INT         NOT NULL,
+    applied_at TIMESTAMP   NOT NULL,
+    CONSTRAINT PK_REPORT_DELTA_EVENTS PRIMARY KEY (event_id)
+);
+
+/* 혜택 사용 반영 이벤트 테이블 (결제 이벤트 중복 반영 방지) */
+CREATE TABLE benefit_usage_events
+(
+    event_id   VARCHAR(36) NOT NULL,
+    user_id    INT         NOT NULL,
+    applied_at TIMESTAMP   NOT NULL,
+    CONSTRAINT PK_BENEFIT_USAGE_EVENTS PRIMARY KEY (event_id)
+);
+
 /* 혜택 템플릿 테이블 */
 CREATE TABLE benefit_templates
 (
@@ -360,3 +405,18 @@ ALTER TABLE pre_benefits
     ADD CONSTRAINT FK_cards_TO_pre_benefits_1 FOREIGN KEY (card_id) REFERENCES cards (card_id);
 ALTER TABLE pre_benefits
     ADD CONSTRAINT FK_card_templates_TO_pre_benefits_1 FOREIGN KEY (card_template_id) REFERENCES card_templates (card_template_id);
+
+/* 기존 DB: PIN / 패턴 해시 Argon2id 전환 (ddl-auto=update 는 컬럼 길이를 늘리지 않음)
+ALTER TABLE users ALTER COLUMN hashed_pin_number TYPE VARCHAR(128);
+ALTER TABLE users ALTER COLUMN hashed_pattern_number TYPE VARCHAR(128);
+*/
+
+/* 기존 DB: 리포트 증분 반영(ON CONFLICT)용 유니크 제약 (중복 행이 있으면 ddl-auto=update 가 제약을 만들지 못함)
+   아래 조회로 중복 행을 확인해 정리한 뒤 제약 추가, 정리한 월은 /api/report/test 로 전체 재계산
+SELECT report_id, card_id, COUNT(*) FROM report_cards GROUP BY report_id, card_id HAVING COUNT(*) > 1;
+SELECT report_card_id, category_id, COUNT(*) FROM report_card_categories GROUP BY report_card_id, category_id HAVING COUNT(*) > 1;
+SELECT user_id, year, month, COUNT(*) FROM monthly_transaction_summary GROUP BY user_id, year, month HAVING COUNT(*) > 1;
+ALTER TABLE report_cards ADD CONSTRAINT uk_report_cards_report_card UNIQUE (report_id, card_id);
+ALTER TABLE report_card_categories ADD CONSTRAINT uk_report_card_categories_card_category UNIQUE (report_card_id, category_id);
+ALTER TABLE monthly_transaction_summary ADD CONSTRAINT uk_monthly_transaction_summary_user_month UNIQUE (user_id, year, month);
+*/
@@ -0,0 +1,136 @@
+package com.kkulmoo.rebirth.analysis.application.scheduler;
+
+import com.kkulmoo.rebirth.analysis.application.service.ReportDescriptionService;
+import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyConsumptionReportEntity;
+import com.kkulmoo.rebirth.analysis.infrastructure.entity.MonthlyTransactionSummaryEntity;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyConsumptionReportJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyTransactionSummaryJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardCategoriesJpaRepository;
+import com.kkulmoo.rebirth.user.infrastrucutre.entity.UserEntity;
+import com.kkulmoo.rebirth.user.infrastrucutre.repository.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 월 종료 소비 리포트는 실행 시점이 아니라 대상 월과 그 직전 월로 계산하고, 유저 단위 트랜잭션 안에서 저장한다.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MonthlyTransactionSchedulerTest {
+
+    private static final int USER_ID = 7;
+    private static final YearMonth TARGET = YearMonth.of(2025, 1);
+
+    @Mock
+    private UserJpaRepository userJpaRepository;
+    @Mock
+    private MonthlyTransactionSummaryJpaRepository monthlyTransactionSummaryJpaRepository;
+    @Mock
+    private MonthlyConsumptionReportJpaRepository monthlyConsumptionReportJpaRepository;
+    @Mock
+    private ReportCardCategoriesJpaRepository reportCardCategoriesJpaRepository;
+    @Mock
+    private ReportDescriptionService reportDescriptionService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private MonthlyTransactionScheduler monthlyTransactionScheduler;
+
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        when(userJpaRepository.findById(USER_ID)).thenReturn(Optional.of(UserEntity.builder()
+                .userId(USER_ID)
+                .averageMonthlyIncome(1_000_000)
+                .build()));
+        when(reportCardCategoriesJpaRepository.getTotalSpendingByCategoryNameAndUser(anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+        when(monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(USER_ID, 2025, 1))
+                .thenReturn(summary(10, 2025, 1, -200_000));
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            inTransaction = true;
+            try {
+                action.accept(null);
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void variationComparesWithMonthBeforeTarget() {
+        when(monthlyTransactionSummaryJpaRepository.getByUserIdAndYearMonth(USER_ID, 2024, 12))
+                .thenReturn(summary(9, 2024, 12, -150_000));
+
+        int[] pattern = monthlyTransactionScheduler.calculateSpendingPattern(USER_ID, TARGET);
+
+        assertThat(pattern[1]).isEqualTo(25);
+    }
+
+    @Test
+    void missingPreviousMonthUsesBaseline() {
+        int[] pattern = monthlyTransactionScheduler.calculateSpendingPattern(USER_ID, TARGET);
+
+        assertThat(pattern[1]).isEqualTo(50);
+    }
+
+    @Test
+    void reportIsSavedInsideTransaction() {
+        when(monthlyConsumptionReportJpaRepository.save(any())).thenAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            return invocation.getArgument(0);
+        });
+
+        monthlyTransactionScheduler.makeMonthlyConsumptionReport(USER_ID, TARGET);
+
+        ArgumentCaptor<MonthlyConsumptionReportEntity> saved = ArgumentCaptor.forClass(MonthlyConsumptionReportEntity.class);
+        verify(monthlyConsumptionReportJpaRepository).save(saved.capture());
+        assertThat(saved.getValue().getReportId()).isEqualTo(10);
+        verify(reportDescriptionService).request(10);
+    }
+
+    @Test
+    void existingReportIsNotRecreated() {
+        when(monthlyConsumptionReportJpaRepository.existsById(10)).thenReturn(true);
+
+        monthlyTransactionScheduler.makeMonthlyConsumptionReport(USER_ID, TARGET);
+
+        verify(monthlyConsumptionReportJpaRepository, never()).save(any());
+        verify(reportDescriptionService, never()).request(anyInt());
+    }
+
+    private MonthlyTransactionSummaryEntity summary(int reportId, int year, int month, int totalSpending) {
+        return MonthlyTransactionSummaryEntity.builder()
+                .reportId(reportId)
+                .userId(USER_ID)
+                .year(year)
+                .month(month)
+                .totalSpending(totalSpending)
+                .receivedBenefitAmount(0)
+                .build();
+    }
+}
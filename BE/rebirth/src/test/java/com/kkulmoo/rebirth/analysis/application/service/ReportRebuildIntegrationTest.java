@@ -0,0 +1,173 @@
+package com.kkulmoo.rebirth.analysis.application.service;
+
+import com.kkulmoo.rebirth.analysis.application.scheduler.MonthlyTransactionScheduler;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyTransactionSummaryJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포트 일괄 재계산(rebuildReports, 집계 쿼리)이 기존 행 단위 재계산(updateMonthlyTransactionSummary)과
+ * 같은 값을 만드는지 실제 PostgreSQL 에서 비교한다. (Docker 가 없으면 건너뜀)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(ReportService.class)
+class ReportRebuildIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int USER_ID = 1;
+    private static final int OTHER_USER_ID = 2;
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @MockitoBean
+    private MonthlyTransactionScheduler monthlyTransactionScheduler;
+
+    @MockitoBean
+    private ReportDescriptionService reportDescriptionService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private MonthlyTransactionSummaryJpaRepository monthlyTransactionSummaryJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("""
+                INSERT INTO card_companies (card_company_id, company_name) VALUES (1, '테스트카드');
+                INSERT INTO card_templates (card_template_id, card_company_id, card_name, card_img_url, annual_fee, card_type, performance_range)
+                VALUES (1, 1, '구간카드', 'img', 10000, 'CREDIT', ARRAY[300000, 700000]),
+                       (2, 1, '구간없는카드', 'img', 0, 'DEBIT', NULL);
+                INSERT INTO users (user_id, user_name, hashed_pin_number, phone_number, user_ci, created_at, bank_latest_load_data_at, average_monthly_income)
+                VALUES (1, '사용자', 'pin', '01000000001', 'ci-1', now(), now(), 3000000),
+                       (2, '다른사용자', 'pin', '01000000002', 'ci-2', now(), now(), 3000000);
+                INSERT INTO cards (card_id, user_id, card_template_id, card_unique_number, card_order, annual_fee, is_expired, created_at)
+                VALUES (1, 1, 1, 'CARD-1', 1, 10000, 0, now()),
+                       (2, 1, 2, 'CARD-2', 2, 0, 0, now()),
+                       (3, 1, 1, 'CARD-3', 3, 10000, 0, now()),
+                       (4, 2, 1, 'CARD-4', 1, 10000, 0, now());
+                INSERT INTO category (category_id, category_name) VALUES (1, '외식'), (2, '교통'), (3, '쇼핑');
+                INSERT INTO subcategory (subcategory_id, subcategory_name, category_id) VALUES (1, '한식', 1), (2, '택시', 2), (3, '의류', 3);
+                INSERT INTO merchants (merchant_id, subcategory_id, merchant_name, created_at)
+                VALUES (1, 1, '한식당', now()), (2, 2, '택시', now()), (3, 3, '옷가게', now());
+                """);
+
+        // 3월 승인 거래 + 집계에서 빠져야 하는 거래 (거절, 2월 말일, 4월 1일 0시, 다른 사용자)
+        insertTransaction(1, USER_ID, "CARD-1", 1, -250000, 5000, "APPROVED", "2025-03-01 00:00:00");
+        insertTransaction(2, USER_ID, "CARD-1", 1, -120000, 0, "APPROVED", "2025-03-15 12:30:00");
+        insertTransaction(3, USER_ID, "CARD-1", 2, -40000, 1000, "APPROVED", "2025-03-31 23:59:59");
+        insertTransaction(4, USER_ID, "CARD-2", 2, -15000, 0, "APPROVED", "2025-03-10 08:00:00");
+        insertTransaction(5, USER_ID, "CARD-2", 3, -30000, 300, "APPROVED", "2025-03-11 19:00:00");
+        insertTransaction(6, USER_ID, "CARD-1", 1, -99999, 0, "REJECTED", "2025-03-20 10:00:00");
+        insertTransaction(7, USER_ID, "CARD-1", 1, -55555, 0, "APPROVED", "2025-02-28 23:59:59");
+        insertTransaction(8, USER_ID, "CARD-1", 1, -77777, 0, "APPROVED", "2025-04-01 00:00:00");
+        insertTransaction(9, OTHER_USER_ID, "CARD-4", 1, -88888, 0, "APPROVED", "2025-03-05 09:00:00");
+    }
+
+    @Test
+    void rebuildMatchesPerRowRecompute() {
+        monthlyTransactionSummaryJpaRepository.createEmptyIfAbsent(USER_ID, MONTH.getYear(), MONTH.getMonthValue());
+        reportService.updateMonthlyTransactionSummary(USER_ID, MONTH.atDay(1).atStartOfDay());
+        entityManager.flush();
+
+        List<Map<String, Object>> expectedSummary = summary();
+        List<Map<String, Object>> expectedCards = reportCards();
+        List<Map<String, Object>> expectedCategories = reportCardCategories();
+
+        assertThat(expectedSummary).singleElement().satisfies(row -> {
+            assertThat(row).containsEntry("total_spending", -455000).containsEntry("received_benefit_amount", 6300);
+        });
+        assertThat(expectedCategories).hasSize(4);
+
+        // 재계산 전에 값을 어긋나게 하고, 거래가 없는 카테고리 행을 남겨 둔다.
+        jdbcTemplate.update("UPDATE monthly_transaction_summary SET total_spending = 1, received_benefit_amount = 1 WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("UPDATE report_cards SET month_spending_amount = 1, month_benefit_amount = 1, spending_tier = 9");
+        jdbcTemplate.update("""
+                INSERT INTO report_card_categories (report_card_id, category_id, amount, received_benefit_amount, count, created_at)
+                SELECT report_card_id, 3, 1, 1, 1, now() FROM report_cards WHERE card_id = 1
+                """);
+        entityManager.clear();
+
+        reportService.rebuildReports(USER_ID, MONTH, MONTH);
+        entityManager.flush();
+
+        assertThat(summary()).isEqualTo(expectedSummary);
+        assertThat(reportCardCategories()).isEqualTo(expectedCategories);
+
+        // 일괄 재계산은 거래가 없는 보유 카드도 0으로 채운다. (기존 경로는 거래가 있는 카드만)
+        List<Map<String, Object>> rebuiltCards = reportCards();
+        assertThat(rebuiltCards.stream().filter(row -> !row.get("card_id").equals(3)).toList())
+                .isEqualTo(expectedCards);
+        assertThat(rebuiltCards.stream().filter(row -> row.get("card_id").equals(3)).toList())
+                .singleElement().satisfies(row -> assertThat(row)
+                        .containsEntry("month_spending_amount", 0)
+                        .containsEntry("month_benefit_amount", 0)
+                        .containsEntry("spending_tier", 0));
+        assertThat(expectedCards).extracting(row -> row.get("spending_tier"))
+                .containsExactly(1, 0);
+    }
+
+    private void insertTransaction(int transactionId, int userId, String cardUniqueNumber, int merchantId,
+                                   int amount, int benefitAmount, String status, String createdAt) {
+        jdbcTemplate.update("INSERT INTO transactions (transaction_id, user_id, amount, created_at, approval_number) VALUES (?, ?, ?, CAST(? AS timestamp), ?)",
+                transactionId, userId, amount, createdAt, "A" + transactionId);
+        jdbcTemplate.update("INSERT INTO card_transactions (transaction_id, merchant_id, card_unique_number, benefit_type, status, benefit_amount) VALUES (?, ?, ?, 'DISCOUNT', ?, ?)",
+                transactionId, merchantId, cardUniqueNumber, status, benefitAmount);
+    }
+
+    private List<Map<String, Object>> summary() {
+        return jdbcTemplate.queryForList("""
+                SELECT total_spending, received_benefit_amount
+                FROM monthly_transaction_summary
+                WHERE user_id = ? AND year = ? AND month = ?
+                """, USER_ID, MONTH.getYear(), MONTH.getMonthValue());
+    }
+
+    private List<Map<String, Object>> reportCards() {
+        return jdbcTemplate.queryForList("""
+                SELECT rc.card_id, rc.month_spending_amount, rc.month_benefit_amount, rc.spending_tier
+                FROM report_cards rc
+                JOIN monthly_transaction_summary mts ON mts.report_id = rc.report_id
+                WHERE mts.user_id = ? AND mts.year = ? AND mts.month = ?
+                ORDER BY rc.card_id
+                """, USER_ID, MONTH.getYear(), MONTH.getMonthValue());
+    }
+
+    private List<Map<String, Object>> reportCardCategories() {
+        return jdbcTemplate.queryForList("""
+                SELECT rc.card_id, rcc.category_id, rcc.amount, rcc.received_benefit_amount, rcc.count
+                FROM report_card_categories rcc
+                JOIN report_cards rc ON rc.report_card_id = rcc.report_card_id
+                JOIN monthly_transaction_summary mts ON mts.report_id = rc.report_id
+                WHERE mts.user_id = ? AND mts.year = ? AND mts.month = ?
+                ORDER BY rc.card_id, rcc.category_id
+                """, USER_ID, MONTH.getYear(), MONTH.getMonthValue());
+    }
+}
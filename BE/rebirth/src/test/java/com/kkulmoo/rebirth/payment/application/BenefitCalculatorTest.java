@@ -0,0 +1,144 @@
+package com.kkulmoo.rebirth.payment.application;
+
+import com.kkulmoo.rebirth.analysis.domain.enums.BenefitType;
+import com.kkulmoo.rebirth.card.domain.DiscountType;
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.payment.presentation.response.CalculatedBenefitDto;
+import com.kkulmoo.rebirth.user.domain.UserBenefitSnapshot;
+import com.kkulmoo.rebirth.user.domain.UserCardBenefit;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// BenefitCalculator / BenefitSelector 가 기존 BenefitService 계산(LegacyBenefitCalculator)과 같은 결과를 내는지 무작위 입력으로 비교
+class BenefitCalculatorTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    void calculateMatchesLegacy() {
+        Random random = new Random(42);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BenefitInfo benefitInfo = randomBenefit(random, i);
+            UserCardBenefit userCardBenefit = UserCardBenefit.builder()
+                    .benefitTemplateId(i)
+                    .spendingTier((short) random.nextInt(5))
+                    .benefitCount((short) random.nextInt(20))
+                    .benefitAmount(random.nextInt(30_000))
+                    .build();
+            int amount = 1 + random.nextInt(200_000);
+
+            int expected = LegacyBenefitCalculator.calculateBenefitAmount(benefitInfo, amount, userCardBenefit);
+            int actual = BenefitCalculator.calculate(benefitInfo.getCompiledRule(), amount,
+                    userCardBenefit.getSpendingTier(), userCardBenefit.getBenefitCount(), userCardBenefit.getBenefitAmount());
+
+            assertThat(actual)
+                    .as("benefit #%d, amount %d", i, amount)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void selectorPicksLegacyMaximum() {
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            List<MyCard> cards = new ArrayList<>();
+            List<List<BenefitInfo>> benefitsByCard = new ArrayList<>();
+            Map<Integer, UserCardBenefit> monthlyBenefits = new HashMap<>();
+            Map<Integer, Short> lastMonthTiers = new HashMap<>();
+
+            int benefitId = 1;
+            int cardCount = 1 + random.nextInt(5);
+            for (int c = 0; c < cardCount; c++) {
+                int cardId = 100 + c;
+                cards.add(MyCard.builder().cardId(cardId).cardTemplateId(10 + c).permanentToken("token-" + cardId).build());
+                lastMonthTiers.put(cardId, (short) random.nextInt(4));
+
+                List<BenefitInfo> benefits = new ArrayList<>();
+                int benefitCount = random.nextInt(6);
+                for (int b = 0; b < benefitCount; b++, benefitId++) {
+                    benefits.add(randomBenefit(random, benefitId));
+                    if (random.nextBoolean()) {
+                        monthlyBenefits.put(benefitId, UserCardBenefit.builder()
+                                .benefitTemplateId(benefitId)
+                                .spendingTier((short) random.nextInt(4))
+                                .benefitCount((short) random.nextInt(10))
+                                .benefitAmount(random.nextInt(20_000))
+                                .build());
+                    }
+                }
+                benefitsByCard.add(benefits);
+            }
+            UserBenefitSnapshot snapshot = new UserBenefitSnapshot(1, now, cards, monthlyBenefits, lastMonthTiers);
+            int amount = 1 + random.nextInt(200_000);
+
+            // 기존 방식: 쿠폰을 제외한 모든 후보 중 최대 혜택 금액 (없으면 null)
+            Integer expected = null;
+            for (int c = 0; c < cards.size(); c++) {
+                for (BenefitInfo benefitInfo : benefitsByCard.get(c)) {
+                    if (benefitInfo.getBenefitType() == BenefitType.COUPON) {
+                        continue;
+                    }
+                    UserCardBenefit userCardBenefit = monthlyBenefits.getOrDefault(benefitInfo.getBenefitId(),
+                            UserCardBenefit.builder()
+                                    .spendingTier(lastMonthTiers.get(cards.get(c).getCardId()))
+                                    .benefitCount((short) 0)
+                                    .benefitAmount(0)
+                                    .build());
+                    int discountAmount = LegacyBenefitCalculator.calculateBenefitAmount(benefitInfo, amount, userCardBenefit);
+                    if (expected == null || discountAmount > expected) {
+                        expected = discountAmount;
+                    }
+                }
+            }
+
+            BenefitSelector selector = new BenefitSelector(snapshot, amount);
+            for (int c = 0; c < cards.size(); c++) {
+                selector.offer(cards.get(c), benefitsByCard.get(c));
+            }
+            CalculatedBenefitDto actual = selector.toDto();
+
+            if (expected == null) {
+                assertThat(actual).as("case #%d", i).isNull();
+            } else {
+                assertThat(actual).as("case #%d", i).isNotNull();
+                assertThat(actual.getBenefitAmount()).as("case #%d", i).isEqualTo(expected);
+            }
+        }
+    }
+
+    // 구간 리스트는 null / 빈 리스트 / 구간 수보다 짧은 경우까지 섞는다.
+    private static BenefitInfo randomBenefit(Random random, int benefitId) {
+        return BenefitInfo.builder()
+                .benefitId(benefitId)
+                .benefitType(random.nextInt(10) == 0 ? BenefitType.COUPON : BenefitType.DISCOUNT)
+                .benefitConditionType((short) random.nextInt(6))
+                .benefitsBySection(randomList(random, () -> (double) random.nextInt(12)))
+                .paymentRange(randomList(random, () -> random.nextInt(100_000)))
+                .benefitUsageLimit(randomList(random, () -> (short) random.nextInt(15)))
+                .benefitUsageAmount(randomList(random, () -> (short) random.nextInt(25_000)))
+                .discountType(random.nextBoolean() ? DiscountType.PERCENT : DiscountType.AMOUNT)
+                .build();
+    }
+
+    private static <T> List<T> randomList(Random random, Supplier<T> value) {
+        if (random.nextInt(8) == 0) {
+            return null;
+        }
+        int size = random.nextInt(5);
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(value.get());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,73 @@
+package com.kkulmoo.rebirth.payment.application;
+
+import com.kkulmoo.rebirth.card.domain.DiscountType;
+import com.kkulmoo.rebirth.user.domain.UserCardBenefit;
+
+// BenefitCalculator 도입 전 BenefitService.calculateBenefitAmount / calculateBenefit 그대로 (로그 제외)
+// 결과 비교 테스트와 벤치마크 기준선으로 사용 (jmh 소스셋은 테스트 클래스를 포함한다)
+public final class LegacyBenefitCalculator {
+
+    private LegacyBenefitCalculator() {
+    }
+
+    public static int calculateBenefitAmount(BenefitInfo benefitInfo, int amount, UserCardBenefit userCardBenefit) {
+        if (userCardBenefit == null) {
+            return 0;
+        }
+        if (userCardBenefit.getSpendingTier() == 0) {
+            return 0;
+        }
+        double benefit = 0.0;
+        int spendingTier = userCardBenefit.getSpendingTier();
+        if (benefitInfo.getBenefitConditionType() == 4 || benefitInfo.getBenefitConditionType() == 1) {
+            if (benefitInfo.getBenefitsBySection() != null && benefitInfo.getBenefitsBySection().size() >= spendingTier) {
+                benefit = benefitInfo.getBenefitsBySection().get(spendingTier - 1);
+            }
+        }
+        if (benefitInfo.getBenefitConditionType() == 2) {
+            benefit = calculateBenefit(benefitInfo, amount);
+        }
+        if (benefitInfo.getBenefitConditionType() == 3 && spendingTier >= 1) {
+            benefit = calculateBenefit(benefitInfo, amount);
+        }
+        if (benefit == 0) {
+            return 0;
+        }
+        if (benefitInfo.getBenefitUsageLimit() != null && benefitInfo.getBenefitUsageLimit().size() >= spendingTier) {
+            if (userCardBenefit.getBenefitCount() >= benefitInfo.getBenefitUsageLimit().get(spendingTier - 1)) {
+                return 0;
+            }
+        }
+        int totalAbleBenefitAmount = Integer.MAX_VALUE;
+        if (benefitInfo.getBenefitUsageAmount() != null && benefitInfo.getBenefitUsageAmount().size() >= spendingTier) {
+            totalAbleBenefitAmount = benefitInfo.getBenefitUsageAmount().get(spendingTier - 1);
+        }
+        if (userCardBenefit.getBenefitAmount() >= totalAbleBenefitAmount) {
+            return 0;
+        }
+        int result;
+        if (benefitInfo.getDiscountType() == DiscountType.AMOUNT) {
+            result = Math.min((int) benefit, totalAbleBenefitAmount - userCardBenefit.getBenefitAmount());
+        } else {
+            result = Math.min((int) (amount * benefit / 100), totalAbleBenefitAmount - userCardBenefit.getBenefitAmount());
+        }
+        return result;
+    }
+
+    private static double calculateBenefit(BenefitInfo benefitInfo, int amount) {
+        double benefit = 0.0;
+        int rangeIdx = 0;
+        if (benefitInfo.getPaymentRange() != null && benefitInfo.getBenefitsBySection() != null) {
+            for (int idx = 0; idx < benefitInfo.getPaymentRange().size(); idx++) {
+                if (benefitInfo.getPaymentRange().get(idx) < amount) {
+                    rangeIdx = idx + 1;
+                    break;
+                }
+            }
+            if (rangeIdx != 0 && benefitInfo.getBenefitsBySection().size() >= rangeIdx) {
+                benefit = benefitInfo.getBenefitsBySection().get(rangeIdx - 1);
+            }
+        }
+        return benefit;
+    }
+}
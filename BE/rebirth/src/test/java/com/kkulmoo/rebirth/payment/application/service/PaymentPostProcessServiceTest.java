@@ -0,0 +1,189 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkulmoo.rebirth.analysis.application.service.ReportService;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.MonthlyTransactionSummaryJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardCategoriesJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportCardsJpaRepository;
+import com.kkulmoo.rebirth.analysis.infrastructure.repository.ReportDeltaEventJpaRepository;
+import com.kkulmoo.rebirth.card.domain.CardRepository;
+import com.kkulmoo.rebirth.card.domain.MyCard;
+import com.kkulmoo.rebirth.common.outbox.RedisStreamOutbox;
+import com.kkulmoo.rebirth.payment.domain.PaymentCompletedEvent;
+import com.kkulmoo.rebirth.user.application.service.MyDataService;
+import com.kkulmoo.rebirth.user.application.service.UserCardBenefitService;
+import com.kkulmoo.rebirth.user.domain.UserCardBenefit;
+import com.kkulmoo.rebirth.user.domain.UserRepository;
+import com.kkulmoo.rebirth.user.domain.repository.UserCardBenefitRepository;
+import com.kkulmoo.rebirth.user.infrastrucutre.repository.BenefitUsageEventJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 리포트 증분 반영은 단계 기록(Redis) 전에 끊겨 같은 결제 이벤트가 다시 전달돼도 한 번만 더해져야 한다.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentPostProcessServiceTest {
+
+    @Mock
+    private MonthlyTransactionSummaryJpaRepository monthlyTransactionSummaryJpaRepository;
+    @Mock
+    private ReportCardsJpaRepository reportCardsJpaRepository;
+    @Mock
+    private ReportCardCategoriesJpaRepository reportCardCategoriesJpaRepository;
+    @Mock
+    private ReportDeltaEventJpaRepository reportDeltaEventJpaRepository;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    @Mock
+    private UserCardBenefitRepository userCardBenefitRepository;
+    @Mock
+    private BenefitUsageEventJpaRepository benefitUsageEventJpaRepository;
+
+    @InjectMocks
+    private UserCardBenefitService userCardBenefitService;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+    @Mock
+    private SetOperations<String, String> setOperations;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private PaymentMetrics paymentMetrics;
+
+    private PaymentPostProcessService paymentPostProcessService;
+
+    // report_delta_events 의 event_id 기본 키 역할
+    private final Set<String> appliedEventIds = new HashSet<>();
+    // benefit_usage_events 의 event_id 기본 키 역할
+    private final Set<String> benefitEventIds = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        paymentPostProcessService = new PaymentPostProcessService(
+                mock(RedisStreamOutbox.class), new ObjectMapper(), redisTemplate,
+                userCardBenefitService, mock(PreBenefitService.class),
+                cardRepository, mock(UserRepository.class), mock(MyDataService.class), reportService, paymentMetrics);
+
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(cardRepository.findById(anyInt())).thenReturn(Optional.of(MyCard.builder().cardId(7).build()));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        }).when(paymentMetrics).recordStage(anyString(), any(Runnable.class));
+
+        when(reportDeltaEventJpaRepository.markApplied(anyString(), anyInt()))
+                .thenAnswer(invocation -> appliedEventIds.add(invocation.getArgument(0)) ? 1 : 0);
+        when(monthlyTransactionSummaryJpaRepository.upsertDelta(anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(11);
+        when(reportCardsJpaRepository.upsertDelta(anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(22);
+
+        when(benefitUsageEventJpaRepository.markApplied(anyString(), anyInt()))
+                .thenAnswer(invocation -> benefitEventIds.add(invocation.getArgument(0)) ? 1 : 0);
+        when(userCardBenefitRepository.findByUserIdAndBenefitTemplateIdAndYearAndMonth(anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(Optional.of(UserCardBenefit.builder()
+                        .userId(1)
+                        .benefitTemplateId(40)
+                        .spendingTier((short) 1)
+                        .benefitCount((short) 2)
+                        .benefitAmount(1_000)
+                        .year(2025)
+                        .month(3)
+                        .build()));
+    }
+
+    @Test
+    void redeliveredEventIsAddedToBenefitUsageOnce() {
+        PaymentCompletedEvent event = approvedEvent("event-1", 40);
+        // 첫 전달: 혜택 트랜잭션은 커밋됐지만 단계 기록(SADD)이 실패 -> Outbox 가 같은 이벤트를 다시 전달
+        when(setOperations.isMember(anyString(), anyString())).thenReturn(false);
+        when(setOperations.add(anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("connection lost"))
+                .thenReturn(1L);
+
+        assertThatThrownBy(() -> paymentPostProcessService.process(event))
+                .isInstanceOf(RedisConnectionFailureException.class);
+        paymentPostProcessService.process(event);
+
+        ArgumentCaptor<UserCardBenefit> saved = ArgumentCaptor.forClass(UserCardBenefit.class);
+        verify(userCardBenefitRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getBenefitCount()).isEqualTo((short) 3);
+        assertThat(saved.getValue().getBenefitAmount()).isEqualTo(1_500);
+    }
+
+    @Test
+    void redeliveredEventIsAddedToReportOnce() {
+        PaymentCompletedEvent event = approvedEvent("event-1");
+        // 첫 전달: 리포트 트랜잭션은 커밋됐지만 단계 기록(SADD)이 실패 -> Outbox 가 같은 이벤트를 다시 전달
+        when(setOperations.isMember(anyString(), anyString())).thenReturn(false);
+        when(setOperations.add(anyString(), anyString()))
+                .thenReturn(1L)
+                .thenThrow(new RedisConnectionFailureException("connection lost"))
+                .thenReturn(1L);
+
+        assertThatThrownBy(() -> paymentPostProcessService.process(event))
+                .isInstanceOf(RedisConnectionFailureException.class);
+        paymentPostProcessService.process(event);
+
+        verify(monthlyTransactionSummaryJpaRepository, times(1)).upsertDelta(1, 2025, 3, -12_000, 500);
+        verify(reportCardsJpaRepository, times(1)).upsertDelta(11, 7, -12_000, 500);
+        verify(reportCardCategoriesJpaRepository, times(1)).upsertDelta(22, 3, -12_000, 500);
+    }
+
+    @Test
+    void distinctEventsAreEachAdded() {
+        when(setOperations.isMember(anyString(), anyString())).thenReturn(false);
+
+        paymentPostProcessService.process(approvedEvent("event-1"));
+        paymentPostProcessService.process(approvedEvent("event-2"));
+
+        verify(monthlyTransactionSummaryJpaRepository, times(2)).upsertDelta(1, 2025, 3, -12_000, 500);
+        verify(reportCardCategoriesJpaRepository, times(2)).upsertDelta(22, 3, -12_000, 500);
+    }
+
+    private static PaymentCompletedEvent approvedEvent(String eventId) {
+        return approvedEvent(eventId, null);
+    }
+
+    private static PaymentCompletedEvent approvedEvent(String eventId, Integer benefitId) {
+        return PaymentCompletedEvent.builder()
+                .eventId(eventId)
+                .benefitId(benefitId)
+                .userId(1)
+                .cardId(7)
+                .amount(12_000)
+                .benefitAmount(500)
+                .merchantName("스타벅스")
+                .createdAt(LocalDateTime.of(2025, 3, 15, 12, 30))
+                .categoryId(3)
+                .approvedAmount(-12_000)
+                .build();
+    }
+}
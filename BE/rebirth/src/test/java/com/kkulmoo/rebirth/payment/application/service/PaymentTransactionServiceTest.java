@@ -0,0 +1,121 @@
+package com.kkulmoo.rebirth.payment.application.service;
+
+import com.kkulmoo.rebirth.common.exception.PaymentStageException;
+import com.kkulmoo.rebirth.common.thread.WorkerThreadFactory;
+import com.kkulmoo.rebirth.payment.infrastructure.dto.MerchantJoinDto;
+import com.kkulmoo.rebirth.transactions.domain.MerchantCache;
+import com.kkulmoo.rebirth.user.application.service.UserCardBenefitService;
+import com.kkulmoo.rebirth.user.domain.UserBenefitSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 시간 초과 / 다른 단계 실패로 버려진 단계는 interrupt 되어 결제 단계 풀 스레드를 돌려줘야 한다.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentTransactionServiceTest {
+
+    @Mock
+    private WebClientService webClientService;
+    @Mock
+    private MerchantCache merchantCache;
+    @Mock
+    private BenefitService benefitService;
+    @Mock
+    private PaymentTokenService paymentTokenService;
+    @Mock
+    private UserCardBenefitService userCardBenefitService;
+    @Mock
+    private PaymentPostProcessService paymentPostProcessService;
+    @Mock
+    private PaymentMetrics paymentMetrics;
+    @Spy
+    private WorkerThreadFactory workerThreadFactory = new WorkerThreadFactory();
+
+    @InjectMocks
+    private PaymentTransactionService paymentTransactionService;
+
+    // 가맹점 조회가 멈춘 상태 (interrupt 되어야만 풀린다)
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentTransactionService, "stagePoolSize", 2);
+        ReflectionTestUtils.setField(paymentTransactionService, "stageQueueCapacity", 4);
+        ReflectionTestUtils.setField(paymentTransactionService, "merchantTimeoutMillis", 100L);
+        ReflectionTestUtils.setField(paymentTransactionService, "snapshotTimeoutMillis", 5_000L);
+        ReflectionTestUtils.setField(paymentTransactionService, "benefitTimeoutMillis", 5_000L);
+        paymentTransactionService.init();
+
+        when(merchantCache.getMerchantJoinDataByName(anyString())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return mock(MerchantJoinDto.class);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentTransactionService.shutdown();
+    }
+
+    @Test
+    void timedOutStageIsInterrupted() throws InterruptedException {
+        when(userCardBenefitService.loadSnapshot(anyInt(), any())).thenReturn(mock(UserBenefitSnapshot.class));
+
+        assertThatThrownBy(() -> paymentTransactionService.authorize(1, "rebirth", "가맹점", 10_000, LocalDateTime.now()))
+                .isInstanceOf(PaymentStageException.class)
+                .hasMessageContaining("merchant");
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertStageThreadsReleased();
+    }
+
+    @Test
+    void siblingFailureInterruptsRunningStage() throws InterruptedException {
+        when(userCardBenefitService.loadSnapshot(anyInt(), any())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            throw new IllegalStateException("스냅샷 조회 실패");
+        });
+        ReflectionTestUtils.setField(paymentTransactionService, "merchantTimeoutMillis", 5_000L);
+
+        assertThatThrownBy(() -> paymentTransactionService.authorize(1, "rebirth", "가맹점", 10_000, LocalDateTime.now()))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertStageThreadsReleased();
+    }
+
+    private void assertStageThreadsReleased() throws InterruptedException {
+        ThreadPoolExecutor stageExecutor = (ThreadPoolExecutor) ReflectionTestUtils.getField(paymentTransactionService, "stageExecutor");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (stageExecutor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stageExecutor.getActiveCount()).isZero();
+    }
+}
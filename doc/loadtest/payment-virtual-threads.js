@@ -0,0 +1,47 @@
+// 결제 경로 부하 테스트 (k6)
+// 카드사 응답 지연 상황에서 플랫폼 스레드 모드와 가상 스레드 모드의 처리량을 비교한다.
+//
+// 1. 카드사 앞에 지연 프록시를 둔다. (예: toxiproxy latency toxic 500ms, rebirth 의 CARDISSUER_URL 을 프록시로)
+// 2. VIRTUAL_THREADS_ENABLED=false / true 로 각각 rebirth 를 띄우고 같은 조건으로 실행한다.
+//    k6 run -e BASE_URL=http://localhost:8081 -e USER_ID=1 -e RATE=400 doc/loadtest/payment-virtual-threads.js
+// 3. 비교 지표: http_reqs(초당 처리량), http_req_duration p99, dropped_iterations,
+//    /actuator/prometheus 의 tomcat_threads_busy_threads, payment_stage_seconds{stage="authorization"}
+//    플랫폼 스레드 모드는 busy 스레드가 server.tomcat.threads.max(기본 200)에 붙으면서 처리량이 멈추고,
+//    가상 스레드 모드는 카드사 지연 / DB 커넥션 풀 크기까지 처리량이 올라가야 한다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const USER_ID = __ENV.USER_ID || '1';
+const RATE = parseInt(__ENV.RATE || '400', 10);
+const MERCHANTS = (__ENV.MERCHANTS || '스타벅스,GS25,CU,이마트').split(',');
+
+export const options = {
+    scenarios: {
+        payments: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const body = JSON.stringify({
+        token: 'rebirth',
+        amount: 1000 + Math.floor(Math.random() * 50000),
+        merchantName: MERCHANTS[Math.floor(Math.random() * MERCHANTS.length)],
+        createdAt: new Date().toISOString().substring(0, 19),
+    });
+    const res = http.post(`${BASE_URL}/api/payment/sse/test?userId=${USER_ID}`, body, {
+        headers: { 'Content-Type': 'application/json' },
+        timeout: '30s',
+    });
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
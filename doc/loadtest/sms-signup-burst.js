@@ -0,0 +1,41 @@
+// 가입 SMS 인증 버스트 부하 테스트 (k6)
+// 마케팅 푸시 직후처럼 /api/auth/sms 요청이 몰릴 때, 문자 발송 지연이 요청 처리에 번지지 않는지 확인한다.
+//
+// 1. SMS_PROVIDER=fake, SMS_FAKE_LATENCY_MILLIS=2000 (느린 게이트웨이) 으로 rebirth 를 띄운다.
+//    k6 run -e BASE_URL=http://localhost:8081 -e RATE=300 doc/loadtest/sms-signup-burst.js
+// 2. 비교 지표: http_req_duration p99 (Redis 저장 + Outbox 적재 시간만 남아야 한다),
+//    Redis XLEN OUTBOX:sms:* (적재량), 발송 속도는 sms.rate.permits-per-second 를 넘지 않아야 한다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const RATE = parseInt(__ENV.RATE || '300', 10);
+
+export const options = {
+    scenarios: {
+        signup_burst: {
+            executor: 'ramping-arrival-rate',
+            startRate: 10,
+            timeUnit: '1s',
+            preAllocatedVUs: 100,
+            maxVUs: 1000,
+            stages: [
+                { target: RATE, duration: '10s' },
+                { target: RATE, duration: __ENV.DURATION || '1m' },
+                { target: 10, duration: '10s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(99)<200'],
+    },
+};
+
+export default function () {
+    const phoneNumber = '010' + String(Math.floor(Math.random() * 1e8)).padStart(8, '0');
+    const res = http.post(`${BASE_URL}/api/auth/sms`, JSON.stringify({ phoneNumber }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,51 @@
+// 결제 화면 대기(SSE 유휴 연결) 부하 테스트 (k6)
+// 결제 화면에 앉아 있는 앱 사용자 50k 명을 흉내내 유휴 SSE 연결을 유지하고, heartbeat 지연과 누수를 확인한다.
+//
+// 1. 부하 발생기 / 서버 모두 파일 디스크립터 한도를 올린다. (ulimit -n 65536, docker-compose.app.yml 의 ulimits 참고)
+//    VU 1개가 연결 1개를 잡으므로 한 대에서 50k VU 가 버거우면 여러 대로 나눈다. (예: 5대 x VUS=10000)
+// 2. k6 run -e BASE_URL=http://localhost:8081 -e TOKEN=<로그인 JWT> -e VUS=50000 doc/loadtest/sse-idle-connections.js
+//    응답은 HOLD 동안 끝나지 않으므로 k6 요청 timeout 으로 연결을 끊고 다시 맺는다.
+// 3. 비교 지표: /actuator/prometheus 의
+//    sse_connections{state="active"} (목표 연결 수 유지), sse_connections{state="leaked"} (0 유지),
+//    sse_evictions_total{reason=...}, process_cpu_usage, jvm_memory_used_bytes, tomcat_connections_current_connections
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const TOKEN = __ENV.TOKEN;
+const VUS = parseInt(__ENV.VUS || '50000', 10);
+const HOLD = __ENV.HOLD || '5m';
+
+export const options = {
+    scenarios: {
+        idle_sse: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { target: VUS, duration: __ENV.RAMP || '5m' },
+                { target: VUS, duration: __ENV.DURATION || '15m' },
+                { target: 0, duration: '1m' },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    // 연결 유지가 목적이므로 실패 판정은 연결 수립 단계만 본다.
+    thresholds: {
+        checks: ['rate>0.99'],
+    },
+};
+
+export default function () {
+    const uniqueId = `k6-${__ENV.GENERATOR || '0'}-${exec.vu.idInTest}-${exec.vu.iterationInScenario}`;
+    const res = http.get(`${BASE_URL}/api/payment/sse/subscribe?uniqueId=${uniqueId}`, {
+        headers: {
+            Accept: 'text/event-stream',
+            Authorization: `Bearer ${TOKEN}`,
+        },
+        timeout: HOLD,
+        tags: { name: 'sse-subscribe' },
+    });
+    // HOLD 만큼 연결을 유지한 뒤 클라이언트 timeout 으로 끊기는 것이 정상 (status 0)
+    check(res, { 'connected until hold timeout': (r) => r.status === 0 || r.status === 200 });
+}